@@ -26,6 +26,7 @@ public enum SqlMethod {
      * 插入
      */
     INSERT_ONE("insert", "插入一条数据（选择字段插入）", "<script>\nINSERT INTO %s %s VALUES %s\n</script>"),
+    INSERT_BATCH("mpInsertBatch", "插入多条数据（多行 VALUES，字段由首行决定）", "<script>\nINSERT INTO %s %s VALUES %s\n</script>"),
     UPSERT_ONE("upsert", "Phoenix插入一条数据（选择字段插入）", "<script>\nUPSERT INTO %s %s VALUES %s\n</script>"),
 
     /**
@@ -49,6 +50,7 @@ public enum SqlMethod {
      */
     UPDATE_BY_ID("updateById", "根据ID 选择修改数据", "<script>\nUPDATE %s %s WHERE %s=#{%s} %s\n</script>"),
     UPDATE("update", "根据 whereEntity 条件，更新记录", "<script>\nUPDATE %s %s %s %s\n</script>"),
+    UPDATE_BATCH_BY_ID("mpUpdateBatchByIdCase", "根据ID 批量修改数据（CASE 语句）", "<script>\nUPDATE %s %s WHERE %s %s\n</script>"),
 
     /**
      * 逻辑删除 -> 修改
@@ -64,6 +66,7 @@ public enum SqlMethod {
     @Deprecated
     SELECT_ONE("selectOne", "查询满足条件一条数据", "<script>%s SELECT %s FROM %s %s %s\n</script>"),
     SELECT_COUNT("selectCount", "查询满足条件总记录数", "<script>%s SELECT COUNT(%s) FROM %s %s %s\n</script>"),
+    SELECT_EXISTS("selectExists", "查询满足条件的记录是否存在", "<script>%s SELECT 1%s WHERE EXISTS (SELECT 1 FROM %s %s) %s\n</script>"),
     SELECT_LIST("selectList", "查询满足条件所有数据", "<script>%s SELECT %s FROM %s %s %s %s\n</script>"),
     SELECT_PAGE("selectPage", "查询满足条件所有数据（并翻页）", "<script>%s SELECT %s FROM %s %s %s %s\n</script>"),
     SELECT_MAPS("selectMaps", "查询满足条件所有数据", "<script>%s SELECT %s FROM %s %s %s %s\n</script>"),
@@ -36,11 +36,13 @@ public class DefaultSqlInjector extends AbstractSqlInjector {
     public List<AbstractMethod> getMethodList(Class<?> mapperClass, TableInfo tableInfo) {
         Stream.Builder<AbstractMethod> builder = Stream.<AbstractMethod>builder()
             .add(new Insert())
+            .add(new InsertBatch())
             .add(new Delete())
             .add(new DeleteByMap())
             .add(new Update())
             .add(new SelectByMap())
             .add(new SelectCount())
+            .add(new SelectExists())
             .add(new SelectMaps())
             .add(new SelectMapsPage())
             .add(new SelectObjs())
@@ -50,6 +52,7 @@ public class DefaultSqlInjector extends AbstractSqlInjector {
             builder.add(new DeleteById())
                 .add(new DeleteBatchByIds())
                 .add(new UpdateById())
+                .add(new UpdateBatchById())
                 .add(new SelectById())
                 .add(new SelectBatchByIds());
         } else {
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2011-2022, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.core.injector.methods;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.core.enums.SqlMethod;
+import com.baomidou.mybatisplus.core.injector.AbstractMethod;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.toolkit.StringUtils;
+import com.baomidou.mybatisplus.core.toolkit.sql.SqlScriptUtils;
+import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
+import org.apache.ibatis.executor.keygen.KeyGenerator;
+import org.apache.ibatis.executor.keygen.NoKeyGenerator;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlSource;
+
+import java.util.Objects;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * 插入多条数据（多行 VALUES）
+ * <p>
+ * 参数为 {@code list}, 插入哪些字段按字段策略由首行决定, 调用方需保证同一批次的每一行插入的字段相同,
+ * 参考 {@link com.baomidou.mybatisplus.core.metadata.TableFieldInfo#isInsertValue(Object)}
+ * </p>
+ * <p>
+ * 自增主键通过 getGeneratedKeys 回写, 需要驱动支持多行返回; 使用 {@link com.baomidou.mybatisplus.annotation.KeySequence} 的主键不会生成
+ * </p>
+ * <p>
+ * 默认方法名为 mpInsertBatch, 避免与 mapper 中自定义的 insertBatch 冲突, 供 saveBatchMultiRow 使用
+ * </p>
+ *
+ * @author agent
+ * @since 3.5.3
+ */
+public class InsertBatch extends AbstractMethod {
+
+    /**
+     * 首行
+     */
+    private static final String FIRST_DOT = LIST + "[0]" + DOT;
+
+    public InsertBatch() {
+        super(SqlMethod.INSERT_BATCH.getMethod());
+    }
+
+    /**
+     * @param name 方法名
+     */
+    public InsertBatch(String name) {
+        super(name);
+    }
+
+    @Override
+    public MappedStatement injectMappedStatement(Class<?> mapperClass, Class<?> modelClass, TableInfo tableInfo) {
+        KeyGenerator keyGenerator = NoKeyGenerator.INSTANCE;
+        SqlMethod sqlMethod = SqlMethod.INSERT_BATCH;
+        String keyColumnScript = EMPTY;
+        String keyPropertyScript = EMPTY;
+        String keyProperty = null;
+        String keyColumn = null;
+        if (StringUtils.isNotBlank(tableInfo.getKeyProperty())) {
+            keyColumnScript = tableInfo.getKeyColumn() + COMMA;
+            keyPropertyScript = SqlScriptUtils.safeParam(ENTITY_DOT + tableInfo.getKeyProperty()) + COMMA;
+            if (tableInfo.getIdType() == IdType.AUTO) {
+                /* 自增主键, 首行有值时才插入 */
+                String ifTest = String.format("%s != null", FIRST_DOT + tableInfo.getKeyProperty());
+                keyColumnScript = SqlScriptUtils.convertIf(keyColumnScript, ifTest, false);
+                keyPropertyScript = SqlScriptUtils.convertIf(keyPropertyScript, ifTest, false);
+                keyGenerator = Jdbc3KeyGenerator.INSTANCE;
+                keyProperty = tableInfo.getKeyProperty();
+                keyColumn = tableInfo.getKeyColumn();
+            }
+        }
+        String columnScript = SqlScriptUtils.convertTrim(keyColumnScript + NEWLINE + tableInfo.getFieldList().stream()
+                .map(i -> i.getInsertSqlColumnMaybeIf(FIRST_DOT)).filter(Objects::nonNull).collect(joining(NEWLINE)),
+            LEFT_BRACKET, RIGHT_BRACKET, null, COMMA);
+        String propertyScript = SqlScriptUtils.convertTrim(keyPropertyScript + NEWLINE + tableInfo.getFieldList().stream()
+                .map(i -> i.getInsertSqlPropertyMaybeIf(ENTITY_DOT, FIRST_DOT)).filter(Objects::nonNull).collect(joining(NEWLINE)),
+            LEFT_BRACKET, RIGHT_BRACKET, null, COMMA);
+        String valuesScript = SqlScriptUtils.convertForeach(propertyScript, LIST, null, ENTITY, COMMA);
+        String sql = String.format(sqlMethod.getSql(), tableInfo.getTableName(), columnScript, valuesScript);
+        SqlSource sqlSource = languageDriver.createSqlSource(configuration, sql, modelClass);
+        return this.addInsertMappedStatement(mapperClass, modelClass, getMethod(sqlMethod), sqlSource, keyGenerator, keyProperty, keyColumn);
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2011-2022, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.core.injector.methods;
+
+import com.baomidou.mybatisplus.core.enums.SqlMethod;
+import com.baomidou.mybatisplus.core.injector.AbstractMethod;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * 查询满足条件的记录是否存在
+ * <p>
+ * 生成 {@code SELECT 1 FROM DUAL WHERE EXISTS (SELECT 1 FROM table WHERE ...)}, 最多返回一行,
+ * 数据库找到第一条匹配记录即可返回, 不依赖分页插件
+ * </p>
+ * <p>
+ * 注入时按数据源的数据库产品名称确定单行表(例如 Oracle 的 DUAL), 无法识别的数据库生成
+ * {@code SELECT 1 FROM table WHERE ...}, 由调用方通过 {@link org.apache.ibatis.session.RowBounds} 只取首行
+ * </p>
+ *
+ * @author agent
+ * @since 3.5.3
+ */
+public class SelectExists extends AbstractMethod {
+
+    /**
+     * 无法识别数据库时的标记
+     */
+    private static final String UNKNOWN = "unknown";
+    /**
+     * DataSource - 单行表的 FROM 子句, 同一个 DataSource 只读取一次数据库产品名称
+     */
+    private static final Map<DataSource, String> DUAL_FROM_CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+
+    public SelectExists() {
+        super(SqlMethod.SELECT_EXISTS.getMethod());
+    }
+
+    /**
+     * @param name 方法名
+     */
+    public SelectExists(String name) {
+        super(name);
+    }
+
+    @Override
+    public MappedStatement injectMappedStatement(Class<?> mapperClass, Class<?> modelClass, TableInfo tableInfo) {
+        SqlMethod sqlMethod = SqlMethod.SELECT_EXISTS;
+        String dualFrom = getDualFrom();
+        String sql;
+        if (dualFrom == null) {
+            sql = String.format("<script>%s SELECT 1 FROM %s %s %s\n</script>", sqlFirst(), tableInfo.getTableName(),
+                sqlWhereEntityWrapper(true, tableInfo), sqlComment());
+        } else {
+            sql = String.format(sqlMethod.getSql(), sqlFirst(), dualFrom, tableInfo.getTableName(),
+                sqlWhereEntityWrapper(true, tableInfo), sqlComment());
+        }
+        SqlSource sqlSource = languageDriver.createSqlSource(configuration, sql, modelClass);
+        return this.addSelectMappedStatementForOther(mapperClass, getMethod(sqlMethod), sqlSource, Integer.class);
+    }
+
+    /**
+     * 获取外层 {@code SELECT 1} 的 FROM 子句
+     * <p>
+     * 路由数据源按默认目标数据源判断, 路由到不同类型数据库时请重写该方法
+     *
+     * @return FROM 子句, 不需要时返回空字符串, 无法识别数据库时返回 null
+     */
+    protected String getDualFrom() {
+        Environment environment = configuration.getEnvironment();
+        DataSource dataSource = environment == null ? null : environment.getDataSource();
+        if (dataSource == null) {
+            return null;
+        }
+        String dualFrom = DUAL_FROM_CACHE.get(dataSource);
+        if (dualFrom == null) {
+            dualFrom = UNKNOWN;
+            try (Connection connection = dataSource.getConnection()) {
+                String productName = connection.getMetaData().getDatabaseProductName();
+                String from = getDualFrom(productName);
+                if (from != null) {
+                    dualFrom = from;
+                } else {
+                    logger.warn("unknown database: " + productName + ", selectExists relies on RowBounds to limit rows");
+                }
+            } catch (Exception e) {
+                logger.warn("failed to get database product name, selectExists relies on RowBounds to limit rows, exception:\n" + e);
+            }
+            DUAL_FROM_CACHE.put(dataSource, dualFrom);
+        }
+        return UNKNOWN.equals(dualFrom) ? null : dualFrom;
+    }
+
+    /**
+     * 根据数据库产品名称获取单行表的 FROM 子句
+     *
+     * @param productName 数据库产品名称
+     * @return FROM 子句, 不需要时返回空字符串, 无法识别时返回 null
+     */
+    protected String getDualFrom(String productName) {
+        if (productName == null) {
+            return null;
+        }
+        String name = productName.toLowerCase();
+        if (name.contains("mysql") || name.contains("mariadb") || name.equals("h2") || name.contains("oracle")
+            || name.startsWith("dm ")) {
+            return " FROM DUAL";
+        }
+        if (name.contains("postgresql") || name.contains("sql server") || name.contains("sqlite")) {
+            return "";
+        }
+        if (name.startsWith("db2") || name.contains("derby")) {
+            return " FROM SYSIBM.SYSDUMMY1";
+        }
+        if (name.startsWith("hsql")) {
+            return " FROM (VALUES(0))";
+        }
+        if (name.contains("firebird")) {
+            return " FROM RDB$DATABASE";
+        }
+        return null;
+    }
+}
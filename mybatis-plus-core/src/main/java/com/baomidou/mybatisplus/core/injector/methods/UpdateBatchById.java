@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2011-2022, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.core.injector.methods;
+
+import com.baomidou.mybatisplus.core.enums.SqlMethod;
+import com.baomidou.mybatisplus.core.injector.AbstractMethod;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.toolkit.sql.SqlScriptUtils;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlSource;
+
+import java.util.Objects;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * 根据 ID 批量修改数据（一条 update 语句）
+ * <p>
+ * 参数为 {@code list}, 每个字段生成 {@code column = CASE id WHEN #{id} THEN #{value} ... ELSE column END},
+ * 按字段策略不更新的行保持原值, 与逐条 updateById 的结果一致
+ * </p>
+ * <p>
+ * 乐观锁字段为 int/long 时在语句内校验版本并加一(实体上的版本号需由调用方维护), 其他类型的乐观锁字段不注入该方法
+ * </p>
+ * <p>
+ * 默认方法名为 mpUpdateBatchByIdCase, 避免与 mapper 中自定义的同名方法冲突, 供 updateBatchByIdMultiRow 使用
+ * </p>
+ *
+ * @author agent
+ * @since 3.5.3
+ */
+public class UpdateBatchById extends AbstractMethod {
+
+    public UpdateBatchById() {
+        super(SqlMethod.UPDATE_BATCH_BY_ID.getMethod());
+    }
+
+    /**
+     * @param name 方法名
+     */
+    public UpdateBatchById(String name) {
+        super(name);
+    }
+
+    @Override
+    public MappedStatement injectMappedStatement(Class<?> mapperClass, Class<?> modelClass, TableInfo tableInfo) {
+        TableFieldInfo versionFieldInfo = tableInfo.getVersionFieldInfo();
+        if (versionFieldInfo != null && !isSupportVersion(versionFieldInfo.getPropertyType())) {
+            logger.warn(String.format("%s ,the @Version type %s is not supported, ignoring the injection of '%s'",
+                tableInfo.getEntityType(), versionFieldInfo.getPropertyType().getName(), methodName));
+            return null;
+        }
+        SqlMethod sqlMethod = SqlMethod.UPDATE_BATCH_BY_ID;
+        String keyColumn = tableInfo.getKeyColumn();
+        String keyScript = SqlScriptUtils.safeParam(ENTITY_DOT + tableInfo.getKeyProperty());
+        String sqlSet = tableInfo.getFieldList().stream()
+            .filter(i -> !i.isLogicDelete() && !i.isVersion())
+            .map(i -> caseWhen(keyColumn, i.getColumn(), i.getSqlSetCaseWhen(keyScript, ENTITY_DOT)))
+            .filter(Objects::nonNull).collect(joining(NEWLINE));
+        String whereScript;
+        if (versionFieldInfo != null) {
+            String versionColumn = versionFieldInfo.getColumn();
+            String versionTest = versionTest(versionFieldInfo);
+            String versionWhen = " WHEN " + keyScript + " THEN " + versionColumn + " + 1";
+            sqlSet += NEWLINE + caseWhen(keyColumn, versionColumn, versionTest == null ? versionWhen
+                : SqlScriptUtils.convertIf(versionWhen, versionTest, false));
+            String versionWhere = " AND " + versionColumn + EQUALS + SqlScriptUtils.safeParam(ENTITY_DOT + versionFieldInfo.getEl());
+            whereScript = LEFT_BRACKET + SqlScriptUtils.convertForeach(LEFT_BRACKET + keyColumn + EQUALS + keyScript
+                + (versionTest == null ? versionWhere : SqlScriptUtils.convertIf(versionWhere, versionTest, false))
+                + RIGHT_BRACKET, LIST, null, ENTITY, " OR ") + RIGHT_BRACKET;
+        } else {
+            whereScript = keyColumn + " IN (" + SqlScriptUtils.convertForeach(keyScript, LIST, null, ENTITY, COMMA) + RIGHT_BRACKET;
+        }
+        String sql = String.format(sqlMethod.getSql(), tableInfo.getTableName(), SqlScriptUtils.convertSet(sqlSet),
+            whereScript, tableInfo.getLogicDeleteSql(true, true));
+        SqlSource sqlSource = languageDriver.createSqlSource(configuration, sql, modelClass);
+        return addUpdateMappedStatement(mapperClass, modelClass, getMethod(sqlMethod), sqlSource);
+    }
+
+    /**
+     * 是否支持在语句内递增的乐观锁字段类型
+     *
+     * @param propertyType 字段类型
+     * @return 是否支持
+     */
+    public static boolean isSupportVersion(Class<?> propertyType) {
+        return int.class == propertyType || Integer.class == propertyType
+            || long.class == propertyType || Long.class == propertyType;
+    }
+
+    /**
+     * column = CASE key [WHEN ... THEN ...] ELSE column END, 没有任何一行满足时不更新该字段
+     */
+    private String caseWhen(String keyColumn, String column, String whenScript) {
+        if (whenScript == null) {
+            return null;
+        }
+        return SqlScriptUtils.convertTrim(SqlScriptUtils.convertForeach(whenScript, LIST, null, ENTITY, null),
+            column + " = CASE " + keyColumn, "ELSE " + column + " END,", null, null);
+    }
+
+    private String versionTest(TableFieldInfo versionFieldInfo) {
+        if (versionFieldInfo.getPropertyType().isPrimitive()) {
+            return null;
+        }
+        return ENTITY_DOT + versionFieldInfo.getProperty() + " != null";
+    }
+}
@@ -16,11 +16,14 @@
 package com.baomidou.mybatisplus.core.mapper;
 
 import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.enums.SqlMethod;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.override.MybatisMapperProxy;
 import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
 import com.baomidou.mybatisplus.core.toolkit.Constants;
 import com.baomidou.mybatisplus.core.toolkit.ExceptionUtils;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.RowBounds;
 
 import java.io.Serializable;
 import java.util.Collection;
@@ -166,11 +169,12 @@ public interface BaseMapper<T> extends Mapper<T> {
     /**
      * 根据 entity 条件，查询一条记录
      * <p>查询一条记录，例如 qw.last("limit 1") 限制取一条记录, 注意：多条数据会报异常</p>
+     * <p>最多只读取两条记录用于判断是否多条</p>
      *
      * @param queryWrapper 实体对象封装操作类（可以为 null）
      */
     default T selectOne(@Param(Constants.WRAPPER) Wrapper<T> queryWrapper) {
-        List<T> ts = this.selectList(queryWrapper);
+        List<T> ts = this.selectList(queryWrapper, new RowBounds(0, 2));
         if (CollectionUtils.isNotEmpty(ts)) {
             if (ts.size() != 1) {
                 throw ExceptionUtils.mpe("One record is expected, but the query result is multiple records");
@@ -187,10 +191,26 @@ public interface BaseMapper<T> extends Mapper<T> {
      * @return 是否存在记录
      */
     default boolean exists(Wrapper<T> queryWrapper) {
-        Long count = this.selectCount(queryWrapper);
-        return null != count && count > 0;
+        if (!MybatisMapperProxy.hasStatement(this, SqlMethod.SELECT_EXISTS.getMethod())) {
+            // 自定义注入器没有注入 selectExists 时退回 count 查询
+            Long count = this.selectCount(queryWrapper);
+            return null != count && count > 0;
+        }
+        List<Integer> list = this.selectExists(queryWrapper, new RowBounds(0, 1));
+        return CollectionUtils.isNotEmpty(list);
     }
 
+    /**
+     * 根据 Wrapper 条件，查询满足条件的记录标识(恒为 1)，用于判断是否存在记录
+     * <p>注入的 SQL 为 {@code EXISTS} 子查询，最多返回一行；无法识别数据库时为普通查询，
+     * 配置了分页插件时 rowBounds 会由方言改写为数据库端的行数限制，否则由 mybatis 只读取 rowBounds 内的行</p>
+     *
+     * @param queryWrapper 实体对象封装操作类（可以为 null）
+     * @param rowBounds    行数限制, 一般为 {@code new RowBounds(0, 1)}
+     * @since 3.5.3
+     */
+    List<Integer> selectExists(@Param(Constants.WRAPPER) Wrapper<T> queryWrapper, RowBounds rowBounds);
+
     /**
      * 根据 Wrapper 条件，查询总记录数
      *
@@ -205,6 +225,16 @@ public interface BaseMapper<T> extends Mapper<T> {
      */
     List<T> selectList(@Param(Constants.WRAPPER) Wrapper<T> queryWrapper);
 
+    /**
+     * 根据 entity 条件，查询 rowBounds 范围内的记录
+     * <p>配置了分页插件时 offset 为 0 的 rowBounds 会由方言改写为数据库端的行数限制，否则由 mybatis 只读取 rowBounds 内的行</p>
+     *
+     * @param queryWrapper 实体对象封装操作类（可以为 null）
+     * @param rowBounds    行数限制
+     * @since 3.5.3
+     */
+    List<T> selectList(@Param(Constants.WRAPPER) Wrapper<T> queryWrapper, RowBounds rowBounds);
+
     /**
      * 根据 Wrapper 条件，查询全部记录
      *
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2011-2022, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.core.metadata;
+
+/**
+ * 分页总数的计算方式
+ *
+ * @author agent
+ * @since 3.5.3
+ */
+public enum CountStrategy {
+    /**
+     * 精确 count
+     */
+    EXACT,
+    /**
+     * 使用数据库执行计划估算的行数, 数据库不支持时使用精确 count
+     */
+    ESTIMATED,
+    /**
+     * 最多数到 cap + 1 条, 总数大于 cap 时表示实际数量超过 cap
+     */
+    CAPPED
+}
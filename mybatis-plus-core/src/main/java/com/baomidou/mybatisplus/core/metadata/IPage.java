@@ -65,6 +65,18 @@ public interface IPage<T> extends Serializable {
         return true;
     }
 
+    /**
+     * 多查询一条数据来判断是否存在下一页 【 默认: false 】
+     * <p>
+     * 用于只需要 "下一页" 而不需要总数的场景, 分页插件会查询 size + 1 条数据, 由 {@link #setRecords(List)} 去掉多出的一条
+     *
+     * @return true 是 / false 否
+     * @since 3.5.3
+     */
+    default boolean searchNext() {
+        return false;
+    }
+
     /**
      * 计算当前分页偏移量
      */
@@ -85,6 +97,52 @@ public interface IPage<T> extends Serializable {
         return null;
     }
 
+    /**
+     * 总数的计算方式 【 默认: 精确 count 】
+     *
+     * @since 3.5.3
+     */
+    default CountStrategy countStrategy() {
+        return CountStrategy.EXACT;
+    }
+
+    /**
+     * {@link CountStrategy#CAPPED} 时最多数到的条数, 优先级高于分页插件内的 countCap
+     *
+     * @since 3.5.3
+     */
+    default Long countCap() {
+        return null;
+    }
+
+    /**
+     * count 是否与分页查询并行执行, 需要分页插件配置了 asyncCountExecutor
+     *
+     * @since 3.5.3
+     */
+    default boolean asyncCount() {
+        return false;
+    }
+
+    /**
+     * 实际得到总数的计算方式
+     *
+     * @since 3.5.3
+     */
+    default CountStrategy getTotalStrategy() {
+        return null;
+    }
+
+    /**
+     * 设置实际得到总数的计算方式
+     *
+     * @since 3.5.3
+     */
+    default IPage<T> setTotalStrategy(CountStrategy totalStrategy) {
+        // to do nothing
+        return this;
+    }
+
     /**
      * 当前分页总页数
      */
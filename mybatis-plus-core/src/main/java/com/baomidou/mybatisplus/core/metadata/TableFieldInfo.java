@@ -438,12 +438,48 @@ public class TableFieldInfo implements Constants {
      * @return sql 脚本片段
      */
     public String getInsertSqlPropertyMaybeIf(final String prefix) {
+        return getInsertSqlPropertyMaybeIf(prefix, prefix);
+    }
+
+    /**
+     * 获取 insert 时候插入值 sql 脚本片段, 取值与 if 标签的判断对象可以不同
+     * <p>多行 insert 的每一行取自身的值, 但是否插入该字段统一由首行判断</p>
+     *
+     * @param prefix   取值前缀
+     * @param ifPrefix if 标签判断的前缀
+     * @return sql 脚本片段
+     * @since 3.5.3
+     */
+    public String getInsertSqlPropertyMaybeIf(final String prefix, final String ifPrefix) {
         final String newPrefix = prefix == null ? EMPTY : prefix;
         String sqlScript = getInsertSqlProperty(newPrefix);
         if (withInsertFill) {
             return sqlScript;
         }
-        return convertIf(sqlScript, newPrefix + property, insertStrategy);
+        return convertIf(sqlScript, (ifPrefix == null ? EMPTY : ifPrefix) + property, insertStrategy);
+    }
+
+    /**
+     * 按 insert 的字段策略判断该值是否会插入, 与 {@link #getInsertSqlColumnMaybeIf(String)} 生成的 if 标签结果一致
+     *
+     * @param value 字段值
+     * @return 是否插入
+     * @since 3.5.3
+     */
+    public boolean isInsertValue(Object value) {
+        if (withInsertFill) {
+            return true;
+        }
+        if (insertStrategy == FieldStrategy.NEVER) {
+            return false;
+        }
+        if (isPrimitive || insertStrategy == FieldStrategy.IGNORED) {
+            return true;
+        }
+        if (insertStrategy == FieldStrategy.NOT_EMPTY && isCharSequence) {
+            return value != null && !EMPTY.equals(value.toString());
+        }
+        return value != null;
     }
 
     /**
@@ -514,6 +550,31 @@ public class TableFieldInfo implements Constants {
         return convertIf(sqlSet, convertIfProperty(newPrefix, property), updateStrategy);
     }
 
+    /**
+     * 获取批量 update 时 CASE 语句的 WHEN 片段
+     * <p>column = CASE key WHEN #{主键} THEN #{值} ... ELSE column END</p>
+     *
+     * <li> 根据规则会生成 if 标签, 不满足的行保持原值 </li>
+     *
+     * @param keyScript 主键取值脚本
+     * @param prefix    前缀
+     * @return sql 脚本片段
+     * @since 3.5.3
+     */
+    public String getSqlSetCaseWhen(final String keyScript, final String prefix) {
+        final String newPrefix = prefix == null ? EMPTY : prefix;
+        String sqlScript = " WHEN " + keyScript + " THEN ";
+        if (StringUtils.isNotBlank(update)) {
+            sqlScript += String.format(update, column);
+        } else {
+            sqlScript += SqlScriptUtils.safeParam(newPrefix + el);
+        }
+        if (withUpdateFill) {
+            return sqlScript;
+        }
+        return convertIf(sqlScript, convertIfProperty(newPrefix, property), updateStrategy);
+    }
+
     private String convertIfProperty(String prefix, String property) {
         return StringUtils.isNotBlank(prefix) ? prefix.substring(0, prefix.length() - 1) + "['" + property + "']" : property;
     }
@@ -16,6 +16,7 @@
 package com.baomidou.mybatisplus.core.override;
 
 import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
+import com.baomidou.mybatisplus.core.toolkit.StringPool;
 import org.apache.ibatis.binding.MapperProxy;
 import org.apache.ibatis.reflection.ExceptionUtil;
 import org.apache.ibatis.session.SqlSession;
@@ -28,6 +29,7 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.util.Map;
 
 /**
@@ -80,6 +82,26 @@ public class MybatisMapperProxy<T> implements InvocationHandler, Serializable {
         lookupConstructor = lookup;
     }
 
+    /**
+     * Mapper 是否存在指定方法对应的 MappedStatement, 不是由 {@link MybatisMapperProxy} 代理的 Mapper 无法判断, 返回 true
+     *
+     * @param mapper     Mapper
+     * @param methodName 方法名
+     * @return 是否存在
+     * @since 3.5.3
+     */
+    public static boolean hasStatement(Object mapper, String methodName) {
+        if (!Proxy.isProxyClass(mapper.getClass())) {
+            return true;
+        }
+        InvocationHandler handler = Proxy.getInvocationHandler(mapper);
+        if (!(handler instanceof MybatisMapperProxy)) {
+            return true;
+        }
+        MybatisMapperProxy<?> mapperProxy = (MybatisMapperProxy<?>) handler;
+        return mapperProxy.sqlSession.getConfiguration().hasStatement(mapperProxy.mapperInterface.getName() + StringPool.DOT + methodName);
+    }
+
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
         try {
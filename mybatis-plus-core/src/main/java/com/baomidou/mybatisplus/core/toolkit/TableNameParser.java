@@ -16,8 +16,6 @@
 package com.baomidou.mybatisplus.core.toolkit;
 
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * SQL 表名解析
@@ -47,24 +45,15 @@ public final class TableNameParser {
     private static final String KEYWORD_UPDATE = "update";
     private static final String KEYWORD_DUPLICATE = "duplicate";
 
-    private static final List<String> concerned = Arrays.asList(KEYWORD_TABLE, KEYWORD_INTO, KEYWORD_JOIN, KEYWORD_USING, KEYWORD_UPDATE);
-    private static final List<String> ignored = Arrays.asList(StringPool.LEFT_BRACKET, TOKEN_SET, TOKEN_OF, TOKEN_DUAL);
+    private static final String[] concerned = {KEYWORD_TABLE, KEYWORD_INTO, KEYWORD_JOIN, KEYWORD_USING, KEYWORD_UPDATE};
+    private static final String[] ignored = {StringPool.LEFT_BRACKET, TOKEN_SET, TOKEN_OF, TOKEN_DUAL};
 
+    private final String sql;
     /**
-     * 该表达式会匹配 SQL 中不是 SQL TOKEN 的部分，比如换行符，注释信息，结尾的 {@code ;} 等。
-     * <p>
-     * 排除的项目包括：
-     * 1、以 -- 开头的注释信息
-     * 2、;
-     * 3、空白字符
-     * 4、使用 /* * / 注释的信息
-     * 5、把 ,() 也要分出来
+     * SQL token 的位置, 第 i 个 token 为 [tokens[2i], tokens[2i + 1])
      */
-    private static final Pattern NON_SQL_TOKEN_PATTERN = Pattern.compile("(--[^\\v]+)|;|(\\s+)|((?s)/[*].*?[*]/)"
-            + "|(((\\b|\\B)(?=[,()]))|((?<=[,()])(\\b|\\B)))"
-    );
-
-    private final List<SqlToken> tokens;
+    private int[] tokens;
+    private int size;
 
     /**
      * 从 SQL 中提取表名称
@@ -72,7 +61,9 @@ public final class TableNameParser {
      * @param sql 需要解析的 SQL 语句
      */
     public TableNameParser(String sql) {
-        tokens = fetchAllTokens(sql);
+        this.sql = sql;
+        this.tokens = new int[Math.max(16, sql.length() >> 2)];
+        scan();
     }
 
     /**
@@ -84,23 +75,24 @@ public final class TableNameParser {
      * @param visitor 访问者
      */
     public void accept(TableNameVisitor visitor) {
+        if (size == 0) {
+            return;
+        }
         int index = 0;
-        String first = tokens.get(index).getValue();
-        if (isOracleSpecialDelete(first, tokens, index)) {
-            visitNameToken(tokens.get(index + 1), visitor);
-        } else if (isCreateIndex(first, tokens, index)) {
-            visitNameToken(tokens.get(index + 4), visitor);
+        if (isOracleSpecialDelete(index)) {
+            visitNameToken(index + 1, visitor);
+        } else if (isCreateIndex(index)) {
+            visitNameToken(index + 4, visitor);
         } else {
-            while (hasMoreTokens(tokens, index)) {
-                String current = tokens.get(index++).getValue();
+            while (hasMoreTokens(index)) {
+                int current = index++;
                 if (isFromToken(current)) {
-                    processFromToken(tokens, index, visitor);
+                    processFromToken(index, visitor);
                 } else if (isOnDuplicateKeyUpdate(current, index)) {
                     index = skipDuplicateKeyUpdateIndex(index);
-                } else if (concerned.contains(current.toLowerCase())) {
-                    if (hasMoreTokens(tokens, index)) {
-                        SqlToken next = tokens.get(index++);
-                        visitNameToken(next, visitor);
+                } else if (isConcerned(current)) {
+                    if (hasMoreTokens(index)) {
+                        visitNameToken(index++, visitor);
                     }
                 }
             }
@@ -118,51 +110,116 @@ public final class TableNameParser {
     }
 
     /**
-     * 从 SQL 语句中提取出 所有的 SQL Token
-     *
-     * @param sql SQL
-     * @return 语句
+     * 单次遍历 SQL, 记录所有 SQL token 的位置
+     * <p>
+     * 跳过以下不是 SQL token 的部分:
+     * 1、以 -- 开头的注释信息
+     * 2、;
+     * 3、空白字符
+     * 4、使用 /* * / 注释的信息
+     * 同时把 ,() 单独作为 token, 引号(' " `)内的内容视为 token 的一部分
      */
-    protected List<SqlToken> fetchAllTokens(String sql) {
-        List<SqlToken> tokens = new ArrayList<>();
-        Matcher matcher = NON_SQL_TOKEN_PATTERN.matcher(sql);
-        int last = 0;
-        while (matcher.find()) {
-            int start = matcher.start();
-            if (start != last) {
-                tokens.add(new SqlToken(last, start, sql.substring(last, start)));
+    private void scan() {
+        final int length = sql.length();
+        int start = -1;
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                start = addToken(start, i);
+                i += 2;
+                while (i < length && !isLineBreak(sql.charAt(i))) {
+                    i++;
+                }
+            } else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                start = addToken(start, i);
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+            } else if (c == ';' || Character.isWhitespace(c)) {
+                start = addToken(start, i);
+                i++;
+            } else if (c == ',' || c == '(' || c == ')') {
+                addToken(start, i);
+                start = addToken(i, i + 1);
+                i++;
+            } else if (c == '\'' || c == '"' || c == '`') {
+                if (start < 0) {
+                    start = i;
+                }
+                int end = sql.indexOf(c, i + 1);
+                i = end < 0 ? length : end + 1;
+            } else {
+                if (start < 0) {
+                    start = i;
+                }
+                i++;
             }
-            last = matcher.end();
         }
-        if (last != sql.length()) {
-            tokens.add(new SqlToken(last, sql.length(), sql.substring(last)));
+        addToken(start, length);
+    }
+
+    /**
+     * @return 记录 token 后新的起始位置, 恒为 -1
+     */
+    private int addToken(int start, int end) {
+        if (start >= 0 && start < end) {
+            if ((size << 1) + 1 >= tokens.length) {
+                tokens = Arrays.copyOf(tokens, tokens.length << 1);
+            }
+            tokens[size << 1] = start;
+            tokens[(size << 1) + 1] = end;
+            size++;
+        }
+        return -1;
+    }
+
+    private static boolean isLineBreak(char c) {
+        return c == '\n' || c == '\r' || c == '\u000B' || c == '\f' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    private int start(int index) {
+        return tokens[index << 1];
+    }
+
+    private int end(int index) {
+        return tokens[(index << 1) + 1];
+    }
+
+    /**
+     * 判断 token 是否与给定值相同(忽略大小写), 不产生新的字符串
+     */
+    private boolean tokenEquals(int index, String value) {
+        int start = start(index);
+        return end(index) - start == value.length() && sql.regionMatches(true, start, value, 0, value.length());
+    }
+
+    private boolean tokenIn(int index, String[] values) {
+        for (String value : values) {
+            if (tokenEquals(index, value)) {
+                return true;
+            }
         }
-        return tokens;
+        return false;
     }
 
     /**
      * 如果是 DELETE 后面紧跟的不是 FROM 或者 * ,则 返回 true
      *
-     * @param current 当前的 token
-     * @param tokens  token 列表
-     * @param index   索引
+     * @param index 索引
      * @return 判断是不是 Oracle 特殊的删除手法
      */
-    private static boolean isOracleSpecialDelete(String current, List<SqlToken> tokens, int index) {
-        if (TOKEN_DELETE.equalsIgnoreCase(current)) {
-            if (hasMoreTokens(tokens, index++)) {
-                String next = tokens.get(index).getValue();
-                return !KEYWORD_FROM.equalsIgnoreCase(next) && !StringPool.ASTERISK.equals(next);
+    private boolean isOracleSpecialDelete(int index) {
+        if (tokenEquals(index, TOKEN_DELETE)) {
+            if (hasMoreTokens(++index)) {
+                return !tokenEquals(index, KEYWORD_FROM) && !tokenEquals(index, StringPool.ASTERISK);
             }
         }
         return false;
     }
 
-    private boolean isCreateIndex(String current, List<SqlToken> tokens, int index) {
-        index++; // Point to next token
-        if (TOKEN_CREATE.equalsIgnoreCase(current) && hasIthToken(tokens, index)) {
-            String next = tokens.get(index).getValue();
-            return TOKEN_INDEX.equalsIgnoreCase(next);
+    private boolean isCreateIndex(int index) {
+        if (tokenEquals(index++, TOKEN_CREATE) && hasIthToken(index)) {
+            return tokenEquals(index, TOKEN_INDEX);
         }
         return false;
     }
@@ -172,22 +229,25 @@ public final class TableNameParser {
      * @param index   索引
      * @return 判断是否是mysql的特殊语法 on duplicate key update
      */
-    private boolean isOnDuplicateKeyUpdate(String current, int index) {
-        if (KEYWORD_DUPLICATE.equalsIgnoreCase(current)) {
-            if (hasMoreTokens(tokens, index++)) {
-                String next = tokens.get(index).getValue();
-                return KEYWORD_UPDATE.equalsIgnoreCase(next);
+    private boolean isOnDuplicateKeyUpdate(int current, int index) {
+        if (tokenEquals(current, KEYWORD_DUPLICATE)) {
+            if (hasMoreTokens(++index)) {
+                return tokenEquals(index, KEYWORD_UPDATE);
             }
         }
         return false;
     }
 
-    private static boolean hasIthToken(List<SqlToken> tokens, int currentIndex) {
-        return hasMoreTokens(tokens, currentIndex) && tokens.size() > currentIndex + 3;
+    private boolean hasIthToken(int currentIndex) {
+        return hasMoreTokens(currentIndex) && size > currentIndex + 3;
     }
 
-    private static boolean isFromToken(String currentToken) {
-        return KEYWORD_FROM.equalsIgnoreCase(currentToken);
+    private boolean isFromToken(int index) {
+        return tokenEquals(index, KEYWORD_FROM);
+    }
+
+    private boolean isConcerned(int index) {
+        return tokenIn(index, concerned);
     }
 
     private int skipDuplicateKeyUpdateIndex(int index) {
@@ -195,67 +255,71 @@ public final class TableNameParser {
         return index + 2;
     }
 
-    private static void processFromToken(List<SqlToken> tokens, int index, TableNameVisitor visitor) {
-        SqlToken sqlToken = tokens.get(index++);
-        visitNameToken(sqlToken, visitor);
+    private void processFromToken(int index, TableNameVisitor visitor) {
+        if (!hasMoreTokens(index)) {
+            return;
+        }
+        int current = index++;
+        visitNameToken(current, visitor);
 
-        String next = null;
-        if (hasMoreTokens(tokens, index)) {
-            next = tokens.get(index++).getValue();
+        int next = -1;
+        if (hasMoreTokens(index)) {
+            next = index++;
         }
 
         if (shouldProcessMultipleTables(next)) {
-            processNonAliasedMultiTables(tokens, index, next, visitor);
+            processNonAliasedMultiTables(index, next, visitor);
         } else {
-            processAliasedMultiTables(tokens, index, sqlToken, visitor);
+            processAliasedMultiTables(index, current, visitor);
         }
     }
 
-    private static void processNonAliasedMultiTables(List<SqlToken> tokens, int index, String nextToken, TableNameVisitor visitor) {
-        while (nextToken.equals(StringPool.COMMA)) {
-            visitNameToken(tokens.get(index++), visitor);
-            if (hasMoreTokens(tokens, index)) {
-                nextToken = tokens.get(index++).getValue();
+    private void processNonAliasedMultiTables(int index, int nextToken, TableNameVisitor visitor) {
+        while (shouldProcessMultipleTables(nextToken) && hasMoreTokens(index)) {
+            visitNameToken(index++, visitor);
+            if (hasMoreTokens(index)) {
+                nextToken = index++;
             } else {
                 break;
             }
         }
     }
 
-    private static void processAliasedMultiTables(List<SqlToken> tokens, int index, SqlToken current, TableNameVisitor visitor) {
-        String nextNextToken = null;
-        if (hasMoreTokens(tokens, index)) {
-            nextNextToken = tokens.get(index++).getValue();
+    private void processAliasedMultiTables(int index, int current, TableNameVisitor visitor) {
+        int nextNextToken = -1;
+        if (hasMoreTokens(index)) {
+            nextNextToken = index++;
         }
 
         if (shouldProcessMultipleTables(nextNextToken)) {
-            while (hasMoreTokens(tokens, index) && nextNextToken.equals(StringPool.COMMA)) {
-                if (hasMoreTokens(tokens, index)) {
-                    current = tokens.get(index++);
+            while (hasMoreTokens(index) && shouldProcessMultipleTables(nextNextToken)) {
+                if (hasMoreTokens(index)) {
+                    current = index++;
                 }
-                if (hasMoreTokens(tokens, index)) {
+                if (hasMoreTokens(index)) {
                     index++;
                 }
-                if (hasMoreTokens(tokens, index)) {
-                    nextNextToken = tokens.get(index++).getValue();
+                if (hasMoreTokens(index)) {
+                    nextNextToken = index++;
                 }
                 visitNameToken(current, visitor);
             }
         }
     }
 
-    private static boolean shouldProcessMultipleTables(final String nextToken) {
-        return nextToken != null && nextToken.equals(StringPool.COMMA);
+    private boolean shouldProcessMultipleTables(int nextToken) {
+        return nextToken >= 0 && tokenEquals(nextToken, StringPool.COMMA);
     }
 
-    private static boolean hasMoreTokens(List<SqlToken> tokens, int index) {
-        return index < tokens.size();
+    private boolean hasMoreTokens(int index) {
+        return index < size;
     }
 
-    private static void visitNameToken(SqlToken token, TableNameVisitor visitor) {
-        String value = token.getValue().toLowerCase();
-        if (!ignored.contains(value)) {
-            visitor.visit(token);
+    private void visitNameToken(int index, TableNameVisitor visitor) {
+        if (!tokenIn(index, ignored)) {
+            int start = start(index);
+            int end = end(index);
+            visitor.visit(new SqlToken(start, end, sql.substring(start, end)));
         }
     }
 
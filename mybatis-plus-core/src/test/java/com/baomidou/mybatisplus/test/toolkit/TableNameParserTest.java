@@ -18,12 +18,17 @@ package com.baomidou.mybatisplus.test.toolkit;
 
 import com.baomidou.mybatisplus.core.toolkit.TableNameParser;
 import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -492,6 +497,102 @@ public class TableNameParserTest {
         assertThat(new TableNameParser(sql).tables()).isEqualTo(asSet("cf_procedure"));
     }
 
+    @Test
+    void testQuoted() {
+        String sql = "SELECT * FROM t_user WHERE name = 'from t_fake' AND remark = 'join  t_other'";
+        assertThat(new TableNameParser(sql).tables()).isEqualTo(asSet("t_user"));
+
+        sql = "SELECT * FROM `t user` u JOIN \"t role\" r ON u.id = r.uid WHERE u.name = 'it''s, (a) update x'";
+        assertThat(new TableNameParser(sql).tables()).isEqualTo(asSet("`t user`", "\"t role\""));
+
+        assertThat(new TableNameParser("").tables()).isEmpty();
+        assertThat(new TableNameParser("select * from").tables()).isEmpty();
+    }
+
+    @Test
+    void testTokenPosition() {
+        String sql = "SELECT * FROM /* t_a */t_user,t_role -- t_b\n JOIN t_dept";
+        StringBuilder builder = new StringBuilder();
+        new TableNameParser(sql).accept(token -> builder.append(token.getValue()).append('@').append(token.getStart())
+            .append('-').append(token.getEnd()).append(' '));
+        assertThat(builder.toString()).isEqualTo("t_user@23-29 t_role@30-36 t_dept@50-56 ");
+    }
+
+    @Test
+    void testLongSql() {
+        StringBuilder sql = new StringBuilder("SELECT * FROM t_user WHERE id IN (");
+        while (sql.length() < 50 * 1024) {
+            sql.append("?, ");
+        }
+        sql.append("?) AND name = 'x' -- from t_fake");
+        assertThat(new TableNameParser(sql.toString()).tables()).isEqualTo(asSet("t_user"));
+    }
+
+    /**
+     * 对比 3.5.2 的正则分词与当前实现(分词 + 访问表名)的耗时, 旧实现只计分词部分, 是旧耗时的下限
+     * <p>
+     * 去掉 {@link Disabled} 后执行: mvn test -Dtest=TableNameParserTest#benchmark
+     * </p>
+     */
+    @Test
+    @Disabled("不需要参与全局test")
+    void benchmark() {
+        String small = "SELECT id, name FROM t_user WHERE id = ?";
+        StringBuilder medium = new StringBuilder("SELECT u.id, u.name, r.name FROM t_user u LEFT JOIN t_role r ON u.role_id = r.id")
+            .append(" WHERE u.deleted = 0 AND u.id IN (");
+        for (int i = 0; i < 50; i++) {
+            medium.append(i == 0 ? "?" : ", ?");
+        }
+        medium.append(") ORDER BY u.id DESC");
+        StringBuilder large = new StringBuilder("SELECT * FROM t_user WHERE id IN (");
+        while (large.length() < 50 * 1024) {
+            large.append("?, ");
+        }
+        large.append("?) AND name = 'x' -- comment");
+        for (String sql : new String[]{small, medium.toString(), large.toString()}) {
+            int iterations = sql.length() > 10 * 1024 ? 2000 : 100000;
+            for (int i = 0; i < iterations; i++) {
+                regexTokens(sql);
+                new TableNameParser(sql).tables();
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                regexTokens(sql);
+            }
+            long regex = (System.nanoTime() - start) / iterations;
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                new TableNameParser(sql).tables();
+            }
+            long scanner = (System.nanoTime() - start) / iterations;
+            System.out.printf("sql length %d: regex tokenizer %d ns, scanner %d ns%n", sql.length(), regex, scanner);
+        }
+    }
+
+    /**
+     * 3.5.2 使用的正则分词
+     */
+    private static final Pattern NON_SQL_TOKEN_PATTERN = Pattern.compile("(--[^\\v]+)|;|(\\s+)|((?s)/[*].*?[*]/)"
+        + "|(((\\b|\\B)(?=[,()]))|((?<=[,()])(\\b|\\B)))"
+    );
+
+    private static List<String> regexTokens(String sql) {
+        List<String> tokens = new ArrayList<>();
+        Matcher matcher = NON_SQL_TOKEN_PATTERN.matcher(sql);
+        int last = 0;
+        while (matcher.find()) {
+            int start = matcher.start();
+            if (start != last) {
+                tokens.add(sql.substring(last, start));
+            }
+            last = matcher.end();
+        }
+        if (last != sql.length()) {
+            tokens.add(sql.substring(last));
+        }
+        return tokens;
+    }
+
     private static Collection<String> asSet(String... a) {
         Set<String> result = new HashSet<>();
         Collections.addAll(result, a);
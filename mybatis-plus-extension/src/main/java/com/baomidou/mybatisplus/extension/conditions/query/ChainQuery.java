@@ -73,7 +73,7 @@ public interface ChainQuery<T> extends ChainWrapper<T> {
      * @return true 存在 false 不存在
      */
     default boolean exists() {
-        return this.count() > 0;
+        return getBaseMapper().exists(getWrapper());
     }
 
     /**
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2011-2022, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.extension.injector.methods;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.annotation.FieldStrategy;
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.core.injector.AbstractMethod;
+import com.baomidou.mybatisplus.core.injector.methods.UpdateBatchById;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.toolkit.Assert;
+import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
+import com.baomidou.mybatisplus.core.toolkit.ExceptionUtils;
+import com.baomidou.mybatisplus.core.toolkit.StringUtils;
+import com.baomidou.mybatisplus.core.toolkit.sql.SqlScriptUtils;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.apache.ibatis.executor.keygen.NoKeyGenerator;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlSource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * 批量新增或更新(多行 upsert), 一条语句处理一批数据
+ * <p>
+ * 按数据库生成不同的语法:
+ * <li> MySQL/MariaDB: INSERT ... VALUES (...), (...) ON DUPLICATE KEY UPDATE col = VALUES(col) </li>
+ * <li> PostgreSQL: INSERT ... VALUES (...), (...) ON CONFLICT (冲突字段) DO UPDATE SET col = EXCLUDED.col </li>
+ * <li> H2/SQLServer: MERGE INTO ... USING (VALUES (...), (...)) ON (冲突字段) WHEN MATCHED ... WHEN NOT MATCHED ... </li>
+ * <li> Oracle: MERGE INTO ... USING (SELECT ... FROM DUAL UNION ALL ...) ON (冲突字段) ... </li>
+ * </p>
+ * <p>
+ * 自己的通用 mapper 如下使用:
+ * <pre>
+ * int upsertBatch(@Param("list") List<T> entityList);
+ * </pre>
+ * </p>
+ *
+ * <li> 冲突字段默认为主键, MySQL 不支持指定冲突字段, 任意唯一索引冲突都会执行更新 </li>
+ * <li> 插入字段: 插入策略不为 NEVER 的字段(自增主键与逻辑删除字段除外), 实体中为 null 的字段插入 null 而不是数据库默认值 </li>
+ * <li> 冲突时按 updateById 的规则更新除冲突字段外的字段, 可以通过 {@link #setUpdatePredicate(Predicate)} 筛选 </li>
+ * <li> 冲突时乐观锁字段加一(不校验版本), 已逻辑删除的记录恢复为未删除 </li>
+ * <li> 自增主键不会回写到实体 </li>
+ *
+ * @author agent
+ * @since 3.5.3
+ */
+@SuppressWarnings("serial")
+public class UpsertBatch extends AbstractMethod {
+
+    private static final String TARGET = "mp_target";
+    private static final String SOURCE = "mp_source";
+
+    /**
+     * 数据库类型
+     */
+    private final DbType dbType;
+
+    /**
+     * 冲突字段(数据库字段名), 为空时使用主键
+     */
+    @Setter
+    @Accessors(chain = true)
+    private List<String> conflictColumns;
+
+    /**
+     * 冲突时更新的字段筛选条件
+     */
+    @Setter
+    @Accessors(chain = true)
+    private Predicate<TableFieldInfo> updatePredicate;
+
+    /**
+     * 默认方法名
+     *
+     * @param dbType 数据库类型
+     */
+    public UpsertBatch(DbType dbType) {
+        this("upsertBatch", dbType);
+    }
+
+    /**
+     * @param name   方法名
+     * @param dbType 数据库类型
+     */
+    public UpsertBatch(String name, DbType dbType) {
+        super(name);
+        this.dbType = dbType;
+    }
+
+    @Override
+    public MappedStatement injectMappedStatement(Class<?> mapperClass, Class<?> modelClass, TableInfo tableInfo) {
+        List<String> columns = new ArrayList<>();
+        List<String> properties = new ArrayList<>();
+        if (tableInfo.havePK() && tableInfo.getIdType() != IdType.AUTO) {
+            columns.add(tableInfo.getKeyColumn());
+            properties.add(SqlScriptUtils.safeParam(ENTITY_DOT + tableInfo.getKeyProperty()));
+        }
+        List<TableFieldInfo> fieldList = tableInfo.getFieldList().stream()
+            .filter(i -> !i.isLogicDelete() && i.getInsertStrategy() != FieldStrategy.NEVER).collect(Collectors.toList());
+        for (TableFieldInfo fieldInfo : fieldList) {
+            columns.add(fieldInfo.getColumn());
+            properties.add(SqlScriptUtils.safeParam(ENTITY_DOT + fieldInfo.getEl()));
+        }
+        List<String> conflicts = CollectionUtils.isNotEmpty(conflictColumns) ? conflictColumns
+            : tableInfo.havePK() ? Collections.singletonList(tableInfo.getKeyColumn()) : Collections.emptyList();
+        Assert.notEmpty(conflicts, "upsertBatch requires conflict columns, table \"%s\" has no primary key", tableInfo.getTableName());
+        Predicate<TableFieldInfo> predicate = updatePredicate == null ? i -> true : updatePredicate;
+        // 与 updateById 一致: 跳过更新策略为 NEVER 的字段, 有 update 表达式的字段插入策略为 NEVER 时也可以更新
+        List<TableFieldInfo> updateFields = tableInfo.getFieldList().stream()
+            .filter(i -> !i.isLogicDelete() && !i.isVersion() && !conflicts.contains(i.getColumn()))
+            .filter(i -> i.isWithUpdateFill() || i.getUpdateStrategy() != FieldStrategy.NEVER)
+            .filter(i -> StringUtils.isNotBlank(i.getUpdate()) || i.getInsertStrategy() != FieldStrategy.NEVER)
+            .filter(predicate).collect(Collectors.toList());
+
+        String sql;
+        List<String> updateSet;
+        switch (dbType) {
+            case MYSQL:
+            case MARIADB:
+                updateSet = updateSet(tableInfo, updateFields, i -> "VALUES(" + i + RIGHT_BRACKET, Function.identity());
+                sql = insertValues(tableInfo, EMPTY, columns, properties) + " ON DUPLICATE KEY UPDATE "
+                    + (updateSet.isEmpty() ? conflicts.get(0) + EQUALS + conflicts.get(0) : String.join(COMMA, updateSet));
+                break;
+            case POSTGRE_SQL:
+                updateSet = updateSet(tableInfo, updateFields, i -> "EXCLUDED." + i, i -> TARGET + DOT + i);
+                sql = insertValues(tableInfo, " AS " + TARGET, columns, properties) + " ON CONFLICT (" + String.join(COMMA, conflicts) + ") DO "
+                    + (updateSet.isEmpty() ? "NOTHING" : "UPDATE SET " + String.join(COMMA, updateSet));
+                break;
+            case H2:
+            case SQL_SERVER:
+                updateSet = updateSet(tableInfo, updateFields, i -> SOURCE + DOT + i, i -> TARGET + DOT + i);
+                String values = SqlScriptUtils.convertForeach(LEFT_BRACKET + String.join(COMMA, properties) + RIGHT_BRACKET,
+                    LIST, null, ENTITY, COMMA);
+                sql = merge(tableInfo, "(VALUES " + values + ") " + SOURCE + " (" + String.join(COMMA, columns) + RIGHT_BRACKET,
+                    columns, conflicts, updateSet) + (dbType == DbType.SQL_SERVER ? SEMICOLON : EMPTY);
+                break;
+            case ORACLE:
+            case ORACLE_12C:
+                updateSet = updateSet(tableInfo, updateFields, i -> SOURCE + DOT + i, i -> TARGET + DOT + i);
+                List<String> selectItems = new ArrayList<>();
+                for (int i = 0; i < columns.size(); i++) {
+                    selectItems.add(properties.get(i) + SPACE + columns.get(i));
+                }
+                String select = SqlScriptUtils.convertForeach("SELECT " + String.join(COMMA, selectItems) + " FROM DUAL",
+                    LIST, null, ENTITY, " UNION ALL ");
+                sql = merge(tableInfo, LEFT_BRACKET + select + ") " + SOURCE, columns, conflicts, updateSet);
+                break;
+            default:
+                throw ExceptionUtils.mpe("upsertBatch does not support the database type: %s", dbType);
+        }
+        SqlSource sqlSource = languageDriver.createSqlSource(configuration, "<script>\n" + sql + "\n</script>", modelClass);
+        return this.addInsertMappedStatement(mapperClass, modelClass, methodName, sqlSource, NoKeyGenerator.INSTANCE, null, null);
+    }
+
+    /**
+     * INSERT INTO table [alias] (columns) VALUES (...), (...)
+     */
+    private String insertValues(TableInfo tableInfo, String alias, List<String> columns, List<String> properties) {
+        return "INSERT INTO " + tableInfo.getTableName() + alias + " (" + String.join(COMMA, columns) + ") VALUES "
+            + SqlScriptUtils.convertForeach(LEFT_BRACKET + String.join(COMMA, properties) + RIGHT_BRACKET, LIST, null, ENTITY, COMMA);
+    }
+
+    /**
+     * MERGE INTO table USING source ON (...) WHEN MATCHED THEN UPDATE ... WHEN NOT MATCHED THEN INSERT ...
+     */
+    private String merge(TableInfo tableInfo, String source, List<String> columns, List<String> conflicts, List<String> updateSet) {
+        StringBuilder sql = new StringBuilder("MERGE INTO ").append(tableInfo.getTableName()).append(SPACE).append(TARGET)
+            .append(" USING ").append(source)
+            .append(" ON (").append(conflicts.stream().map(i -> TARGET + DOT + i + EQUALS + SOURCE + DOT + i)
+                .collect(Collectors.joining(" AND "))).append(RIGHT_BRACKET);
+        if (!updateSet.isEmpty()) {
+            sql.append(" WHEN MATCHED THEN UPDATE SET ").append(String.join(COMMA, updateSet));
+        }
+        return sql.append(" WHEN NOT MATCHED THEN INSERT (").append(String.join(COMMA, columns)).append(") VALUES (")
+            .append(join(columns, i -> SOURCE + DOT + i)).append(RIGHT_BRACKET).toString();
+    }
+
+    /**
+     * 冲突时的更新字段, 按 {@link TableFieldInfo#getSqlSet(String)} 的规则生成
+     * <li> 有 update 表达式时使用表达式, %s 为原记录的字段 </li>
+     * <li> 更新策略为 NOT_NULL/NOT_EMPTY 时, 新值为 null(或空字符串) 的行保持原值 </li>
+     * <li> 乐观锁字段为 int/long 时加一, 其他类型不更新 </li>
+     * <li> 逻辑删除字段恢复为未删除 </li>
+     *
+     * @param source 新值的引用
+     * @param target 原记录字段的引用
+     */
+    private List<String> updateSet(TableInfo tableInfo, List<TableFieldInfo> updateFields, Function<String, String> source,
+                                   Function<String, String> target) {
+        List<String> updateSet = new ArrayList<>();
+        for (TableFieldInfo fieldInfo : updateFields) {
+            String column = fieldInfo.getColumn();
+            updateSet.add(column + EQUALS + updateValue(fieldInfo, source.apply(column), target.apply(column)));
+        }
+        TableFieldInfo versionFieldInfo = tableInfo.getVersionFieldInfo();
+        if (versionFieldInfo != null && UpdateBatchById.isSupportVersion(versionFieldInfo.getPropertyType())) {
+            String column = versionFieldInfo.getColumn();
+            updateSet.add(column + EQUALS + target.apply(column) + " + 1");
+        }
+        if (tableInfo.isWithLogicDelete()) {
+            TableFieldInfo logicDeleteFieldInfo = tableInfo.getLogicDeleteFieldInfo();
+            String value = logicDeleteFieldInfo.getLogicNotDeleteValue();
+            updateSet.add(logicDeleteFieldInfo.getColumn() + EQUALS + (NULL.equalsIgnoreCase(value) ? NULL
+                : String.format(logicDeleteFieldInfo.isCharSequence() ? "'%s'" : "%s", value)));
+        }
+        return updateSet;
+    }
+
+    private String updateValue(TableFieldInfo fieldInfo, String source, String target) {
+        if (StringUtils.isNotBlank(fieldInfo.getUpdate())) {
+            return String.format(fieldInfo.getUpdate(), target);
+        }
+        FieldStrategy strategy = fieldInfo.getUpdateStrategy();
+        if (fieldInfo.isWithUpdateFill() || fieldInfo.isPrimitive() || strategy == FieldStrategy.IGNORED) {
+            return source;
+        }
+        if (strategy == FieldStrategy.NOT_EMPTY && fieldInfo.isCharSequence()) {
+            return "COALESCE(NULLIF(" + source + ", ''), " + target + RIGHT_BRACKET;
+        }
+        return "COALESCE(" + source + COMMA + SPACE + target + RIGHT_BRACKET;
+    }
+
+    private String join(List<String> columns, Function<String, String> mapper) {
+        return columns.stream().map(mapper).collect(Collectors.joining(COMMA));
+    }
+}
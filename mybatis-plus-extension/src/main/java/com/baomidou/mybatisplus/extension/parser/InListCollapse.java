@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2011-2022, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.extension.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 折叠 SQL 中较长的 {@code IN (?, ?, ..., ?)} 占位符列表
+ * <p>
+ * 解析前把列表替换为一个命名参数标记, 解析改写后再把标记还原为原始列表,
+ * 避免 jsqlparser 的解析耗时随列表长度线性增长, 同时使改写结果与列表长度无关
+ *
+ * @author agent
+ * @since 3.5.3
+ */
+final class InListCollapse {
+
+    /**
+     * 标记前缀, 标记形如 {@code :mybatis_plus_in_list_0}
+     */
+    static final String MARKER = ":mybatis_plus_in_list_";
+
+    /**
+     * 折叠后的 SQL
+     */
+    private final String sql;
+    /**
+     * 被折叠的原始列表内容(不含括号)
+     */
+    private final List<String> lists;
+
+    private InListCollapse(String sql, List<String> lists) {
+        this.sql = sql;
+        this.lists = lists;
+    }
+
+    /**
+     * 折叠 SQL 中占位符数量不小于 threshold 的 IN 列表
+     *
+     * @param sql       原始 SQL
+     * @param threshold 折叠阈值
+     * @return 没有可折叠的列表时返回 null
+     */
+    static InListCollapse of(String sql, int threshold) {
+        if (threshold <= 0 || sql.indexOf('?') < 0) {
+            return null;
+        }
+        final int length = sql.length();
+        StringBuilder builder = null;
+        List<String> lists = null;
+        int last = 0;
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '\'' || c == '"' || c == '`') {
+                int end = sql.indexOf(c, i + 1);
+                i = end < 0 ? length : end + 1;
+            } else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                int end = sql.indexOf('\n', i + 2);
+                i = end < 0 ? length : end + 1;
+            } else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+            } else if (c == '(' && isAfterIn(sql, i)) {
+                int end = placeholderListEnd(sql, i + 1, threshold);
+                if (end > 0) {
+                    if (builder == null) {
+                        builder = new StringBuilder(length);
+                        lists = new ArrayList<>();
+                    }
+                    builder.append(sql, last, i + 1).append(MARKER).append(lists.size());
+                    lists.add(sql.substring(i + 1, end));
+                    last = end;
+                    i = end;
+                } else {
+                    i++;
+                }
+            } else {
+                i++;
+            }
+        }
+        if (builder == null) {
+            return null;
+        }
+        builder.append(sql, last, length);
+        return new InListCollapse(builder.toString(), lists);
+    }
+
+    /**
+     * 判断 ( 之前是否为 IN 关键字
+     */
+    private static boolean isAfterIn(String sql, int index) {
+        int i = index - 1;
+        while (i >= 0 && Character.isWhitespace(sql.charAt(i))) {
+            i--;
+        }
+        if (i < 1 || !sql.regionMatches(true, i - 1, "in", 0, 2)) {
+            return false;
+        }
+        return i < 2 || !isIdentifierPart(sql.charAt(i - 2));
+    }
+
+    /**
+     * @return 列表只由占位符组成且数量不小于 threshold 时返回 ) 的位置, 否则返回 -1
+     */
+    private static int placeholderListEnd(String sql, int start, int threshold) {
+        final int length = sql.length();
+        int count = 0;
+        boolean expectPlaceholder = true;
+        for (int i = start; i < length; i++) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            if (expectPlaceholder) {
+                if (c != '?') {
+                    return -1;
+                }
+                count++;
+                expectPlaceholder = false;
+            } else if (c == ',') {
+                expectPlaceholder = true;
+            } else if (c == ')') {
+                return count >= threshold ? i : -1;
+            } else {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '.' || c == '`' || c == '"';
+    }
+
+    String getSql() {
+        return sql;
+    }
+
+    /**
+     * 把改写后 SQL 中的标记还原为原始列表
+     *
+     * @param rewritten 改写后的 SQL
+     * @return 还原后的 SQL
+     */
+    String expand(String rewritten) {
+        int index = rewritten.indexOf(MARKER);
+        if (index < 0) {
+            return rewritten;
+        }
+        final int length = rewritten.length();
+        StringBuilder builder = new StringBuilder(length + (sql.length() << 1));
+        int last = 0;
+        while (index >= 0) {
+            int end = index + MARKER.length();
+            int number = 0;
+            while (end < length && Character.isDigit(rewritten.charAt(end))) {
+                number = number * 10 + (rewritten.charAt(end) - '0');
+                end++;
+            }
+            builder.append(rewritten, last, index);
+            if (end > index + MARKER.length() && number < lists.size()) {
+                builder.append(lists.get(number));
+            } else {
+                builder.append(rewritten, index, end);
+            }
+            last = end;
+            index = rewritten.indexOf(MARKER, end);
+        }
+        builder.append(rewritten, last, length);
+        return builder.toString();
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2011-2022, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.extension.parser;
+
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import com.baomidou.mybatisplus.core.toolkit.StringPool;
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.Statements;
+import org.apache.ibatis.mapping.BoundSql;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 单次拦截内共享的 SQL 解析上下文
+ * <p>
+ * 由 {@link com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor} 开启,
+ * 同一个 {@link BoundSql} 在多个 {@link JsqlParserSupport} 之间只解析一次,
+ * 各拦截器直接修改同一个 {@link Statement}, 最后统一 {@link #flush()} 回写 SQL
+ *
+ * @author agent
+ * @since 3.5.3
+ */
+public final class JsqlParserContext {
+
+    private static final ThreadLocal<JsqlParserContext> CONTEXT = new ThreadLocal<>();
+
+    /**
+     * 外层上下文(嵌套执行时, 例如 count 查询)
+     */
+    private final JsqlParserContext parent;
+    private final PluginUtils.MPBoundSql boundSql;
+    /**
+     * statements 对应的 SQL
+     */
+    private String sql;
+    private List<Statement> statements;
+    /**
+     * statements 解析前折叠的 IN 列表, 回写时还原
+     */
+    private InListCollapse collapse;
+    /**
+     * statements 是否被修改过且尚未回写
+     */
+    private boolean dirty;
+    /**
+     * 是否正在处理共享的 statements, 只有此时 {@link #markDirty()} 才有效
+     */
+    private boolean processing;
+    private int parseCount;
+    private int deparseCount;
+
+    private JsqlParserContext(JsqlParserContext parent, BoundSql boundSql) {
+        this.parent = parent;
+        this.boundSql = PluginUtils.mpBoundSql(boundSql);
+    }
+
+    /**
+     * 开启上下文, 处理完成后调用 {@link #flush()}, 并且必须在 finally 中调用 {@link #close()}
+     *
+     * @param boundSql 需要共享解析结果的 BoundSql
+     * @return 上下文
+     */
+    public static JsqlParserContext open(BoundSql boundSql) {
+        JsqlParserContext context = new JsqlParserContext(CONTEXT.get(), boundSql);
+        CONTEXT.set(context);
+        return context;
+    }
+
+    /**
+     * @return 当前线程的上下文, 未开启时为 null
+     */
+    public static JsqlParserContext current() {
+        return CONTEXT.get();
+    }
+
+    /**
+     * 获取 SQL 对应的 Statement, 与上次解析的 SQL 一致时直接复用
+     *
+     * @param sql                     SQL
+     * @param multi                   是否多语句
+     * @param inListCollapseThreshold 重新解析时的 IN 列表折叠阈值
+     * @return statements, 与上次解析的 SQL 不一致且存在未回写的修改时返回 null
+     */
+    List<Statement> statements(String sql, boolean multi, int inListCollapseThreshold) throws JSQLParserException {
+        if (statements != null && sql.equals(this.sql)) {
+            return statements;
+        }
+        if (dirty) {
+            return null;
+        }
+        collapse = InListCollapse.of(sql, inListCollapseThreshold);
+        String parseSql = collapse == null ? sql : collapse.getSql();
+        if (multi) {
+            Statements parsed = CCJSqlParserUtil.parseStatements(parseSql);
+            statements = parsed.getStatements();
+        } else {
+            statements = Collections.singletonList(CCJSqlParserUtil.parse(parseSql));
+        }
+        this.sql = sql;
+        parseCount++;
+        return statements;
+    }
+
+    void markDirty() {
+        if (processing) {
+            this.dirty = true;
+        }
+    }
+
+    void setProcessing(boolean processing) {
+        this.processing = processing;
+    }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * 把修改后的 Statement 回写到 BoundSql
+     */
+    public void flush() {
+        if (!dirty) {
+            return;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < statements.size(); i++) {
+            if (i > 0) {
+                sb.append(StringPool.SEMICOLON);
+            }
+            sb.append(statements.get(i).toString());
+        }
+        sql = collapse == null ? sb.toString() : collapse.expand(sb.toString());
+        boundSql.sql(sql);
+        dirty = false;
+        deparseCount++;
+    }
+
+    /**
+     * 关闭上下文, 未回写的修改将被丢弃
+     */
+    public void close() {
+        if (parent == null) {
+            CONTEXT.remove();
+        } else {
+            CONTEXT.set(parent);
+        }
+    }
+
+    /**
+     * @return 解析次数
+     */
+    public int getParseCount() {
+        return parseCount;
+    }
+
+    /**
+     * @return 回写(deparse)次数
+     */
+    public int getDeparseCount() {
+        return deparseCount;
+    }
+}
@@ -17,6 +17,7 @@ package com.baomidou.mybatisplus.extension.parser;
 
 import com.baomidou.mybatisplus.core.toolkit.ExceptionUtils;
 import com.baomidou.mybatisplus.core.toolkit.StringPool;
+import com.baomidou.mybatisplus.extension.parser.cache.BoundedCache;
 import net.sf.jsqlparser.JSQLParserException;
 import net.sf.jsqlparser.parser.CCJSqlParserUtil;
 import net.sf.jsqlparser.statement.Statement;
@@ -28,6 +29,8 @@ import net.sf.jsqlparser.statement.update.Update;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
 
+import java.util.List;
+
 /**
  * https://github.com/JSQLParser/JSqlParser
  *
@@ -41,10 +44,129 @@ public abstract class JsqlParserSupport {
      */
     protected final Log logger = LogFactory.getLog(this.getClass());
 
+    /**
+     * 解析结果缓存, 为 null 时不启用
+     * <p>
+     * 只缓存 {@link #getParserCacheKey(String, Object)} 返回非 null 的解析结果
+     *
+     * @since 3.5.3
+     */
+    private BoundedCache<String, String> parserCache;
+    /**
+     * IN 列表折叠阈值, 占位符数量不小于该值的 {@code IN (?, ?, ...)} 在解析前会被折叠为一个标记, 小于等于 0 时不启用
+     * <p>
+     * 折叠后解析耗时与列表长度无关, 解析结果缓存的 key 也与列表长度无关
+     *
+     * @since 3.5.3
+     */
+    private int inListCollapseThreshold;
+
     public String parserSingle(String sql, Object obj) {
+        return parser(sql, obj, false);
+    }
+
+    public String parserMulti(String sql, Object obj) {
+        return parser(sql, obj, true);
+    }
+
+    /**
+     * 不使用共享上下文与解析结果缓存, 直接解析并返回改写后的 SQL
+     * <p>
+     * 适用于子类自行缓存改写结果的场景
+     *
+     * @param sql SQL
+     * @param obj 解析时的附加参数
+     * @return 改写后的 SQL
+     * @since 3.5.3
+     */
+    protected String parserSingleDirect(String sql, Object obj) {
+        return parser(sql, obj, false, false);
+    }
+
+    private String parser(String sql, Object obj, boolean multi) {
+        return parser(sql, obj, multi, true);
+    }
+
+    private String parser(String sql, Object obj, boolean multi, boolean shareable) {
         if (logger.isDebugEnabled()) {
             logger.debug("original SQL: " + sql);
         }
+        InListCollapse collapse = InListCollapse.of(sql, inListCollapseThreshold);
+        String parseSql = collapse == null ? sql : collapse.getSql();
+        String cacheKey = shareable ? this.parserCacheKey(parseSql, obj) : null;
+        JsqlParserContext context = shareable && willShareStatement() ? JsqlParserContext.current() : null;
+        if (context != null && (cacheKey == null || context.isDirty())) {
+            if (this.processShared(context, sql, obj, multi)) {
+                return sql;
+            }
+        }
+        String result = null;
+        if (cacheKey != null) {
+            result = parserCache.get(cacheKey);
+        }
+        if (result == null) {
+            result = multi ? this.doParserMulti(parseSql, obj) : this.doParserSingle(parseSql, obj);
+            if (cacheKey != null) {
+                parserCache.put(cacheKey, result);
+            }
+        }
+        return collapse == null ? result : collapse.expand(result);
+    }
+
+    /**
+     * 在共享上下文中处理, 改写结果由上下文统一回写
+     *
+     * @return 是否已处理
+     */
+    private boolean processShared(JsqlParserContext context, String sql, Object obj, boolean multi) {
+        List<Statement> statements;
+        try {
+            statements = context.statements(sql, multi, inListCollapseThreshold);
+        } catch (JSQLParserException e) {
+            throw ExceptionUtils.mpe("Failed to process, Error SQL: %s", e.getCause(), sql);
+        }
+        if (statements == null) {
+            return false;
+        }
+        context.setProcessing(true);
+        try {
+            for (int i = 0; i < statements.size(); i++) {
+                this.processStatement(statements.get(i), i, sql, obj);
+            }
+        } finally {
+            context.setProcessing(false);
+        }
+        return true;
+    }
+
+    /**
+     * 标记共享的 Statement 已被修改, 由上下文在 {@link JsqlParserContext#flush()} 时回写
+     * <p>
+     * 共享解析结果时修改了 Statement 必须调用, 未修改时不调用可以省去一次回写; 非共享处理时调用无影响
+     *
+     * @since 3.5.3
+     */
+    protected void markStatementChanged() {
+        JsqlParserContext context = JsqlParserContext.current();
+        if (context != null) {
+            context.markDirty();
+        }
+    }
+
+    /**
+     * 在 {@link JsqlParserContext} 中是否与其他拦截器共享解析后的 Statement
+     * <p>
+     * 共享时 parserSingle 与 parserMulti 直接返回原 SQL, 改写后的 SQL 由上下文统一回写到 BoundSql,
+     * 因此只有解析结果仅用于回写 BoundSql 的实现才能返回 true, 并且修改 Statement 时需要调用 {@link #markStatementChanged()}
+     *
+     * @return 是否共享, 默认 false
+     * @since 3.5.3
+     */
+    public boolean willShareStatement() {
+        return false;
+    }
+
+    protected String doParserSingle(String sql, Object obj) {
         try {
             Statement statement = CCJSqlParserUtil.parse(sql);
             return processParser(statement, 0, sql, obj);
@@ -53,10 +175,7 @@ public abstract class JsqlParserSupport {
         }
     }
 
-    public String parserMulti(String sql, Object obj) {
-        if (logger.isDebugEnabled()) {
-            logger.debug("original SQL: " + sql);
-        }
+    protected String doParserMulti(String sql, Object obj) {
         try {
             // fixed github pull/295
             StringBuilder sb = new StringBuilder();
@@ -75,6 +194,53 @@ public abstract class JsqlParserSupport {
         }
     }
 
+    private String parserCacheKey(String sql, Object obj) {
+        return parserCache == null ? null : getParserCacheKey(sql, obj);
+    }
+
+    /**
+     * 获取解析结果的缓存 key
+     * <p>
+     * 只有当解析(改写)结果只依赖于返回的 key 时才能缓存,
+     * 改写结果依赖运行时上下文(例如当前登录用户)的需返回 null, 默认不缓存
+     *
+     * @param sql 原始 SQL
+     * @param obj 解析时的附加参数
+     * @return 缓存 key, 为 null 表示本次结果不能缓存
+     * @since 3.5.3
+     */
+    protected String getParserCacheKey(String sql, Object obj) {
+        return null;
+    }
+
+    public BoundedCache<String, String> getParserCache() {
+        return parserCache;
+    }
+
+    /**
+     * 设置解析结果缓存, 传入 null 为关闭
+     *
+     * @param parserCache 解析结果缓存
+     * @since 3.5.3
+     */
+    public void setParserCache(BoundedCache<String, String> parserCache) {
+        this.parserCache = parserCache;
+    }
+
+    public int getInListCollapseThreshold() {
+        return inListCollapseThreshold;
+    }
+
+    /**
+     * 设置 IN 列表折叠阈值, 小于等于 0 为关闭
+     *
+     * @param inListCollapseThreshold 折叠阈值
+     * @since 3.5.3
+     */
+    public void setInListCollapseThreshold(int inListCollapseThreshold) {
+        this.inListCollapseThreshold = inListCollapseThreshold;
+    }
+
     /**
      * 执行 SQL 解析
      *
@@ -85,6 +251,18 @@ public abstract class JsqlParserSupport {
         if (logger.isDebugEnabled()) {
             logger.debug("SQL to parse, SQL: " + sql);
         }
+        this.processStatement(statement, index, sql, obj);
+        sql = statement.toString();
+        if (logger.isDebugEnabled()) {
+            logger.debug("parse the finished SQL: " + sql);
+        }
+        return sql;
+    }
+
+    /**
+     * 按 Statement 类型分发处理
+     */
+    protected void processStatement(Statement statement, int index, String sql, Object obj) {
         if (statement instanceof Insert) {
             this.processInsert((Insert) statement, index, sql, obj);
         } else if (statement instanceof Select) {
@@ -94,11 +272,6 @@ public abstract class JsqlParserSupport {
         } else if (statement instanceof Delete) {
             this.processDelete((Delete) statement, index, sql, obj);
         }
-        sql = statement.toString();
-        if (logger.isDebugEnabled()) {
-            logger.debug("parse the finished SQL: " + sql);
-        }
-        return sql;
     }
 
     /**
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2011-2022, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.extension.parser.cache;
+
+import com.baomidou.mybatisplus.core.toolkit.Assert;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 有界缓存 (LRU 淘汰)
+ * <p>
+ * 超过容量后淘汰最久未被访问的元素, 同时记录命中、未命中以及淘汰次数
+ *
+ * @param <K> key
+ * @param <V> value
+ * @author agent
+ * @since 3.5.3
+ */
+public class BoundedCache<K, V> {
+
+    private final int maximumSize;
+    private final Map<K, V> map;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * @param maximumSize 最大容量
+     */
+    public BoundedCache(int maximumSize) {
+        Assert.isTrue(maximumSize > 0, "maximumSize must be greater than 0");
+        this.maximumSize = maximumSize;
+        this.map = new LinkedHashMap<K, V>(16, 0.75F, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() > BoundedCache.this.maximumSize) {
+                    evictionCount.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 获取缓存值
+     *
+     * @param key key
+     * @return 不存在时返回 null
+     */
+    public V get(K key) {
+        V value;
+        synchronized (map) {
+            value = map.get(key);
+        }
+        if (value == null) {
+            missCount.increment();
+        } else {
+            hitCount.increment();
+        }
+        return value;
+    }
+
+    /**
+     * 放入缓存
+     *
+     * @param key   key
+     * @param value 不能为 null
+     */
+    public void put(K key, V value) {
+        synchronized (map) {
+            map.put(key, value);
+        }
+    }
+
+    /**
+     * 获取缓存值, 不存在时使用 mappingFunction 计算并放入缓存
+     * <p>
+     * mappingFunction 在锁外执行, 并发时可能被重复计算
+     *
+     * @param key             key
+     * @param mappingFunction 计算函数, 返回 null 时不缓存
+     * @return value
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        V value = get(key);
+        if (value == null) {
+            value = mappingFunction.apply(key);
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    public V remove(K key) {
+        synchronized (map) {
+            return map.remove(key);
+        }
+    }
+
+    public void clear() {
+        synchronized (map) {
+            map.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (map) {
+            return map.size();
+        }
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "BoundedCache{maximumSize=" + maximumSize + ", size=" + size() + ", hitCount=" + getHitCount()
+            + ", missCount=" + getMissCount() + ", evictionCount=" + getEvictionCount() + "}";
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2011-2022, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.extension.parser.cache;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 基于 MappedStatement ID 与 SQL 的缓存 key
+ * <p>
+ * 构造时计算 hash, 不复制与摘要 SQL 内容
+ *
+ * @author agent
+ * @since 3.5.3
+ */
+public final class StatementCacheKey {
+
+    private final String id;
+    private final String sql;
+    private final Object[] extras;
+    private final int hash;
+
+    private StatementCacheKey(String id, String sql, Object[] extras) {
+        this.id = id;
+        this.sql = sql;
+        this.extras = extras;
+        this.hash = 31 * (31 * Objects.hashCode(id) + sql.hashCode()) + Arrays.hashCode(extras);
+    }
+
+    /**
+     * @param id  MappedStatement ID
+     * @param sql SQL
+     * @return key
+     */
+    public static StatementCacheKey of(String id, String sql) {
+        return new StatementCacheKey(id, sql, null);
+    }
+
+    /**
+     * @param id     MappedStatement ID
+     * @param sql    SQL
+     * @param extras 其他参与比较的值, 需正确实现 equals 与 hashCode
+     * @return key
+     */
+    public static StatementCacheKey of(String id, String sql, Object... extras) {
+        return new StatementCacheKey(id, sql, extras);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StatementCacheKey)) {
+            return false;
+        }
+        StatementCacheKey that = (StatementCacheKey) o;
+        return hash == that.hash && Objects.equals(id, that.id) && sql.equals(that.sql)
+            && Arrays.equals(extras, that.extras);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return id + ":" + sql;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2011-2022, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.extension.plugins;
+
+import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 拦截器执行计划
+ * <p>
+ * 按阶段筛选出需要执行的 {@link InnerInterceptor}, 保持原有顺序:
+ * 只有重写了该阶段方法的拦截器才会出现在该阶段中,
+ * 与具体 {@link MappedStatement} 绑定时再排除 {@link InnerInterceptor#willIntercept(MappedStatement)} 为 false 的拦截器
+ *
+ * @author agent
+ * @since 3.5.3
+ */
+final class InterceptorPlan {
+
+    private static final InnerInterceptor[] EMPTY = new InnerInterceptor[0];
+
+    /**
+     * willDoQuery, beforeQuery, afterQuery 与 afterQueryAborted
+     */
+    final InnerInterceptor[] query;
+    /**
+     * willDoUpdate, beforeUpdate 与 afterUpdate
+     */
+    final InnerInterceptor[] update;
+    /**
+     * beforePrepare
+     */
+    final InnerInterceptor[] prepare;
+    /**
+     * beforeGetBoundSql
+     */
+    final InnerInterceptor[] getBoundSql;
+
+    private InterceptorPlan(InnerInterceptor[] query, InnerInterceptor[] update, InnerInterceptor[] prepare, InnerInterceptor[] getBoundSql) {
+        this.query = query;
+        this.update = update;
+        this.prepare = prepare;
+        this.getBoundSql = getBoundSql;
+    }
+
+    /**
+     * 根据拦截器重写的方法生成执行计划
+     *
+     * @param interceptors 拦截器
+     * @return 执行计划
+     */
+    static InterceptorPlan of(List<InnerInterceptor> interceptors) {
+        List<InnerInterceptor> query = new ArrayList<>();
+        List<InnerInterceptor> update = new ArrayList<>();
+        List<InnerInterceptor> prepare = new ArrayList<>();
+        List<InnerInterceptor> getBoundSql = new ArrayList<>();
+        for (InnerInterceptor interceptor : interceptors) {
+            Class<?> clazz = interceptor.getClass();
+            if (overrides(clazz, "willDoQuery", Executor.class, MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, BoundSql.class)
+                || overrides(clazz, "beforeQuery", Executor.class, MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, BoundSql.class)
+                || overrides(clazz, "afterQuery", Executor.class, MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, BoundSql.class)
+                || overrides(clazz, "afterQueryAborted", Executor.class, MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, BoundSql.class)) {
+                query.add(interceptor);
+            }
+            if (overrides(clazz, "willDoUpdate", Executor.class, MappedStatement.class, Object.class)
+                || overrides(clazz, "beforeUpdate", Executor.class, MappedStatement.class, Object.class)
+                || overrides(clazz, "afterUpdate", Executor.class, MappedStatement.class, Object.class)) {
+                update.add(interceptor);
+            }
+            if (overrides(clazz, "beforePrepare", StatementHandler.class, Connection.class, Integer.class)) {
+                prepare.add(interceptor);
+            }
+            if (overrides(clazz, "beforeGetBoundSql", StatementHandler.class)) {
+                getBoundSql.add(interceptor);
+            }
+        }
+        return new InterceptorPlan(query.toArray(EMPTY), update.toArray(EMPTY), prepare.toArray(EMPTY), getBoundSql.toArray(EMPTY));
+    }
+
+    /**
+     * 生成指定 MappedStatement 的执行计划
+     *
+     * @param ms MappedStatement
+     * @return 执行计划
+     */
+    InterceptorPlan bind(MappedStatement ms) {
+        return new InterceptorPlan(filter(query, ms), filter(update, ms), filter(prepare, ms), filter(getBoundSql, ms));
+    }
+
+    private static InnerInterceptor[] filter(InnerInterceptor[] interceptors, MappedStatement ms) {
+        List<InnerInterceptor> list = new ArrayList<>(interceptors.length);
+        for (InnerInterceptor interceptor : interceptors) {
+            if (interceptor.willIntercept(ms)) {
+                list.add(interceptor);
+            }
+        }
+        return list.toArray(EMPTY);
+    }
+
+    private static boolean overrides(Class<?> clazz, String name, Class<?>... parameterTypes) {
+        try {
+            return clazz.getMethod(name, parameterTypes).getDeclaringClass() != InnerInterceptor.class;
+        } catch (NoSuchMethodException e) {
+            return true;
+        }
+    }
+}
@@ -16,7 +16,10 @@
 package com.baomidou.mybatisplus.extension.plugins;
 
 import com.baomidou.mybatisplus.core.toolkit.ClassUtils;
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
 import com.baomidou.mybatisplus.core.toolkit.StringPool;
+import com.baomidou.mybatisplus.extension.parser.JsqlParserContext;
+import com.baomidou.mybatisplus.extension.parser.JsqlParserSupport;
 import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
 import com.baomidou.mybatisplus.extension.toolkit.PropertyMapper;
 import lombok.Setter;
@@ -32,6 +35,7 @@ import org.apache.ibatis.session.RowBounds;
 
 import java.sql.Connection;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author miemie
@@ -49,8 +53,25 @@ import java.util.*;
 )
 public class MybatisPlusInterceptor implements Interceptor {
 
-    @Setter
     private List<InnerInterceptor> interceptors = new ArrayList<>();
+    /**
+     * 是否在同一次执行内共享 SQL 解析结果
+     * <p>
+     * 开启后多个基于 jsqlparser 的拦截器只解析一次 SQL, 并且只在需要时回写一次
+     *
+     * @see JsqlParserSupport#willShareStatement()
+     * @since 3.5.3
+     */
+    @Setter
+    private boolean shareStatement;
+    /**
+     * 拦截器执行计划, 拦截器变更时重新生成
+     */
+    private volatile InterceptorPlan plan;
+    /**
+     * 按 MappedStatement ID 缓存的执行计划
+     */
+    private final Map<String, InterceptorPlan> statementPlans = new ConcurrentHashMap<>();
 
     @Override
     public Object intercept(Invocation invocation) throws Throwable {
@@ -61,7 +82,11 @@ public class MybatisPlusInterceptor implements Interceptor {
             Object parameter = args[1];
             boolean isUpdate = args.length == 2;
             MappedStatement ms = (MappedStatement) args[0];
+            InterceptorPlan plan = getPlan(ms);
             if (!isUpdate && ms.getSqlCommandType() == SqlCommandType.SELECT) {
+                if (plan.query.length == 0) {
+                    return invocation.proceed();
+                }
                 RowBounds rowBounds = (RowBounds) args[2];
                 ResultHandler resultHandler = (ResultHandler) args[3];
                 BoundSql boundSql;
@@ -71,41 +96,138 @@ public class MybatisPlusInterceptor implements Interceptor {
                     // 几乎不可能走进这里面,除非使用Executor的代理对象调用query[args[6]]
                     boundSql = (BoundSql) args[5];
                 }
-                for (InnerInterceptor query : interceptors) {
-                    if (!query.willDoQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql)) {
-                        return Collections.emptyList();
+                JsqlParserContext context = shareStatement ? JsqlParserContext.open(boundSql) : null;
+                List<Object> result;
+                boolean completed = false;
+                try {
+                    try {
+                        for (InnerInterceptor query : plan.query) {
+                            if (context != null && !willShareStatement(query)) {
+                                context.flush();
+                            }
+                            if (!query.willDoQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql)) {
+                                return Collections.emptyList();
+                            }
+                            query.beforeQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+                        }
+                        if (context != null) {
+                            context.flush();
+                        }
+                    } finally {
+                        if (context != null) {
+                            context.close();
+                        }
                     }
-                    query.beforeQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+                    CacheKey cacheKey = executor.createCacheKey(ms, parameter, rowBounds, boundSql);
+                    result = executor.query(ms, parameter, rowBounds, resultHandler, cacheKey, boundSql);
+                    completed = true;
+                } finally {
+                    if (!completed) {
+                        for (InnerInterceptor query : plan.query) {
+                            query.afterQueryAborted(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+                        }
+                    }
+                }
+                for (InnerInterceptor query : plan.query) {
+                    query.afterQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
                 }
-                CacheKey cacheKey = executor.createCacheKey(ms, parameter, rowBounds, boundSql);
-                return executor.query(ms, parameter, rowBounds, resultHandler, cacheKey, boundSql);
+                return result;
             } else if (isUpdate) {
-                for (InnerInterceptor update : interceptors) {
+                if (plan.update.length == 0) {
+                    return invocation.proceed();
+                }
+                for (InnerInterceptor update : plan.update) {
                     if (!update.willDoUpdate(executor, ms, parameter)) {
                         return -1;
                     }
                     update.beforeUpdate(executor, ms, parameter);
                 }
+                Object result = invocation.proceed();
+                for (InnerInterceptor update : plan.update) {
+                    update.afterUpdate(executor, ms, parameter);
+                }
+                return result;
             }
         } else {
             // StatementHandler
             final StatementHandler sh = (StatementHandler) target;
             // 目前只有StatementHandler.getBoundSql方法args才为null
             if (null == args) {
-                for (InnerInterceptor innerInterceptor : interceptors) {
+                if (getPlan().getBoundSql.length == 0) {
+                    return invocation.proceed();
+                }
+                InterceptorPlan plan = getPlan(PluginUtils.mpStatementHandler(sh).mappedStatement());
+                for (InnerInterceptor innerInterceptor : plan.getBoundSql) {
                     innerInterceptor.beforeGetBoundSql(sh);
                 }
             } else {
+                if (getPlan().prepare.length == 0) {
+                    return invocation.proceed();
+                }
+                PluginUtils.MPStatementHandler mpSh = PluginUtils.mpStatementHandler(sh);
+                InterceptorPlan plan = getPlan(mpSh.mappedStatement());
+                if (plan.prepare.length == 0) {
+                    return invocation.proceed();
+                }
                 Connection connections = (Connection) args[0];
                 Integer transactionTimeout = (Integer) args[1];
-                for (InnerInterceptor innerInterceptor : interceptors) {
-                    innerInterceptor.beforePrepare(sh, connections, transactionTimeout);
+                JsqlParserContext context = shareStatement ? JsqlParserContext.open(mpSh.boundSql()) : null;
+                try {
+                    for (InnerInterceptor innerInterceptor : plan.prepare) {
+                        if (context != null && !willShareStatement(innerInterceptor)) {
+                            context.flush();
+                        }
+                        innerInterceptor.beforePrepare(sh, connections, transactionTimeout);
+                    }
+                    if (context != null) {
+                        context.flush();
+                    }
+                } finally {
+                    if (context != null) {
+                        context.close();
+                    }
                 }
             }
         }
         return invocation.proceed();
     }
 
+    private InterceptorPlan getPlan() {
+        InterceptorPlan current = plan;
+        if (current == null) {
+            synchronized (this) {
+                current = plan;
+                if (current == null) {
+                    current = InterceptorPlan.of(interceptors);
+                    plan = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private InterceptorPlan getPlan(MappedStatement ms) {
+        InterceptorPlan statementPlan = statementPlans.get(ms.getId());
+        if (statementPlan == null) {
+            statementPlan = statementPlans.computeIfAbsent(ms.getId(), k -> getPlan().bind(ms));
+        }
+        return statementPlan;
+    }
+
+    /**
+     * 拦截器变更后清空执行计划
+     */
+    private void resetPlan() {
+        synchronized (this) {
+            plan = null;
+            statementPlans.clear();
+        }
+    }
+
+    private static boolean willShareStatement(InnerInterceptor innerInterceptor) {
+        return innerInterceptor instanceof JsqlParserSupport && ((JsqlParserSupport) innerInterceptor).willShareStatement();
+    }
+
     @Override
     public Object plugin(Object target) {
         if (target instanceof Executor || target instanceof StatementHandler) {
@@ -116,12 +238,22 @@ public class MybatisPlusInterceptor implements Interceptor {
 
     public void addInnerInterceptor(InnerInterceptor innerInterceptor) {
         this.interceptors.add(innerInterceptor);
+        resetPlan();
+    }
+
+    public void setInterceptors(List<InnerInterceptor> interceptors) {
+        this.interceptors = interceptors;
+        resetPlan();
     }
 
     public List<InnerInterceptor> getInterceptors() {
         return Collections.unmodifiableList(interceptors);
     }
 
+    public boolean isShareStatement() {
+        return shareStatement;
+    }
+
     /**
      * 使用内部规则,拿分页插件举个栗子:
      * <p>
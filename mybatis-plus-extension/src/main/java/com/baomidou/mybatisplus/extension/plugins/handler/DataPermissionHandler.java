@@ -33,4 +33,19 @@ public interface DataPermissionHandler {
      * @return JSqlParser 条件表达式
      */
     Expression getSqlSegment(Expression where, String mappedStatementId);
+
+    /**
+     * 获取当前数据权限范围的 key (例如角色集合 + 组织 ID)
+     * <p>
+     * 返回非 null 时, 改写后的 SQL 会按 (MappedStatement ID, SQL, key) 缓存,
+     * 相同 key 的查询不再调用 {@link #getSqlSegment(Expression, String)},
+     * 因此只有当 SQL 片段完全由 key 决定时才能返回非 null, key 需正确实现 equals 与 hashCode
+     *
+     * @param mappedStatementId Mybatis MappedStatement Id
+     * @return 权限范围 key, 默认 null 不缓存
+     * @since 3.5.3
+     */
+    default Object getPermissionScope(String mappedStatementId) {
+        return null;
+    }
 }
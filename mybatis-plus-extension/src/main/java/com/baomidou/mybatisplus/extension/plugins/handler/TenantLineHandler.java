@@ -15,7 +15,11 @@
  */
 package com.baomidou.mybatisplus.extension.plugins.handler;
 
+import com.baomidou.mybatisplus.core.toolkit.ExceptionUtils;
+import net.sf.jsqlparser.expression.DoubleValue;
 import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.LongValue;
+import net.sf.jsqlparser.expression.StringValue;
 import net.sf.jsqlparser.schema.Column;
 
 import java.util.List;
@@ -36,6 +40,41 @@ public interface TenantLineHandler {
      */
     Expression getTenantId();
 
+    /**
+     * 是否以 JDBC 参数 (?) 的方式绑定租户 ID
+     * <p>
+     * 默认直接把 {@link #getTenantId()} 拼接到 SQL 中, 每个租户都会生成不同的 SQL;
+     * 开启后改写后的 SQL 与租户无关, 可以被数据库及驱动的预编译缓存复用, 租户 ID 取自 {@link #getTenantIdValue()}
+     *
+     * @return 是否参数绑定
+     * @since 3.5.3
+     */
+    default boolean bindTenantIdParameter() {
+        return false;
+    }
+
+    /**
+     * 获取租户 ID 值, 只在 {@link #bindTenantIdParameter()} 开启时使用
+     * <p>
+     * 默认从 {@link #getTenantId()} 中取值, 只支持数字和字符串
+     *
+     * @return 租户 ID 值
+     * @since 3.5.3
+     */
+    default Object getTenantIdValue() {
+        Expression tenantId = getTenantId();
+        if (tenantId instanceof LongValue) {
+            return ((LongValue) tenantId).getValue();
+        }
+        if (tenantId instanceof StringValue) {
+            return ((StringValue) tenantId).getValue();
+        }
+        if (tenantId instanceof DoubleValue) {
+            return ((DoubleValue) tenantId).getValue();
+        }
+        throw ExceptionUtils.mpe("unsupported tenant id expression \"%s\", please override TenantLineHandler#getTenantIdValue", tenantId);
+    }
+
     /**
      * 获取租户字段名
      * <p>
@@ -15,14 +15,17 @@
  */
 package com.baomidou.mybatisplus.extension.plugins.inner;
 
+import com.baomidou.mybatisplus.core.exceptions.MybatisPlusException;
 import com.baomidou.mybatisplus.core.metadata.TableInfo;
 import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
 import com.baomidou.mybatisplus.core.plugins.InterceptorIgnoreHelper;
-import com.baomidou.mybatisplus.core.toolkit.Assert;
 import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
 import com.baomidou.mybatisplus.core.toolkit.StringPool;
 import com.baomidou.mybatisplus.core.toolkit.StringUtils;
+import com.baomidou.mybatisplus.extension.parser.JsqlParserContext;
 import com.baomidou.mybatisplus.extension.parser.JsqlParserSupport;
+import com.baomidou.mybatisplus.extension.parser.cache.BoundedCache;
+import com.baomidou.mybatisplus.extension.parser.cache.StatementCacheKey;
 import net.sf.jsqlparser.expression.BinaryExpression;
 import net.sf.jsqlparser.expression.Expression;
 import net.sf.jsqlparser.expression.Parenthesis;
@@ -39,6 +42,7 @@ import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.SqlCommandType;
 
 import java.sql.Connection;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * 攻击 SQL 阻断解析器,防止全表更新与删除
@@ -48,6 +52,37 @@ import java.sql.Connection;
  */
 public class BlockAttackInnerInterceptor extends JsqlParserSupport implements InnerInterceptor {
 
+    /**
+     * 校验通过的标记, 其余缓存值为阻断时的异常信息
+     */
+    private static final String ALLOWED = "";
+
+    /**
+     * 校验结果缓存, key 为 MappedStatement ID + SQL, 只缓存解析成功的 SQL 的校验结果
+     */
+    private final BoundedCache<StatementCacheKey, String> verdictCache;
+    private final LongAdder checkCount = new LongAdder();
+    private final LongAdder cacheHitCount = new LongAdder();
+    private final LongAdder blockedCount = new LongAdder();
+
+    public BlockAttackInnerInterceptor() {
+        this(1024);
+    }
+
+    /**
+     * @param verdictCacheSize 校验结果缓存容量
+     * @since 3.5.3
+     */
+    public BlockAttackInnerInterceptor(int verdictCacheSize) {
+        this.verdictCache = new BoundedCache<>(verdictCacheSize);
+    }
+
+    @Override
+    public boolean willIntercept(MappedStatement ms) {
+        SqlCommandType sct = ms.getSqlCommandType();
+        return (sct == SqlCommandType.UPDATE || sct == SqlCommandType.DELETE) && !InterceptorIgnoreHelper.willIgnoreBlockAttack(ms.getId());
+    }
+
     @Override
     public void beforePrepare(StatementHandler sh, Connection connection, Integer transactionTimeout) {
         PluginUtils.MPStatementHandler handler = PluginUtils.mpStatementHandler(sh);
@@ -56,10 +91,86 @@ public class BlockAttackInnerInterceptor extends JsqlParserSupport implements In
         if (sct == SqlCommandType.UPDATE || sct == SqlCommandType.DELETE) {
             if (InterceptorIgnoreHelper.willIgnoreBlockAttack(ms.getId())) return;
             BoundSql boundSql = handler.boundSql();
-            parserMulti(boundSql.getSql(), null);
+            checkCount.increment();
+            String verdict;
+            JsqlParserContext context = JsqlParserContext.current();
+            if (context != null && context.isDirty()) {
+                // 共享语句已被前面的拦截器改写, SQL 文本不能代表当前语句, 不走缓存
+                verdict = check(boundSql.getSql());
+            } else {
+                StatementCacheKey key = StatementCacheKey.of(ms.getId(), boundSql.getSql());
+                verdict = verdictCache.get(key);
+                if (verdict == null) {
+                    verdict = check(boundSql.getSql());
+                    verdictCache.put(key, verdict);
+                } else {
+                    cacheHitCount.increment();
+                }
+            }
+            if (!ALLOWED.equals(verdict)) {
+                blockedCount.increment();
+                throw new MybatisPlusException(verdict);
+            }
+        }
+    }
+
+    /**
+     * 解析并校验 SQL, 解析失败时直接抛出异常, 不产生校验结果
+     *
+     * @param sql SQL
+     * @return 通过时返回 {@link #ALLOWED}, 否则返回阻断原因
+     */
+    private String check(String sql) {
+        try {
+            parserMulti(sql, null);
+            return ALLOWED;
+        } catch (BlockedException e) {
+            return StringUtils.isBlank(e.getMessage()) ? "Prohibition of full table operation" : e.getMessage();
         }
     }
 
+    /**
+     * 清空校验结果缓存
+     *
+     * @since 3.5.3
+     */
+    public void clearCache() {
+        verdictCache.clear();
+    }
+
+    public BoundedCache<StatementCacheKey, String> getVerdictCache() {
+        return verdictCache;
+    }
+
+    /**
+     * @return 校验次数
+     * @since 3.5.3
+     */
+    public long getCheckCount() {
+        return checkCount.sum();
+    }
+
+    /**
+     * @return 命中缓存次数
+     * @since 3.5.3
+     */
+    public long getCacheHitCount() {
+        return cacheHitCount.sum();
+    }
+
+    /**
+     * @return 阻断次数
+     * @since 3.5.3
+     */
+    public long getBlockedCount() {
+        return blockedCount.sum();
+    }
+
+    @Override
+    public boolean willShareStatement() {
+        return true;
+    }
+
     @Override
     protected void processDelete(Delete delete, int index, String sql, Object obj) {
         this.checkWhere(delete.getTable().getName(), delete.getWhere(), "Prohibition of full table deletion");
@@ -71,7 +182,9 @@ public class BlockAttackInnerInterceptor extends JsqlParserSupport implements In
     }
 
     protected void checkWhere(String tableName, Expression where, String ex) {
-        Assert.isFalse(this.fullMatch(where, this.getTableLogicField(tableName)), ex);
+        if (this.fullMatch(where, this.getTableLogicField(tableName))) {
+            throw new BlockedException(ex);
+        }
     }
 
     private boolean fullMatch(Expression where, String logicField) {
@@ -137,4 +250,16 @@ public class BlockAttackInnerInterceptor extends JsqlParserSupport implements In
         }
         return tableInfo.getLogicDeleteFieldInfo().getColumn();
     }
+
+    /**
+     * 校验不通过时抛出, 用于与解析失败区分
+     */
+    private static class BlockedException extends MybatisPlusException {
+
+        private static final long serialVersionUID = 1L;
+
+        BlockedException(String message) {
+            super(message);
+        }
+    }
 }
@@ -17,7 +17,10 @@ package com.baomidou.mybatisplus.extension.plugins.inner;
 
 import com.baomidou.mybatisplus.core.plugins.InterceptorIgnoreHelper;
 import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import com.baomidou.mybatisplus.extension.parser.JsqlParserContext;
 import com.baomidou.mybatisplus.extension.parser.JsqlParserSupport;
+import com.baomidou.mybatisplus.extension.parser.cache.BoundedCache;
+import com.baomidou.mybatisplus.extension.parser.cache.StatementCacheKey;
 import com.baomidou.mybatisplus.extension.plugins.handler.DataPermissionHandler;
 import lombok.*;
 import net.sf.jsqlparser.expression.Expression;
@@ -48,12 +51,44 @@ import java.util.List;
 @SuppressWarnings({"rawtypes"})
 public class DataPermissionInterceptor extends JsqlParserSupport implements InnerInterceptor {
     private DataPermissionHandler dataPermissionHandler;
+    /**
+     * 改写结果缓存, key 为 MappedStatement ID + SQL + 权限范围
+     *
+     * @see DataPermissionHandler#getPermissionScope(String)
+     * @since 3.5.3
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final BoundedCache<StatementCacheKey, String> rewriteCache = new BoundedCache<>(1024);
+
+    @Override
+    public boolean willIntercept(MappedStatement ms) {
+        return !InterceptorIgnoreHelper.willIgnoreDataPermission(ms.getId());
+    }
 
     @Override
     public void beforeQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler, BoundSql boundSql) throws SQLException {
         if (InterceptorIgnoreHelper.willIgnoreDataPermission(ms.getId())) return;
         PluginUtils.MPBoundSql mpBs = PluginUtils.mpBoundSql(boundSql);
-        mpBs.sql(parserSingle(mpBs.sql(), ms.getId()));
+        String sql = mpBs.sql();
+        Object scope = dataPermissionHandler.getPermissionScope(ms.getId());
+        JsqlParserContext context = JsqlParserContext.current();
+        if (scope == null || (context != null && context.isDirty())) {
+            mpBs.sql(parserSingle(sql, ms.getId()));
+            return;
+        }
+        StatementCacheKey key = StatementCacheKey.of(ms.getId(), sql, scope);
+        String rewritten = rewriteCache.get(key);
+        if (rewritten == null) {
+            rewritten = parserSingleDirect(sql, ms.getId());
+            rewriteCache.put(key, rewritten);
+        }
+        mpBs.sql(rewritten);
+    }
+
+    @Override
+    public boolean willShareStatement() {
+        return true;
     }
 
     @Override
@@ -78,6 +113,7 @@ public class DataPermissionInterceptor extends JsqlParserSupport implements Inne
         Expression sqlSegment = dataPermissionHandler.getSqlSegment(plainSelect.getWhere(), whereSegment);
         if (null != sqlSegment) {
             plainSelect.setWhere(sqlSegment);
+            markStatementChanged();
         }
     }
 }
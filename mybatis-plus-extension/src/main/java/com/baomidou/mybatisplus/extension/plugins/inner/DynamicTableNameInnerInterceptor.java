@@ -19,7 +19,9 @@ import com.baomidou.mybatisplus.core.plugins.InterceptorIgnoreHelper;
 import com.baomidou.mybatisplus.core.toolkit.ExceptionUtils;
 import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
 import com.baomidou.mybatisplus.core.toolkit.TableNameParser;
+import com.baomidou.mybatisplus.extension.parser.cache.BoundedCache;
 import com.baomidou.mybatisplus.extension.plugins.handler.TableNameHandler;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -35,6 +37,7 @@ import org.apache.ibatis.session.RowBounds;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -60,6 +63,20 @@ public class DynamicTableNameInnerInterceptor implements InnerInterceptor {
      */
     private TableNameHandler tableNameHandler;
 
+    /**
+     * 表名替换计划缓存, key 为原始 SQL
+     *
+     * @since 3.5.3
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final BoundedCache<String, RewritePlan> rewritePlanCache = new BoundedCache<>(1024);
+
+    @Override
+    public boolean willIntercept(MappedStatement ms) {
+        return !InterceptorIgnoreHelper.willIgnoreDynamicTableName(ms.getId());
+    }
+
     @Override
     public void beforeQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler, BoundSql boundSql) throws SQLException {
         PluginUtils.MPBoundSql mpBs = PluginUtils.mpBoundSql(boundSql);
@@ -85,25 +102,77 @@ public class DynamicTableNameInnerInterceptor implements InnerInterceptor {
 
     protected String changeTable(String sql) {
         ExceptionUtils.throwMpe(null == tableNameHandler, "Please implement TableNameHandler processing logic");
-        TableNameParser parser = new TableNameParser(sql);
-        List<TableNameParser.SqlToken> names = new ArrayList<>();
-        parser.accept(names::add);
-        StringBuilder builder = new StringBuilder();
-        int last = 0;
-        for (TableNameParser.SqlToken name : names) {
-            int start = name.getStart();
-            if (start != last) {
-                builder.append(sql, last, start);
-                builder.append(tableNameHandler.dynamicTableName(sql, name.getValue()));
-            }
-            last = name.getEnd();
-        }
-        if (last != sql.length()) {
-            builder.append(sql.substring(last));
+        RewritePlan plan = rewritePlanCache.computeIfAbsent(sql, RewritePlan::compile);
+        StringBuilder builder = new StringBuilder(sql.length() + (plan.tableNames.length << 3));
+        for (int i = 0; i < plan.tableNames.length; i++) {
+            builder.append(sql, plan.starts[i], plan.ends[i]);
+            builder.append(tableNameHandler.dynamicTableName(sql, plan.tableNames[i]));
         }
+        builder.append(sql, plan.tailStart, sql.length());
         if (hook != null) {
             hook.run();
         }
         return builder.toString();
     }
+
+    /**
+     * 清空表名替换计划缓存
+     *
+     * @since 3.5.3
+     */
+    public void clearRewritePlanCache() {
+        rewritePlanCache.clear();
+    }
+
+    /**
+     * 表名替换计划
+     * <p>
+     * 记录 SQL 中表名之间的原始片段位置, 执行时只需按顺序拼接片段与动态表名
+     */
+    private static class RewritePlan {
+        /**
+         * 第 i 个表名前的原始片段起止位置
+         */
+        private final int[] starts;
+        private final int[] ends;
+        private final String[] tableNames;
+        /**
+         * 最后一个表名后的片段起始位置
+         */
+        private final int tailStart;
+
+        private RewritePlan(int[] starts, int[] ends, String[] tableNames, int tailStart) {
+            this.starts = starts;
+            this.ends = ends;
+            this.tableNames = tableNames;
+            this.tailStart = tailStart;
+        }
+
+        static RewritePlan compile(String sql) {
+            List<TableNameParser.SqlToken> names = new ArrayList<>();
+            new TableNameParser(sql).accept(names::add);
+            int size = names.size();
+            int[] starts = new int[size];
+            int[] ends = new int[size];
+            String[] tableNames = new String[size];
+            int count = 0;
+            int last = 0;
+            for (TableNameParser.SqlToken name : names) {
+                int start = name.getStart();
+                if (start != last) {
+                    starts[count] = last;
+                    ends[count] = start;
+                    tableNames[count] = name.getValue();
+                    count++;
+                }
+                last = name.getEnd();
+            }
+            if (count != size) {
+                starts = Arrays.copyOf(starts, count);
+                ends = Arrays.copyOf(ends, count);
+                tableNames = Arrays.copyOf(tableNames, count);
+            }
+            return new RewritePlan(starts, ends, tableNames, last);
+        }
+    }
 }
@@ -18,10 +18,15 @@ package com.baomidou.mybatisplus.extension.plugins.inner;
 import com.baomidou.mybatisplus.core.exceptions.MybatisPlusException;
 import com.baomidou.mybatisplus.core.plugins.InterceptorIgnoreHelper;
 import com.baomidou.mybatisplus.core.toolkit.Assert;
-import com.baomidou.mybatisplus.core.toolkit.EncryptUtils;
+import com.baomidou.mybatisplus.core.toolkit.ExceptionUtils;
 import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import com.baomidou.mybatisplus.core.toolkit.StringPool;
 import com.baomidou.mybatisplus.core.toolkit.StringUtils;
+import com.baomidou.mybatisplus.core.toolkit.SystemClock;
 import com.baomidou.mybatisplus.extension.parser.JsqlParserSupport;
+import com.baomidou.mybatisplus.extension.parser.cache.BoundedCache;
+import com.baomidou.mybatisplus.extension.parser.cache.StatementCacheKey;
+import com.baomidou.mybatisplus.extension.toolkit.JdbcUtils;
 import lombok.Data;
 import net.sf.jsqlparser.expression.BinaryExpression;
 import net.sf.jsqlparser.expression.Expression;
@@ -40,14 +45,20 @@ import net.sf.jsqlparser.statement.update.Update;
 import org.apache.ibatis.executor.statement.StatementHandler;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.Environment;
 import org.apache.ibatis.mapping.SqlCommandType;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * 由于开发人员水平参差不齐，即使订了开发规范很多人也不遵守
@@ -76,16 +87,49 @@ import java.util.concurrent.ConcurrentHashMap;
  * @author willenfoo
  * @since 3.4.0
  */
-public class IllegalSQLInnerInterceptor extends JsqlParserSupport implements InnerInterceptor {
+public class IllegalSQLInnerInterceptor extends JsqlParserSupport implements InnerInterceptor, AutoCloseable {
 
     /**
-     * 缓存验证结果，提高性能
+     * 后台刷新索引信息的线程, 首次后台刷新时创建, {@link #close()} 后不再后台刷新
      */
-    private static final Set<String> cacheValidResult = new HashSet<>();
+    private ExecutorService refreshExecutor;
+    private boolean closed;
+
+    /**
+     * 缓存验证通过的结果, key 为 MappedStatement ID + SQL
+     */
+    private final BoundedCache<StatementCacheKey, Boolean> validResultCache;
     /**
      * 缓存表的索引信息
      */
-    private static final Map<String, List<IndexInfo>> indexInfoMap = new ConcurrentHashMap<>();
+    private final Map<String, IndexInfoEntry> indexInfoMap = new ConcurrentHashMap<>();
+    /**
+     * DataSource - 连接地址, 同一个 DataSource 只读取一次连接地址, 弱引用 DataSource 避免阻止其回收
+     */
+    private final Map<DataSource, String> dataSourceUrlMap = Collections.synchronizedMap(new WeakHashMap<>());
+    /**
+     * 索引信息过期时间(毫秒), 过期后先返回旧值并在后台刷新
+     *
+     * @since 3.5.3
+     */
+    private long indexInfoTtl = TimeUnit.MINUTES.toMillis(10);
+
+    public IllegalSQLInnerInterceptor() {
+        this(1024);
+    }
+
+    /**
+     * @param validResultCacheSize 验证结果缓存容量
+     * @since 3.5.3
+     */
+    public IllegalSQLInnerInterceptor(int validResultCacheSize) {
+        this.validResultCache = new BoundedCache<>(validResultCacheSize);
+    }
+
+    @Override
+    public boolean willIntercept(MappedStatement ms) {
+        return ms.getSqlCommandType() != SqlCommandType.INSERT && !InterceptorIgnoreHelper.willIgnoreIllegalSql(ms.getId());
+    }
 
     @Override
     public void beforePrepare(StatementHandler sh, Connection connection, Integer transactionTimeout) {
@@ -95,15 +139,20 @@ public class IllegalSQLInnerInterceptor extends JsqlParserSupport implements Inn
         if (sct == SqlCommandType.INSERT || InterceptorIgnoreHelper.willIgnoreIllegalSql(ms.getId())) return;
         BoundSql boundSql = mpStatementHandler.boundSql();
         String originalSql = boundSql.getSql();
-        logger.debug("检查SQL是否合规，SQL:" + originalSql);
-        String md5Base64 = EncryptUtils.md5Base64(originalSql);
-        if (cacheValidResult.contains(md5Base64)) {
-            logger.debug("该SQL已验证，无需再次验证，，SQL:" + originalSql);
+        StatementCacheKey validKey = StatementCacheKey.of(ms.getId(), originalSql);
+        if (validResultCache.get(validKey) != null) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("该SQL已验证，无需再次验证，SQL:" + originalSql);
+            }
             return;
         }
-        parserSingle(originalSql, connection);
+        if (logger.isDebugEnabled()) {
+            logger.debug("检查SQL是否合规，SQL:" + originalSql);
+        }
+        Environment environment = ms.getConfiguration().getEnvironment();
+        parserSingle(originalSql, new ValidContext(connection, environment == null ? null : environment.getDataSource()));
         //缓存验证结果
-        cacheValidResult.add(md5Base64);
+        validResultCache.put(validKey, Boolean.TRUE);
     }
 
     @Override
@@ -113,8 +162,8 @@ public class IllegalSQLInnerInterceptor extends JsqlParserSupport implements Inn
         Assert.notNull(where, "非法SQL，必须要有where条件");
         Table table = (Table) plainSelect.getFromItem();
         List<Join> joins = plainSelect.getJoins();
-        validWhere(where, table, (Connection) obj);
-        validJoins(joins, table, (Connection) obj);
+        validWhere(where, table, ValidContext.of(obj));
+        validJoins(joins, table, ValidContext.of(obj));
     }
 
     @Override
@@ -123,8 +172,8 @@ public class IllegalSQLInnerInterceptor extends JsqlParserSupport implements Inn
         Assert.notNull(where, "非法SQL，必须要有where条件");
         Table table = update.getTable();
         List<Join> joins = update.getJoins();
-        validWhere(where, table, (Connection) obj);
-        validJoins(joins, table, (Connection) obj);
+        validWhere(where, table, ValidContext.of(obj));
+        validJoins(joins, table, ValidContext.of(obj));
     }
 
     @Override
@@ -133,8 +182,8 @@ public class IllegalSQLInnerInterceptor extends JsqlParserSupport implements Inn
         Assert.notNull(where, "非法SQL，必须要有where条件");
         Table table = delete.getTable();
         List<Join> joins = delete.getJoins();
-        validWhere(where, table, (Connection) obj);
-        validJoins(joins, table, (Connection) obj);
+        validWhere(where, table, ValidContext.of(obj));
+        validJoins(joins, table, ValidContext.of(obj));
     }
 
     /**
@@ -177,18 +226,18 @@ public class IllegalSQLInnerInterceptor extends JsqlParserSupport implements Inn
     /**
      * 如果SQL用了 left Join，验证是否有or、not等等，并且验证是否使用了索引
      *
-     * @param joins      ignore
-     * @param table      ignore
-     * @param connection ignore
+     * @param joins   ignore
+     * @param table   ignore
+     * @param context ignore
      */
-    private void validJoins(List<Join> joins, Table table, Connection connection) {
+    private void validJoins(List<Join> joins, Table table, ValidContext context) {
         //允许执行join，验证jion是否使用索引等等
         if (joins != null) {
             for (Join join : joins) {
                 Table rightTable = (Table) join.getRightItem();
                 Collection<Expression> onExpressions = join.getOnExpressions();
                 for (Expression expression : onExpressions) {
-                    validWhere(expression, table, rightTable, connection);
+                    validWhere(expression, table, rightTable, context);
                 }
             }
         }
@@ -199,9 +248,9 @@ public class IllegalSQLInnerInterceptor extends JsqlParserSupport implements Inn
      *
      * @param table      ignore
      * @param columnName ignore
-     * @param connection ignore
+     * @param context    ignore
      */
-    private void validUseIndex(Table table, String columnName, Connection connection) {
+    private void validUseIndex(Table table, String columnName, ValidContext context) {
         //是否使用索引
         boolean useIndexFlag = false;
 
@@ -216,7 +265,7 @@ public class IllegalSQLInnerInterceptor extends JsqlParserSupport implements Inn
             dbName = tableArray[0];
             tableName = tableArray[1];
         }
-        List<IndexInfo> indexInfos = getIndexInfos(dbName, tableName, connection);
+        List<IndexInfo> indexInfos = getIndexInfos(dbName, tableName, context);
         for (IndexInfo indexInfo : indexInfos) {
             if (null != columnName && columnName.equalsIgnoreCase(indexInfo.getColumnName())) {
                 useIndexFlag = true;
@@ -233,10 +282,10 @@ public class IllegalSQLInnerInterceptor extends JsqlParserSupport implements Inn
      *
      * @param expression ignore
      * @param table      ignore
-     * @param connection ignore
+     * @param context    ignore
      */
-    private void validWhere(Expression expression, Table table, Connection connection) {
-        validWhere(expression, table, null, connection);
+    private void validWhere(Expression expression, Table table, ValidContext context) {
+        validWhere(expression, table, null, context);
     }
 
     /**
@@ -245,9 +294,9 @@ public class IllegalSQLInnerInterceptor extends JsqlParserSupport implements Inn
      * @param expression ignore
      * @param table      ignore
      * @param joinTable  ignore
-     * @param connection ignore
+     * @param context    ignore
      */
-    private void validWhere(Expression expression, Table table, Table joinTable, Connection connection) {
+    private void validWhere(Expression expression, Table table, Table joinTable, ValidContext context) {
         validExpression(expression);
         if (expression instanceof BinaryExpression) {
             //获得左边表达式
@@ -259,20 +308,20 @@ public class IllegalSQLInnerInterceptor extends JsqlParserSupport implements Inn
                 Expression rightExpression = ((BinaryExpression) expression).getRightExpression();
                 if (joinTable != null && rightExpression instanceof Column) {
                     if (Objects.equals(((Column) rightExpression).getTable().getName(), table.getAlias().getName())) {
-                        validUseIndex(table, ((Column) rightExpression).getColumnName(), connection);
-                        validUseIndex(joinTable, ((Column) leftExpression).getColumnName(), connection);
+                        validUseIndex(table, ((Column) rightExpression).getColumnName(), context);
+                        validUseIndex(joinTable, ((Column) leftExpression).getColumnName(), context);
                     } else {
-                        validUseIndex(joinTable, ((Column) rightExpression).getColumnName(), connection);
-                        validUseIndex(table, ((Column) leftExpression).getColumnName(), connection);
+                        validUseIndex(joinTable, ((Column) rightExpression).getColumnName(), context);
+                        validUseIndex(table, ((Column) leftExpression).getColumnName(), context);
                     }
                 } else {
                     //获得列名
-                    validUseIndex(table, ((Column) leftExpression).getColumnName(), connection);
+                    validUseIndex(table, ((Column) leftExpression).getColumnName(), context);
                 }
             }
             //如果BinaryExpression，进行迭代
             else if (leftExpression instanceof BinaryExpression) {
-                validWhere(leftExpression, table, joinTable, connection);
+                validWhere(leftExpression, table, joinTable, context);
             }
 
             //获得右边表达式，并分解
@@ -290,7 +339,7 @@ public class IllegalSQLInnerInterceptor extends JsqlParserSupport implements Inn
      * @return ignore
      */
     public List<IndexInfo> getIndexInfos(String dbName, String tableName, Connection conn) {
-        return getIndexInfos(null, dbName, tableName, conn);
+        return getIndexInfos(dbName, tableName, new ValidContext(conn, null));
     }
 
     /**
@@ -303,18 +352,128 @@ public class IllegalSQLInnerInterceptor extends JsqlParserSupport implements Inn
      * @return ignore
      */
     public List<IndexInfo> getIndexInfos(String key, String dbName, String tableName, Connection conn) {
-        List<IndexInfo> indexInfos = null;
-        if (StringUtils.isNotBlank(key)) {
-            indexInfos = indexInfoMap.get(key);
+        if (StringUtils.isBlank(key)) {
+            return loadIndexInfos(dbName, tableName, conn);
         }
-        if (indexInfos == null || indexInfos.isEmpty()) {
-            ResultSet rs;
-            try {
-                DatabaseMetaData metadata = conn.getMetaData();
-                String catalog = StringUtils.isBlank(dbName) ? conn.getCatalog() : dbName;
-                String schema = StringUtils.isBlank(dbName) ? conn.getSchema() : dbName;
-                rs = metadata.getIndexInfo(catalog, schema, tableName, false, true);
-                indexInfos = new ArrayList<>();
+        return getIndexInfos(key, dbName, tableName, new ValidContext(conn, null));
+    }
+
+    private List<IndexInfo> getIndexInfos(String dbName, String tableName, ValidContext context) {
+        String key = getUrl(context, tableName) + StringPool.PIPE + dbName + StringPool.PIPE + tableName;
+        return getIndexInfos(key, dbName, tableName, context);
+    }
+
+    /**
+     * 获取连接地址, 非路由数据源按 DataSource 缓存
+     */
+    private String getUrl(ValidContext context, String tableName) {
+        DataSource dataSource = context.dataSource;
+        if (dataSource == null || JdbcUtils.isRoutingDataSource(dataSource)) {
+            return getUrl(context.connection, tableName);
+        }
+        String url = dataSourceUrlMap.get(dataSource);
+        if (url == null) {
+            url = getUrl(context.connection, tableName);
+            dataSourceUrlMap.put(dataSource, url);
+        }
+        return url;
+    }
+
+    private String getUrl(Connection connection, String tableName) {
+        try {
+            return connection.getMetaData().getURL();
+        } catch (SQLException e) {
+            throw ExceptionUtils.mpe("Failed to get index info of table: %s", e, tableName);
+        }
+    }
+
+    /**
+     * 从缓存中获取索引信息
+     * <p>
+     * 首次加载使用当前连接同步查询; 过期后先返回旧值, 有 DataSource 且未关闭时在后台使用新连接刷新, 否则同步刷新
+     * <p>
+     * 路由数据源在后台线程中获取的连接不一定属于当前数据库, 总是使用当前连接同步刷新
+     */
+    private List<IndexInfo> getIndexInfos(String key, String dbName, String tableName, ValidContext context) {
+        IndexInfoEntry entry = indexInfoMap.get(key);
+        if (entry == null) {
+            entry = new IndexInfoEntry(loadIndexInfos(dbName, tableName, context.connection));
+            indexInfoMap.put(key, entry);
+            return entry.indexInfos;
+        }
+        if (SystemClock.now() - entry.loadTime > indexInfoTtl) {
+            DataSource dataSource = context.dataSource;
+            if (dataSource == null || JdbcUtils.isRoutingDataSource(dataSource)
+                || !refreshAsync(key, dbName, tableName, dataSource, entry)) {
+                entry = new IndexInfoEntry(loadIndexInfos(dbName, tableName, context.connection));
+                indexInfoMap.put(key, entry);
+            }
+        }
+        return entry.indexInfos;
+    }
+
+    /**
+     * 在后台使用新连接刷新索引信息
+     *
+     * @return 已在后台刷新时返回 true, 已关闭时返回 false
+     */
+    private boolean refreshAsync(String key, String dbName, String tableName, DataSource dataSource, IndexInfoEntry current) {
+        if (!current.refreshing.compareAndSet(false, true)) {
+            return true;
+        }
+        synchronized (this) {
+            if (closed) {
+                current.refreshing.set(false);
+                return false;
+            }
+            if (refreshExecutor == null) {
+                refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "IllegalSQL IndexInfo Refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            refreshExecutor.execute(() -> {
+                try (Connection conn = dataSource.getConnection()) {
+                    indexInfoMap.put(key, new IndexInfoEntry(loadIndexInfos(dbName, tableName, conn)));
+                } catch (Exception e) {
+                    logger.warn("refresh index info of table: " + tableName + " has error, exception:\n" + e);
+                    current.refreshing.set(false);
+                }
+            });
+        }
+        return true;
+    }
+
+    /**
+     * 关闭后台刷新索引信息的线程, 之后过期的索引信息同步刷新
+     *
+     * @since 3.5.3
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+            refreshExecutor = null;
+        }
+    }
+
+    /**
+     * 从数据库元数据查询表的索引信息
+     *
+     * @param dbName    ignore
+     * @param tableName ignore
+     * @param conn      ignore
+     * @return ignore
+     */
+    protected List<IndexInfo> loadIndexInfos(String dbName, String tableName, Connection conn) {
+        try {
+            DatabaseMetaData metadata = conn.getMetaData();
+            String catalog = StringUtils.isBlank(dbName) ? conn.getCatalog() : dbName;
+            String schema = StringUtils.isBlank(dbName) ? conn.getSchema() : dbName;
+            List<IndexInfo> indexInfos = new ArrayList<>();
+            try (ResultSet rs = metadata.getIndexInfo(catalog, schema, tableName, false, true)) {
                 while (rs.next()) {
                     //索引中的列序列号等于1，才有效
                     if (Objects.equals(rs.getString(8), "1")) {
@@ -325,14 +484,38 @@ public class IllegalSQLInnerInterceptor extends JsqlParserSupport implements Inn
                         indexInfos.add(indexInfo);
                     }
                 }
-                if (StringUtils.isNotBlank(key)) {
-                    indexInfoMap.put(key, indexInfos);
-                }
-            } catch (SQLException e) {
-                e.printStackTrace();
             }
+            return indexInfos;
+        } catch (SQLException e) {
+            throw ExceptionUtils.mpe("Failed to get index info of table: %s", e, tableName);
         }
-        return indexInfos;
+    }
+
+    /**
+     * 清空验证结果与索引信息缓存
+     *
+     * @since 3.5.3
+     */
+    public void clearCache() {
+        validResultCache.clear();
+        indexInfoMap.clear();
+        dataSourceUrlMap.clear();
+    }
+
+    public BoundedCache<StatementCacheKey, Boolean> getValidResultCache() {
+        return validResultCache;
+    }
+
+    public long getIndexInfoTtl() {
+        return indexInfoTtl;
+    }
+
+    /**
+     * @param indexInfoTtl 索引信息过期时间(毫秒)
+     * @since 3.5.3
+     */
+    public void setIndexInfoTtl(long indexInfoTtl) {
+        this.indexInfoTtl = indexInfoTtl;
     }
 
     /**
@@ -347,4 +530,43 @@ public class IllegalSQLInnerInterceptor extends JsqlParserSupport implements Inn
 
         private String columnName;
     }
+
+    /**
+     * 缓存的索引信息
+     */
+    private static class IndexInfoEntry {
+        private final List<IndexInfo> indexInfos;
+        private final long loadTime = SystemClock.now();
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        IndexInfoEntry(List<IndexInfo> indexInfos) {
+            this.indexInfos = indexInfos;
+        }
+    }
+
+    /**
+     * 验证时所需的连接信息
+     */
+    private static class ValidContext {
+        /**
+         * 当前连接, 用于同步查询索引信息
+         */
+        private final Connection connection;
+        /**
+         * 数据源, 用于后台刷新索引信息, 可能为 null
+         */
+        private final DataSource dataSource;
+
+        ValidContext(Connection connection, DataSource dataSource) {
+            this.connection = connection;
+            this.dataSource = dataSource;
+        }
+
+        static ValidContext of(Object obj) {
+            if (obj instanceof ValidContext) {
+                return (ValidContext) obj;
+            }
+            return new ValidContext((Connection) obj, null);
+        }
+    }
 }
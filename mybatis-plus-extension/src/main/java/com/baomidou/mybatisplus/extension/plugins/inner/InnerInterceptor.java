@@ -37,6 +37,20 @@ import java.util.Properties;
 @SuppressWarnings({"rawtypes"})
 public interface InnerInterceptor {
 
+    /**
+     * 判断是否需要处理该 {@link MappedStatement}
+     * <p>
+     * 结果会被 MybatisPlusInterceptor 按 MappedStatement ID 缓存,
+     * 只能依赖 MappedStatement 的固定信息(如 ID, SqlCommandType, InterceptorIgnore 注解), 返回 false 时该拦截器的所有方法都不会被调用
+     *
+     * @param ms MappedStatement
+     * @return 是否处理
+     * @since 3.5.3
+     */
+    default boolean willIntercept(MappedStatement ms) {
+        return true;
+    }
+
     /**
      * 判断是否执行 {@link Executor#query(MappedStatement, Object, RowBounds, ResultHandler, CacheKey, BoundSql)}
      * <p>
@@ -70,6 +84,40 @@ public interface InnerInterceptor {
         // do nothing
     }
 
+    /**
+     * {@link Executor#query(MappedStatement, Object, RowBounds, ResultHandler, CacheKey, BoundSql)} 操作后置处理
+     * <p>
+     * 只在查询正常完成后调用, 参数与 {@link #beforeQuery} 相同
+     *
+     * @param executor      Executor(可能是代理对象)
+     * @param ms            MappedStatement
+     * @param parameter     parameter
+     * @param rowBounds     rowBounds
+     * @param resultHandler resultHandler
+     * @param boundSql      boundSql
+     * @since 3.5.3
+     */
+    default void afterQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler, BoundSql boundSql) throws SQLException {
+        // do nothing
+    }
+
+    /**
+     * 查询未正常完成时调用: 查询抛出异常, 或被某个拦截器的 {@link #willDoQuery} 跳过
+     * <p>
+     * 用于释放 willDoQuery 与 beforeQuery 中申请的资源, 本拦截器的 beforeQuery 可能并未执行
+     *
+     * @param executor      Executor(可能是代理对象)
+     * @param ms            MappedStatement
+     * @param parameter     parameter
+     * @param rowBounds     rowBounds
+     * @param resultHandler resultHandler
+     * @param boundSql      boundSql
+     * @since 3.5.3
+     */
+    default void afterQueryAborted(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler, BoundSql boundSql) {
+        // do nothing
+    }
+
     /**
      * 判断是否执行 {@link Executor#update(MappedStatement, Object)}
      * <p>
@@ -96,6 +144,18 @@ public interface InnerInterceptor {
         // do nothing
     }
 
+    /**
+     * {@link Executor#update(MappedStatement, Object)} 执行成功后的处理
+     *
+     * @param executor  Executor(可能是代理对象)
+     * @param ms        MappedStatement
+     * @param parameter parameter
+     * @since 3.5.3
+     */
+    default void afterUpdate(Executor executor, MappedStatement ms, Object parameter) throws SQLException {
+        // do nothing
+    }
+
     /**
      * {@link StatementHandler#prepare(Connection, Integer)} 操作前置处理
      * <p>
@@ -99,6 +99,11 @@ public class OptimisticLockerInnerInterceptor implements InnerInterceptor {
         this.wrapperMode = wrapperMode;
     }
 
+    @Override
+    public boolean willIntercept(MappedStatement ms) {
+        return SqlCommandType.UPDATE == ms.getSqlCommandType();
+    }
+
     @Override
     public void beforeUpdate(Executor executor, MappedStatement ms, Object parameter) throws SQLException {
         if (SqlCommandType.UPDATE != ms.getSqlCommandType()) {
@@ -16,39 +16,72 @@
 package com.baomidou.mybatisplus.extension.plugins.inner;
 
 import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.enums.SqlMethod;
+import com.baomidou.mybatisplus.core.metadata.CountStrategy;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.core.metadata.OrderItem;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
 import com.baomidou.mybatisplus.core.toolkit.*;
+import com.baomidou.mybatisplus.extension.parser.cache.BoundedCache;
+import com.baomidou.mybatisplus.extension.parser.cache.StatementCacheKey;
 import com.baomidou.mybatisplus.extension.plugins.pagination.DialectFactory;
 import com.baomidou.mybatisplus.extension.plugins.pagination.DialectModel;
+import com.baomidou.mybatisplus.extension.plugins.pagination.KeysetPage;
+import com.baomidou.mybatisplus.extension.plugins.pagination.PageTotalCache;
 import com.baomidou.mybatisplus.extension.plugins.pagination.dialects.IDialect;
+import com.baomidou.mybatisplus.extension.plugins.pagination.estimators.ICountEstimator;
+import com.baomidou.mybatisplus.extension.plugins.pagination.estimators.MySqlCountEstimator;
+import com.baomidou.mybatisplus.extension.plugins.pagination.estimators.PostgreCountEstimator;
 import com.baomidou.mybatisplus.extension.toolkit.JdbcUtils;
+import com.baomidou.mybatisplus.extension.toolkit.NamedParameterUtils;
 import com.baomidou.mybatisplus.extension.toolkit.PropertyMapper;
 import com.baomidou.mybatisplus.extension.toolkit.SqlParserUtils;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import net.sf.jsqlparser.JSQLParserException;
 import net.sf.jsqlparser.expression.Alias;
 import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.JdbcNamedParameter;
+import net.sf.jsqlparser.expression.Parenthesis;
+import net.sf.jsqlparser.expression.ValueListExpression;
+import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
+import net.sf.jsqlparser.expression.operators.conditional.OrExpression;
+import net.sf.jsqlparser.expression.operators.relational.EqualsTo;
+import net.sf.jsqlparser.expression.operators.relational.ExistsExpression;
+import net.sf.jsqlparser.expression.operators.relational.ExpressionList;
+import net.sf.jsqlparser.expression.operators.relational.GreaterThan;
+import net.sf.jsqlparser.expression.operators.relational.MinorThan;
 import net.sf.jsqlparser.parser.CCJSqlParserUtil;
 import net.sf.jsqlparser.schema.Column;
 import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.Statement;
 import net.sf.jsqlparser.statement.select.*;
+import org.apache.ibatis.builder.StaticSqlSource;
 import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.SimpleExecutor;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
 import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.Environment;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.scripting.defaults.RawSqlSource;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.transaction.Transaction;
 
 import java.sql.SQLException;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.*;
 import java.util.stream.Collectors;
 
 /**
@@ -63,13 +96,41 @@ import java.util.stream.Collectors;
 @NoArgsConstructor
 @SuppressWarnings({"rawtypes"})
 public class PaginationInnerInterceptor implements InnerInterceptor {
+
+    /**
+     * keyset 起点值的命名参数前缀
+     */
+    private static final String KEYSET_PARAM_PREFIX = "mybatis_plus_keyset_";
+    /**
+     * 支持行值比较的数据库
+     */
+    private static final Set<DbType> ROW_VALUE_DB_TYPES = EnumSet.of(DbType.MYSQL, DbType.MARIADB, DbType.POSTGRE_SQL,
+        DbType.H2, DbType.HSQL, DbType.SQLITE, DbType.DB2);
     /**
      * 获取jsqlparser中count的SelectItem
      */
     protected static final List<SelectItem> COUNT_SELECT_ITEM = Collections.singletonList(
         new SelectExpressionItem(new Column().withColumnName("COUNT(*)")).withAlias(new Alias("total"))
     );
+    /**
+     * 延迟关联子查询中主键的别名
+     */
+    private static final String DEFERRED_JOIN_KEY = "mp_deferred_key";
+    /**
+     * 单行表, 查询这些表且条件只有 EXISTS 时最多只有一行
+     */
+    private static final Set<String> DUAL_TABLES = new HashSet<>(Arrays.asList("DUAL", "SYSIBM.SYSDUMMY1", "RDB$DATABASE"));
+    private static final ICountEstimator MYSQL_ESTIMATOR = new MySqlCountEstimator();
+    private static final ICountEstimator POSTGRE_ESTIMATOR = new PostgreCountEstimator();
+    /**
+     * 异步 count 结果在 BoundSql 附加参数中的名称
+     */
+    private static final String ASYNC_COUNT_PARAM_NAME = "mybatis_plus_async_count";
     protected static final Map<String, MappedStatement> countMsCache = new ConcurrentHashMap<>();
+    /**
+     * 子类是否重写了 {@link #findIDialect(Executor)}
+     */
+    private static final Map<Class<?>, Boolean> FIND_DIALECT_OVERRIDDEN = new ConcurrentHashMap<>();
     protected final Log logger = LogFactory.getLog(this.getClass());
 
 
@@ -84,13 +145,13 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
     /**
      * 数据库类型
      * <p>
-     * 查看 {@link #findIDialect(Executor)} 逻辑
+     * 查看 {@link #findIDialect(Executor, Configuration)} 逻辑
      */
     private DbType dbType;
     /**
      * 方言实现类
      * <p>
-     * 查看 {@link #findIDialect(Executor)} 逻辑
+     * 查看 {@link #findIDialect(Executor, Configuration)} 逻辑
      */
     private IDialect dialect;
     /**
@@ -100,6 +161,96 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
      * @since 3.4.2
      */
     protected boolean optimizeJoin = true;
+    /**
+     * 执行异步 count 的线程池, 由调用方创建并负责关闭, 为空时不异步执行
+     * <p>
+     * 只对 {@link IPage#asyncCount()} 为 true 的分页生效: count 在另一个连接中与分页查询并行执行,
+     * 因此 count 为 0 时分页查询也会执行, count 看不到当前事务中未提交的数据, 且每次分页同时占用两个连接,
+     * 连接池需要留有余量; 开启 {@link #overflow} 或线程池拒绝执行时仍然同步执行
+     *
+     * @since 3.5.3
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private java.util.concurrent.Executor asyncCountExecutor;
+    /**
+     * {@link CountStrategy#CAPPED} 时默认最多数到的条数
+     *
+     * @since 3.5.3
+     */
+    protected long countCap = 10000;
+    /**
+     * 总数估算类, 为空时根据数据库类型获取
+     *
+     * @since 3.5.3
+     */
+    private ICountEstimator countEstimator;
+    /**
+     * 偏移量达到该值时使用延迟关联, 小于等于 0 时不使用, 目前只支持 MYSQL
+     * <p>
+     * 实体表的单表查询改写为先在子查询中按条件与排序取出当前页的主键, 再关联回原表取整行,
+     * 子查询可以只使用覆盖索引, 避免深分页时读取并丢弃大量整行数据
+     *
+     * @since 3.5.3
+     */
+    protected long deferredJoinOffset;
+    /**
+     * 没有分页参数且 {@link RowBounds} 从首行开始截取时, 是否对所有查询使用方言在数据库端限制返回行数
+     * <p>
+     * mybatis 默认只在读取结果集时截取, 数据库仍会返回全部匹配行;
+     * 注入的 {@code selectExists} 与 {@code selectList} (即 {@code BaseMapper#exists}, {@code BaseMapper#selectOne}) 始终处理, 不受该配置影响
+     *
+     * @since 3.5.3
+     */
+    protected boolean rowBoundsLimit;
+    /**
+     * 延迟关联缓存, key 为已拼接 orderBy 的 SQL
+     */
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final BoundedCache<String, DeferredJoin> deferredJoinCache = new BoundedCache<>(1024);
+    /**
+     * SQL 是否可以追加行数限制的缓存, key 为原始 SQL
+     */
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final BoundedCache<String, Boolean> rowBoundsLimitCache = new BoundedCache<>(1024);
+    /**
+     * 分页总数缓存, 为空时不缓存
+     * <p>
+     * 同一查询翻页时不再重复 count, 写操作会使涉及的表的缓存失效
+     *
+     * @since 3.5.3
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private PageTotalCache totalCache;
+    /**
+     * 静态 SQL 的写操作涉及的表名缓存, key 为 MappedStatement id
+     *
+     * @since 3.5.3
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final BoundedCache<String, Collection<String>> updateTablesCache = new BoundedCache<>(1024);
+    /**
+     * 优化后的 countSql 缓存, key 为 SQL + 是否优化 join
+     *
+     * @since 3.5.3
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final BoundedCache<StatementCacheKey, String> countSqlCache = new BoundedCache<>(1024);
+    /**
+     * 拼接 orderBy 后的 SQL 缓存, key 为 SQL + 排序字段签名
+     *
+     * @since 3.5.3
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final BoundedCache<StatementCacheKey, String> orderBySqlCache = new BoundedCache<>(1024);
 
     public PaginationInnerInterceptor(DbType dbType) {
         this.dbType = dbType;
@@ -124,15 +275,267 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
         if (countMs != null) {
             countSql = countMs.getBoundSql(parameter);
         } else {
+            CountStrategy strategy = page.countStrategy();
+            if (strategy == CountStrategy.ESTIMATED) {
+                Long estimate = estimateCount(executor, ms, parameter, boundSql);
+                if (estimate != null) {
+                    // 估算值可能为 0 或偏小, 不据此跳过分页查询
+                    page.setTotal(estimate);
+                    page.setTotalStrategy(CountStrategy.ESTIMATED);
+                    return true;
+                }
+            }
             countMs = buildAutoCountMappedStatement(ms);
-            String countSqlStr = autoCountSql(page, boundSql.getSql());
-            PluginUtils.MPBoundSql mpBoundSql = PluginUtils.mpBoundSql(boundSql);
-            countSql = new BoundSql(countMs.getConfiguration(), countSqlStr, mpBoundSql.parameterMappings(), parameter);
-            PluginUtils.setAdditionalParameter(countSql, mpBoundSql.additionalParameters());
+            if (strategy == CountStrategy.CAPPED) {
+                countSql = buildCappedCountSql(executor, countMs.getConfiguration(), parameter, boundSql, page);
+            } else {
+                String countSqlStr = autoCountSql(page, boundSql.getSql());
+                PluginUtils.MPBoundSql mpBoundSql = PluginUtils.mpBoundSql(boundSql);
+                countSql = new BoundSql(countMs.getConfiguration(), countSqlStr, mpBoundSql.parameterMappings(), parameter);
+                PluginUtils.setAdditionalParameter(countSql, mpBoundSql.additionalParameters());
+            }
         }
 
         CacheKey cacheKey = executor.createCacheKey(countMs, parameter, rowBounds, countSql);
+        final PageTotalCache.Stamp stamp;
+        if (totalCache != null) {
+            Long total = totalCache.get(cacheKey);
+            if (total != null) {
+                setTotal(page, total);
+                return continuePage(page);
+            }
+            stamp = totalCache.stamp(countSql.getSql());
+        } else {
+            stamp = null;
+        }
+
+        if (page.asyncCount() && asyncCountExecutor != null && !overflow && countMs.getConfiguration().getEnvironment() != null) {
+            // count 在另一个连接中与分页查询并行执行, 在 afterQuery 中汇合, 查询未完成时在 afterQueryAborted 中取消
+            final MappedStatement finalCountMs = countMs;
+            final BoundSql finalCountSql = countSql;
+            FutureTask<Long> future = new FutureTask<>(() -> {
+                long total = queryCountAsync(finalCountMs, parameter, finalCountSql);
+                if (stamp != null) {
+                    totalCache.put(cacheKey, stamp, total);
+                }
+                return total;
+            });
+            try {
+                asyncCountExecutor.execute(future);
+                boundSql.setAdditionalParameter(ASYNC_COUNT_PARAM_NAME, future);
+                return true;
+            } catch (RejectedExecutionException e) {
+                logger.debug("async count was rejected, fallback to synchronous count");
+            }
+        }
+
         List<Object> result = executor.query(countMs, parameter, rowBounds, resultHandler, cacheKey, countSql);
+        long total = parseCount(result);
+        if (stamp != null) {
+            totalCache.put(cacheKey, stamp, total);
+        }
+        setTotal(page, total);
+        return continuePage(page);
+    }
+
+    /**
+     * 设置 count 得到的总数, 并记录总数的计算方式
+     *
+     * @param page  分页对象
+     * @param total 总数
+     */
+    private void setTotal(IPage<?> page, long total) {
+        page.setTotal(total);
+        boolean capped = page.countStrategy() == CountStrategy.CAPPED && total > getCountCap(page);
+        page.setTotalStrategy(capped ? CountStrategy.CAPPED : CountStrategy.EXACT);
+    }
+
+    private long getCountCap(IPage<?> page) {
+        return page.countCap() != null ? page.countCap() : countCap;
+    }
+
+    /**
+     * 构建 {@link CountStrategy#CAPPED} 的 countSql: 对最多 cap + 1 条数据的子查询进行 count
+     * <p>
+     * 与 {@link #autoCountSql(IPage, String)} 一样先去除 order by, 避免为了数行数而排序
+     *
+     * @param executor      Executor
+     * @param configuration Configuration
+     * @param parameter     parameter
+     * @param boundSql      查询的 BoundSql
+     * @param page          分页参数
+     * @return countSql
+     * @since 3.5.3
+     */
+    protected BoundSql buildCappedCountSql(Executor executor, Configuration configuration, Object parameter, BoundSql boundSql, IPage<?> page) {
+        String sql = page.optimizeCountSql() ? removeOrderBy(boundSql.getSql()) : boundSql.getSql();
+        DialectModel model = findIDialect(executor, configuration).buildPaginationSql(sql, 0, getCountCap(page) + 1);
+        PluginUtils.MPBoundSql mpBoundSql = PluginUtils.mpBoundSql(boundSql);
+        List<ParameterMapping> mappings = new ArrayList<>(mpBoundSql.parameterMappings());
+        Map<String, Object> additionalParameter = new HashMap<>(mpBoundSql.additionalParameters());
+        model.consumers(mappings, configuration, additionalParameter);
+        BoundSql countSql = new BoundSql(configuration, lowLevelCountSql(model.getDialectSql()), mappings, parameter);
+        PluginUtils.setAdditionalParameter(countSql, additionalParameter);
+        return countSql;
+    }
+
+    /**
+     * 使用数据库执行计划估算总数
+     *
+     * @param executor  Executor
+     * @param ms        MappedStatement
+     * @param parameter parameter
+     * @param boundSql  查询的 BoundSql
+     * @return 估算的总数, 数据库不支持或无法解析时返回 null
+     * @since 3.5.3
+     */
+    protected Long estimateCount(Executor executor, MappedStatement ms, Object parameter, BoundSql boundSql) throws SQLException {
+        ICountEstimator estimator = findCountEstimator(executor, ms.getConfiguration());
+        if (estimator == null) {
+            return null;
+        }
+        MappedStatement estimateMs = buildEstimateMappedStatement(ms);
+        PluginUtils.MPBoundSql mpBoundSql = PluginUtils.mpBoundSql(boundSql);
+        BoundSql estimateSql = new BoundSql(estimateMs.getConfiguration(), estimator.buildEstimateSql(boundSql.getSql()),
+            mpBoundSql.parameterMappings(), parameter);
+        PluginUtils.setAdditionalParameter(estimateSql, mpBoundSql.additionalParameters());
+        CacheKey cacheKey = executor.createCacheKey(estimateMs, parameter, RowBounds.DEFAULT, estimateSql);
+        List<Map<String, Object>> rows = executor.query(estimateMs, parameter, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER, cacheKey, estimateSql);
+        try {
+            return estimator.parseEstimate(rows);
+        } catch (Exception e) {
+            logger.warn("failed to parse the estimated count, fallback to exact count, exception:\n" + e);
+            return null;
+        }
+    }
+
+    /**
+     * 获取总数估算类的逻辑
+     *
+     * @param executor Executor
+     * @return 总数估算类, 数据库不支持时返回 null
+     * @since 3.5.3
+     */
+    protected ICountEstimator findCountEstimator(Executor executor, Configuration configuration) {
+        if (countEstimator != null) {
+            return countEstimator;
+        }
+        DbType type = dbType != null ? dbType : JdbcUtils.getDbType(configuration, executor);
+        switch (type) {
+            case MYSQL:
+            case MARIADB:
+                return MYSQL_ESTIMATOR;
+            case POSTGRE_SQL:
+            case KINGBASE_ES:
+            case HIGH_GO:
+                return POSTGRE_ESTIMATOR;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 写操作执行后使涉及的表的总数缓存失效
+     * <p>
+     * 处于 spring 事务中时 (存在 spring-tx), 事务结束后再失效一次, 避免事务提交前其他线程按未提交前的数据缓存了总数
+     */
+    @Override
+    public void afterUpdate(Executor executor, MappedStatement ms, Object parameter) throws SQLException {
+        PageTotalCache cache = totalCache;
+        if (cache == null) {
+            return;
+        }
+        Collection<String> tables = findUpdateTables(ms, parameter);
+        cache.invalidateTables(tables);
+        if (SpringTransactionSync.PRESENT) {
+            SpringTransactionSync.afterCompletion(() -> cache.invalidateTables(tables));
+        }
+    }
+
+    /**
+     * 获取写操作涉及的表名, 静态 SQL 按 MappedStatement 缓存, 动态 SQL 每次按参数生成 SQL 后解析
+     */
+    private Collection<String> findUpdateTables(MappedStatement ms, Object parameter) {
+        SqlSource sqlSource = ms.getSqlSource();
+        if (sqlSource instanceof RawSqlSource || sqlSource instanceof StaticSqlSource) {
+            return updateTablesCache.computeIfAbsent(ms.getId(), id -> new TableNameParser(ms.getBoundSql(parameter).getSql()).tables());
+        }
+        return new TableNameParser(ms.getBoundSql(parameter).getSql()).tables();
+    }
+
+    /**
+     * 汇合异步执行的 count 结果
+     */
+    @Override
+    public void afterQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler, BoundSql boundSql) throws SQLException {
+        Future<?> future = asyncCountFuture(boundSql);
+        if (future == null) {
+            return;
+        }
+        try {
+            IPage<?> page = ParameterUtils.findPage(parameter).orElse(null);
+            Long total = (Long) future.get();
+            if (page != null) {
+                setTotal(page, total);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw ExceptionUtils.mpe("interrupted while waiting for the count query", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            throw ExceptionUtils.mpe(cause);
+        } finally {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * 分页查询未完成时取消异步执行的 count
+     */
+    @Override
+    public void afterQueryAborted(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler, BoundSql boundSql) {
+        Future<?> future = asyncCountFuture(boundSql);
+        if (future != null) {
+            future.cancel(true);
+        }
+    }
+
+    private Future<?> asyncCountFuture(BoundSql boundSql) {
+        if (!boundSql.hasAdditionalParameter(ASYNC_COUNT_PARAM_NAME)) {
+            return null;
+        }
+        Object future = boundSql.getAdditionalParameter(ASYNC_COUNT_PARAM_NAME);
+        return future instanceof Future ? (Future<?>) future : null;
+    }
+
+    /**
+     * 在新的连接中执行 count 查询
+     * <p>
+     * 连接通过 {@link Environment} 的事务工厂获取, 所以看不到当前事务中未提交的数据
+     *
+     * @param countMs  count 的 MappedStatement
+     * @param parameter parameter
+     * @param countSql count 的 BoundSql
+     * @return 总数
+     * @since 3.5.3
+     */
+    protected long queryCountAsync(MappedStatement countMs, Object parameter, BoundSql countSql) throws SQLException {
+        Configuration configuration = countMs.getConfiguration();
+        Environment environment = configuration.getEnvironment();
+        Transaction transaction = environment.getTransactionFactory().newTransaction(environment.getDataSource(), null, true);
+        Executor countExecutor = new SimpleExecutor(configuration, transaction);
+        try {
+            CacheKey cacheKey = countExecutor.createCacheKey(countMs, parameter, RowBounds.DEFAULT, countSql);
+            return parseCount(countExecutor.query(countMs, parameter, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER, cacheKey, countSql));
+        } finally {
+            countExecutor.close(false);
+        }
+    }
+
+    private long parseCount(List<Object> result) {
         long total = 0;
         if (CollectionUtils.isNotEmpty(result)) {
             // 个别数据库 count 没数据不会返回 0
@@ -141,22 +544,31 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
                 total = Long.parseLong(o.toString());
             }
         }
-        page.setTotal(total);
-        return continuePage(page);
+        return total;
     }
 
     @Override
     public void beforeQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler, BoundSql boundSql) throws SQLException {
         IPage<?> page = ParameterUtils.findPage(parameter).orElse(null);
         if (null == page) {
+            if (rowBounds != null && rowBounds.getOffset() == RowBounds.NO_ROW_OFFSET
+                && rowBounds.getLimit() != RowBounds.NO_ROW_LIMIT && isRowBoundsLimit(ms)) {
+                limitRowBounds(executor, ms, boundSql, rowBounds.getLimit());
+            }
             return;
         }
 
+        // 处理 keyset 分页的起点条件, 同时拼接 orderBy
+        boolean keysetOrdered = false;
+        if (page instanceof KeysetPage) {
+            keysetOrdered = concatKeyset(executor, ms, boundSql, (KeysetPage<?>) page);
+        }
+
         // 处理 orderBy 拼接
         boolean addOrdered = false;
         String buildSql = boundSql.getSql();
         List<OrderItem> orders = page.orders();
-        if (CollectionUtils.isNotEmpty(orders)) {
+        if (!keysetOrdered && CollectionUtils.isNotEmpty(orders)) {
             addOrdered = true;
             buildSql = this.concatOrderBy(buildSql, orders);
         }
@@ -171,19 +583,315 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
         }
 
         handlerLimit(page, _limit);
-        IDialect dialect = findIDialect(executor);
-
         final Configuration configuration = ms.getConfiguration();
-        DialectModel model = dialect.buildPaginationSql(buildSql, page.offset(), page.getSize());
+        IDialect dialect = findIDialect(executor, configuration);
+        // 多查询一条数据用于判断是否存在下一页
+        long limit = page.searchNext() && page.getSize() > 0 ? page.getSize() + 1 : page.getSize();
+        DeferredJoin deferredJoin = null;
+        if (deferredJoinOffset > 0 && page.offset() >= deferredJoinOffset && supportDeferredJoin(executor, configuration)) {
+            deferredJoin = deferredJoinCache.computeIfAbsent(buildSql, this::buildDeferredJoin);
+        }
+        boolean deferred = deferredJoin != null && deferredJoin != DeferredJoin.NONE;
+        DialectModel model = dialect.buildPaginationSql(deferred ? deferredJoin.innerSql : buildSql, page.offset(), limit);
         PluginUtils.MPBoundSql mpBoundSql = PluginUtils.mpBoundSql(boundSql);
 
         List<ParameterMapping> mappings = mpBoundSql.parameterMappings();
         Map<String, Object> additionalParameter = mpBoundSql.additionalParameters();
         model.consumers(mappings, configuration, additionalParameter);
+        mpBoundSql.sql(deferred ? deferredJoin.prefix + model.getDialectSql() + deferredJoin.suffix : model.getDialectSql());
+        mpBoundSql.parameterMappings(mappings);
+    }
+
+    /**
+     * 是否对该查询的 {@link RowBounds} 使用方言限制返回行数
+     *
+     * @param ms MappedStatement
+     * @return 是否处理
+     */
+    private boolean isRowBoundsLimit(MappedStatement ms) {
+        if (rowBoundsLimit) {
+            return true;
+        }
+        String methodName = ms.getId().substring(ms.getId().lastIndexOf(StringPool.DOT) + 1);
+        return SqlMethod.SELECT_EXISTS.getMethod().equals(methodName) || SqlMethod.SELECT_LIST.getMethod().equals(methodName);
+    }
+
+    /**
+     * 使用方言限制返回行数, 只处理 offset 为 0 的情况, mybatis 读取结果集时仍按 rowBounds 截取, 结果不变
+     * <p>
+     * SQL 自身已有行数限制(例如 {@code last("limit 1")})或是 for update 时不处理
+     *
+     * @param limit 行数
+     */
+    private void limitRowBounds(Executor executor, MappedStatement ms, BoundSql boundSql, int limit) {
+        if (!rowBoundsLimitCache.computeIfAbsent(boundSql.getSql(), this::supportRowBoundsLimit)) {
+            return;
+        }
+        final Configuration configuration = ms.getConfiguration();
+        DialectModel model = findIDialect(executor, configuration).buildPaginationSql(boundSql.getSql(), 0, limit);
+        PluginUtils.MPBoundSql mpBoundSql = PluginUtils.mpBoundSql(boundSql);
+        List<ParameterMapping> mappings = mpBoundSql.parameterMappings();
+        model.consumers(mappings, configuration, mpBoundSql.additionalParameters());
         mpBoundSql.sql(model.getDialectSql());
         mpBoundSql.parameterMappings(mappings);
     }
 
+    /**
+     * SQL 是否可以追加行数限制
+     *
+     * @param sql 原始 SQL
+     * @return 是否可以
+     */
+    private boolean supportRowBoundsLimit(String sql) {
+        try {
+            Statement statement = CCJSqlParserUtil.parse(sql);
+            if (!(statement instanceof Select)) {
+                return false;
+            }
+            SelectBody selectBody = ((Select) statement).getSelectBody();
+            if (selectBody instanceof PlainSelect) {
+                PlainSelect plainSelect = (PlainSelect) selectBody;
+                return plainSelect.getLimit() == null && plainSelect.getOffset() == null && plainSelect.getFetch() == null
+                    && plainSelect.getTop() == null && !plainSelect.isForUpdate() && !isSingleRowExists(plainSelect);
+            }
+            if (selectBody instanceof SetOperationList) {
+                SetOperationList operationList = (SetOperationList) selectBody;
+                return operationList.getLimit() == null && operationList.getOffset() == null && operationList.getFetch() == null;
+            }
+            return false;
+        } catch (JSQLParserException e) {
+            logger.warn("failed to parse sql for row limit, skip it, exception:\n" + e.getCause());
+            return false;
+        }
+    }
+
+    /**
+     * 是否为注入的 selectExists 生成的 {@code SELECT 1 FROM DUAL WHERE EXISTS (...)}, 最多只有一行
+     */
+    private static boolean isSingleRowExists(PlainSelect plainSelect) {
+        if (!(plainSelect.getWhere() instanceof ExistsExpression) || CollectionUtils.isNotEmpty(plainSelect.getJoins())) {
+            return false;
+        }
+        FromItem fromItem = plainSelect.getFromItem();
+        return fromItem == null || (fromItem instanceof Table && DUAL_TABLES.contains(((Table) fromItem).getFullyQualifiedName().toUpperCase()));
+    }
+
+    /**
+     * 当前数据库是否使用延迟关联
+     *
+     * @param executor Executor
+     * @return 是否使用
+     * @since 3.5.3
+     */
+    protected boolean supportDeferredJoin(Executor executor, Configuration configuration) {
+        DbType type = findDbType(executor, configuration);
+        return type == DbType.MYSQL || type == DbType.MARIADB;
+    }
+
+    /**
+     * 构建延迟关联: 子查询只按条件与排序取出当前页的主键, 再关联回原表取整行
+     * <pre>
+     * SELECT t.* FROM t JOIN (SELECT pk AS mp_deferred_key FROM t WHERE ... ORDER BY x LIMIT ?, ?) mp_deferred
+     * ON t.pk = mp_deferred.mp_deferred_key ORDER BY x
+     * </pre>
+     * 子查询的主键使用别名, 外层查询中不会出现有歧义的列, SELECT * 改为 SELECT t.*; 只处理实体表的单表查询, 且 select 与 order by 中没有参数, 否则返回 {@link DeferredJoin#NONE}
+     *
+     * @param sql 已拼接 orderBy 的 SQL
+     * @return 延迟关联
+     */
+    private DeferredJoin buildDeferredJoin(String sql) {
+        try {
+            Select select = (Select) CCJSqlParserUtil.parse(sql);
+            if (!(select.getSelectBody() instanceof PlainSelect) || CollectionUtils.isNotEmpty(select.getWithItemsList())) {
+                return DeferredJoin.NONE;
+            }
+            PlainSelect plainSelect = (PlainSelect) select.getSelectBody();
+            if (!(plainSelect.getFromItem() instanceof Table) || CollectionUtils.isNotEmpty(plainSelect.getJoins())
+                || plainSelect.getDistinct() != null || plainSelect.getGroupBy() != null || plainSelect.getHaving() != null
+                || plainSelect.getLimit() != null || plainSelect.getOffset() != null || plainSelect.getFetch() != null
+                || plainSelect.isForUpdate() || plainSelect.getIntoTables() != null) {
+                return DeferredJoin.NONE;
+            }
+            Table table = (Table) plainSelect.getFromItem();
+            TableInfo tableInfo = TableInfoHelper.getTableInfo(table.getName());
+            if (tableInfo == null || !tableInfo.havePK()) {
+                return DeferredJoin.NONE;
+            }
+            // 外层 SELECT * 会带上子查询的主键别名, 改为只取原表的列
+            String qualifier = table.getAlias() != null ? table.getAlias().getName() : table.getFullyQualifiedName();
+            String selectItems = plainSelect.getSelectItems().stream()
+                .map(i -> i instanceof AllColumns ? qualifier + ".*" : i.toString())
+                .collect(Collectors.joining(StringPool.COMMA + StringPool.SPACE));
+            List<OrderByElement> orderBy = plainSelect.getOrderByElements();
+            String orderByStr = PlainSelect.orderByToString(orderBy);
+            if (selectItems.contains(StringPool.QUESTION_MARK) || orderByStr.contains(StringPool.QUESTION_MARK)) {
+                return DeferredJoin.NONE;
+            }
+            if (CollectionUtils.isNotEmpty(orderBy)) {
+                Set<String> aliases = plainSelect.getSelectItems().stream()
+                    .filter(i -> i instanceof SelectExpressionItem && ((SelectExpressionItem) i).getAlias() != null)
+                    .map(i -> ((SelectExpressionItem) i).getAlias().getName().toLowerCase(Locale.ENGLISH))
+                    .collect(Collectors.toSet());
+                for (OrderByElement element : orderBy) {
+                    // 排序只能是原表的列, 不能是 select 中的别名
+                    if (!(element.getExpression() instanceof Column)
+                        || aliases.contains(((Column) element.getExpression()).getColumnName().toLowerCase(Locale.ENGLISH))) {
+                        return DeferredJoin.NONE;
+                    }
+                }
+            }
+            String keyColumn = tableInfo.getKeyColumn();
+            plainSelect.setSelectItems(Collections.singletonList(new SelectExpressionItem(new Column(keyColumn))
+                .withAlias(new Alias(DEFERRED_JOIN_KEY))));
+            String innerSql = select.toString();
+            String prefix = "SELECT " + selectItems + " FROM " + table + " JOIN (";
+            String suffix = ") mp_deferred ON " + qualifier + StringPool.DOT + keyColumn + " = mp_deferred." + DEFERRED_JOIN_KEY + orderByStr;
+            return new DeferredJoin(innerSql, prefix, suffix);
+        } catch (Exception e) {
+            logger.warn("failed to build deferred join, exception:\n" + e);
+            return DeferredJoin.NONE;
+        }
+    }
+
+    /**
+     * 拼接 keyset 分页的起点条件与排序, 结果回写到 BoundSql
+     *
+     * @param executor Executor
+     * @param ms       MappedStatement
+     * @param boundSql BoundSql
+     * @param page     KeysetPage
+     * @return 是否已拼接 orderBy
+     * @since 3.5.3
+     */
+    protected boolean concatKeyset(Executor executor, MappedStatement ms, BoundSql boundSql, KeysetPage<?> page) {
+        Object[] values = page.getAfterValues();
+        List<OrderItem> keys = page.orders();
+        if (values == null && CollectionUtils.isEmpty(keys)) {
+            return false;
+        }
+        String sql = boundSql.getSql();
+        if (values == null) {
+            // 首页只拼接排序, 与后续页的排序保持一致
+            StatementCacheKey key = StatementCacheKey.of(null, sql, KEYSET_PARAM_PREFIX, orderSignature(keys));
+            String keysetSql = orderBySqlCache.get(key);
+            if (keysetSql == null) {
+                keysetSql = doConcatKeyset(sql, keys, false, false);
+                orderBySqlCache.put(key, keysetSql);
+            }
+            PluginUtils.mpBoundSql(boundSql).sql(keysetSql);
+            return true;
+        }
+        Assert.isTrue(page.getSize() > 0, "keyset page size must be greater than 0");
+        Assert.isTrue(CollectionUtils.isNotEmpty(keys) && keys.size() == values.length,
+            "keyset values %s do not match keys %s", Arrays.toString(values), orderSignature(keys));
+        for (int i = 0; i < values.length; i++) {
+            // 起点值为 null 时比较结果恒为 unknown, 无法定位下一页
+            Assert.notNull(values[i], "keyset value of key \"%s\" must not be null", keys.get(i).getColumn());
+        }
+        boolean rowValue = supportRowValue(executor, ms.getConfiguration()) && keys.stream().allMatch(i -> i.isAsc() == keys.get(0).isAsc());
+        StatementCacheKey key = StatementCacheKey.of(null, sql, KEYSET_PARAM_PREFIX, orderSignature(keys), rowValue, true);
+        String keysetSql = orderBySqlCache.get(key);
+        if (keysetSql == null) {
+            keysetSql = doConcatKeyset(sql, keys, rowValue, true);
+            orderBySqlCache.put(key, keysetSql);
+        }
+        Map<String, Object> parameters = new HashMap<>(values.length);
+        for (int i = 0; i < values.length; i++) {
+            parameters.put(KEYSET_PARAM_PREFIX + i, values[i]);
+        }
+        NamedParameterUtils.bind(ms.getConfiguration(), boundSql, keysetSql, parameters);
+        return true;
+    }
+
+    /**
+     * 当前数据库是否支持行值比较 {@code (k1, k2) > (?, ?)}, 不支持时展开为等价的 OR 条件
+     *
+     * @param executor Executor
+     * @return 是否支持
+     * @since 3.5.3
+     */
+    protected boolean supportRowValue(Executor executor, Configuration configuration) {
+        DbType type = findDbType(executor, configuration);
+        return type != null && ROW_VALUE_DB_TYPES.contains(type);
+    }
+
+    /**
+     * 获取数据库类型
+     *
+     * @param executor Executor
+     * @return 数据库类型, 只指定了方言时无法得知数据库类型, 返回 null
+     * @since 3.5.3
+     */
+    protected DbType findDbType(Executor executor, Configuration configuration) {
+        if (dbType != null) {
+            return dbType;
+        }
+        return dialect != null ? null : JdbcUtils.getDbType(configuration, executor);
+    }
+
+    /**
+     * 解析 SQL 并拼接 keyset 起点条件与排序, 起点值使用命名参数标记, 结果只取决于入参
+     * <p>
+     * 起点条件依赖排序键的顺序, 原 SQL 已有 ORDER BY 时无法保证一致, 直接抛出异常
+     *
+     * @param originalSql 原始 SQL
+     * @param keys        排序键
+     * @param rowValue    是否使用行值比较
+     * @param seek        是否拼接起点条件, 首页只拼接排序
+     * @return 含有命名参数标记的 SQL
+     * @since 3.5.3
+     */
+    protected String doConcatKeyset(String originalSql, List<OrderItem> keys, boolean rowValue, boolean seek) {
+        Select select;
+        try {
+            select = (Select) CCJSqlParserUtil.parse(originalSql);
+        } catch (JSQLParserException e) {
+            throw ExceptionUtils.mpe("Failed to process, Error SQL: %s", e.getCause(), originalSql);
+        }
+        SelectBody selectBody = select.getSelectBody();
+        Assert.isTrue(selectBody instanceof PlainSelect, "keyset page only supports plain select, Error SQL: %s", originalSql);
+        PlainSelect plainSelect = (PlainSelect) selectBody;
+        Assert.isTrue(CollectionUtils.isEmpty(plainSelect.getOrderByElements()), "keyset page does not support sql with ORDER BY, " +
+            "use the keyset orders instead, Error SQL: %s", originalSql);
+        plainSelect.setOrderByElements(addOrderByElements(keys, null));
+        if (!seek) {
+            return select.toString();
+        }
+        Expression seekExpression;
+        if (rowValue) {
+            ExpressionList columns = new ExpressionList(new ArrayList<>(keys.size()));
+            ExpressionList markers = new ExpressionList(new ArrayList<>(keys.size()));
+            for (int i = 0; i < keys.size(); i++) {
+                columns.getExpressions().add(new Column(keys.get(i).getColumn()));
+                markers.getExpressions().add(new JdbcNamedParameter(KEYSET_PARAM_PREFIX + i));
+            }
+            seekExpression = keysetCompare(new ValueListExpression().withExpressionList(columns),
+                new ValueListExpression().withExpressionList(markers), keys.get(0).isAsc());
+        } else {
+            // k1 > ?0 OR (k1 = ?0 AND k2 > ?1) ...
+            seekExpression = null;
+            for (int i = keys.size() - 1; i >= 0; i--) {
+                OrderItem item = keys.get(i);
+                Expression compare = keysetCompare(new Column(item.getColumn()), new JdbcNamedParameter(KEYSET_PARAM_PREFIX + i), item.isAsc());
+                if (seekExpression == null) {
+                    seekExpression = compare;
+                } else {
+                    EqualsTo equalsTo = new EqualsTo(new Column(item.getColumn()), new JdbcNamedParameter(KEYSET_PARAM_PREFIX + i));
+                    seekExpression = new OrExpression(compare, new Parenthesis(new AndExpression(equalsTo, seekExpression)));
+                }
+            }
+            seekExpression = new Parenthesis(seekExpression);
+        }
+        Expression where = plainSelect.getWhere();
+        plainSelect.setWhere(where == null ? seekExpression : new AndExpression(new Parenthesis(where), seekExpression));
+        return select.toString();
+    }
+
+    private Expression keysetCompare(Expression left, Expression right, boolean asc) {
+        return asc ? new GreaterThan().withLeftExpression(left).withRightExpression(right)
+            : new MinorThan().withLeftExpression(left).withRightExpression(right);
+    }
+
     /**
      * 获取分页方言类的逻辑
      *
@@ -201,6 +909,36 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
         return DialectFactory.getDialect(JdbcUtils.getDbType(executor));
     }
 
+    /**
+     * 获取分页方言类的逻辑, 未指定数据库类型与方言时按 DataSource 缓存识别的数据库类型
+     *
+     * @param executor      Executor
+     * @param configuration Configuration
+     * @return 分页方言类
+     * @since 3.5.3
+     */
+    protected IDialect findIDialect(Executor executor, Configuration configuration) {
+        if (dialect != null || dbType != null || FIND_DIALECT_OVERRIDDEN.computeIfAbsent(getClass(), PaginationInnerInterceptor::overridesFindIDialect)) {
+            return findIDialect(executor);
+        }
+        return DialectFactory.getDialect(JdbcUtils.getDbType(configuration, executor));
+    }
+
+    /**
+     * 子类是否重写了 {@link #findIDialect(Executor)}, 重写时不使用按 DataSource 缓存的数据库类型
+     */
+    private static boolean overridesFindIDialect(Class<?> clazz) {
+        for (Class<?> c = clazz; c != PaginationInnerInterceptor.class; c = c.getSuperclass()) {
+            try {
+                c.getDeclaredMethod("findIDialect", Executor.class);
+                return true;
+            } catch (NoSuchMethodException ignored) {
+                // 继续查找父类
+            }
+        }
+        return false;
+    }
+
     /**
      * 获取指定的 id 的 MappedStatement
      *
@@ -249,6 +987,77 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
         });
     }
 
+    /**
+     * 构建 mp 自用的总数估算 MappedStatement, 结果每行映射为 Map
+     *
+     * @param ms MappedStatement
+     * @return MappedStatement
+     * @since 3.5.3
+     */
+    protected MappedStatement buildEstimateMappedStatement(MappedStatement ms) {
+        final String estimateId = ms.getId() + "_mpEstimate";
+        final Configuration configuration = ms.getConfiguration();
+        return CollectionUtils.computeIfAbsent(countMsCache, estimateId, key -> {
+            MappedStatement.Builder builder = new MappedStatement.Builder(configuration, key, ms.getSqlSource(), ms.getSqlCommandType());
+            builder.resource(ms.getResource());
+            builder.fetchSize(ms.getFetchSize());
+            builder.statementType(ms.getStatementType());
+            builder.timeout(ms.getTimeout());
+            builder.parameterMap(ms.getParameterMap());
+            builder.resultMaps(Collections.singletonList(new ResultMap.Builder(configuration, Constants.MYBATIS_PLUS, Map.class, Collections.emptyList()).build()));
+            builder.resultSetType(ms.getResultSetType());
+            builder.useCache(false);
+            return builder.build();
+        });
+    }
+
+    /**
+     * 去除 order by, 规则与 {@link #optimizeCountSql(String, boolean)} 一致, 无法去除或解析失败时返回原 SQL
+     *
+     * @param sql sql
+     * @return 去除 order by 后的 sql
+     * @since 3.5.3
+     */
+    protected String removeOrderBy(String sql) {
+        StatementCacheKey key = StatementCacheKey.of(null, sql, CountStrategy.CAPPED);
+        String result = countSqlCache.get(key);
+        if (result == null) {
+            result = sql;
+            try {
+                Select select = (Select) CCJSqlParserUtil.parse(sql);
+                if (select.getSelectBody() instanceof PlainSelect && cleanOrderBy((PlainSelect) select.getSelectBody())) {
+                    result = select.toString();
+                }
+            } catch (Exception e) {
+                logger.warn("remove the order by of sql has exception, sql:\"" + sql + "\", exception:\n" + e);
+            }
+            countSqlCache.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * 去除不影响总数的 order by: 包含 group by 或 order by 里带参数时不去除
+     *
+     * @return 是否去除
+     */
+    private static boolean cleanOrderBy(PlainSelect plainSelect) {
+        List<OrderByElement> orderBy = plainSelect.getOrderByElements();
+        if (CollectionUtils.isEmpty(orderBy) || plainSelect.getGroupBy() != null) {
+            // 包含groupBy 不去除orderBy
+            return false;
+        }
+        for (OrderByElement order : orderBy) {
+            // order by 里带参数,不去除order by
+            Expression expression = order.getExpression();
+            if (!(expression instanceof Column) && expression.toString().contains(StringPool.QUESTION_MARK)) {
+                return false;
+            }
+        }
+        plainSelect.setOrderByElements(null);
+        return true;
+    }
+
     /**
      * 获取自动优化的 countSql
      *
@@ -260,6 +1069,25 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
         if (!page.optimizeCountSql()) {
             return lowLevelCountSql(sql);
         }
+        boolean optimizeJoinOfCountSql = optimizeJoin && page.optimizeJoinOfCountSql();
+        StatementCacheKey key = StatementCacheKey.of(null, sql, optimizeJoinOfCountSql);
+        String countSql = countSqlCache.get(key);
+        if (countSql == null) {
+            countSql = optimizeCountSql(sql, optimizeJoinOfCountSql);
+            countSqlCache.put(key, countSql);
+        }
+        return countSql;
+    }
+
+    /**
+     * 解析并优化 countSql, 结果只取决于入参
+     *
+     * @param sql                    sql
+     * @param optimizeJoinOfCountSql 是否优化 join
+     * @return countSql
+     * @since 3.5.3
+     */
+    protected String optimizeCountSql(String sql, boolean optimizeJoinOfCountSql) {
         try {
             Select select = (Select) CCJSqlParserUtil.parse(sql);
             SelectBody selectBody = select.getSelectBody();
@@ -270,28 +1098,8 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
             PlainSelect plainSelect = (PlainSelect) select.getSelectBody();
             Distinct distinct = plainSelect.getDistinct();
             GroupByElement groupBy = plainSelect.getGroupBy();
-            List<OrderByElement> orderBy = plainSelect.getOrderByElements();
 
-            if (CollectionUtils.isNotEmpty(orderBy)) {
-                boolean canClean = true;
-                if (groupBy != null) {
-                    // 包含groupBy 不去除orderBy
-                    canClean = false;
-                }
-                if (canClean) {
-                    for (OrderByElement order : orderBy) {
-                        // order by 里带参数,不去除order by
-                        Expression expression = order.getExpression();
-                        if (!(expression instanceof Column) && expression.toString().contains(StringPool.QUESTION_MARK)) {
-                            canClean = false;
-                            break;
-                        }
-                    }
-                }
-                if (canClean) {
-                    plainSelect.setOrderByElements(null);
-                }
-            }
+            cleanOrderBy(plainSelect);
             //#95 Github, selectItems contains #{} ${}, which will be translated to ?, and it may be in a function: power(#{myInt},2)
             for (SelectItem item : plainSelect.getSelectItems()) {
                 if (item.toString().contains(StringPool.QUESTION_MARK)) {
@@ -303,7 +1111,7 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
                 return lowLevelCountSql(select.toString());
             }
             // 包含 join 连表,进行判断是否移除 join 连表
-            if (optimizeJoin && page.optimizeJoinOfCountSql()) {
+            if (optimizeJoinOfCountSql) {
                 List<Join> joins = plainSelect.getJoins();
                 if (CollectionUtils.isNotEmpty(joins)) {
                     boolean canRemoveJoin = true;
@@ -381,6 +1189,37 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
      * @return ignore
      */
     public String concatOrderBy(String originalSql, List<OrderItem> orderList) {
+        StatementCacheKey key = StatementCacheKey.of(null, originalSql, orderSignature(orderList));
+        String sql = orderBySqlCache.get(key);
+        if (sql == null) {
+            sql = doConcatOrderBy(originalSql, orderList);
+            orderBySqlCache.put(key, sql);
+        }
+        return sql;
+    }
+
+    /**
+     * 排序字段签名, 与 {@link #addOrderByElements(List, List)} 使用的字段一致
+     */
+    private String orderSignature(List<OrderItem> orderList) {
+        StringBuilder builder = new StringBuilder();
+        for (OrderItem item : orderList) {
+            if (StringUtils.isNotBlank(item.getColumn())) {
+                builder.append(item.getColumn()).append(item.isAsc() ? " ASC" : " DESC").append(StringPool.COMMA);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 解析 SQL 并拼接 Order By, 结果只取决于入参
+     *
+     * @param originalSql 需要拼接的SQL
+     * @param orderList   排序字段
+     * @return ignore
+     * @since 3.5.3
+     */
+    protected String doConcatOrderBy(String originalSql, List<OrderItem> orderList) {
         try {
             Select select = (Select) CCJSqlParserUtil.parse(originalSql);
             SelectBody selectBody = select.getSelectBody();
@@ -478,6 +1317,28 @@ public class PaginationInnerInterceptor implements InnerInterceptor {
             .whenNotBlank("dbType", DbType::getDbType, this::setDbType)
             .whenNotBlank("dialect", ClassUtils::newInstance, this::setDialect)
             .whenNotBlank("maxLimit", Long::parseLong, this::setMaxLimit)
-            .whenNotBlank("optimizeJoin", Boolean::parseBoolean, this::setOptimizeJoin);
+            .whenNotBlank("optimizeJoin", Boolean::parseBoolean, this::setOptimizeJoin)
+            .whenNotBlank("countCap", Long::parseLong, this::setCountCap)
+            .whenNotBlank("deferredJoinOffset", Long::parseLong, this::setDeferredJoinOffset)
+            .whenNotBlank("rowBoundsLimit", Boolean::parseBoolean, this::setRowBoundsLimit)
+            .whenNotBlank("totalCacheTtl", Long::parseLong, ttl -> setTotalCache(new PageTotalCache(ttl, TimeUnit.MILLISECONDS)));
+    }
+
+    /**
+     * 延迟关联, 最终 SQL 为 prefix + 分页后的 innerSql + suffix
+     */
+    private static final class DeferredJoin {
+
+        private static final DeferredJoin NONE = new DeferredJoin(null, null, null);
+
+        private final String innerSql;
+        private final String prefix;
+        private final String suffix;
+
+        private DeferredJoin(String innerSql, String prefix, String suffix) {
+            this.innerSql = innerSql;
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
     }
 }
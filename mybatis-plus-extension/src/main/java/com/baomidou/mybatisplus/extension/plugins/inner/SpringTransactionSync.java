@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2011-2022, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.extension.plugins.inner;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * spring 事务同步, 隔离对 spring-tx 的引用, 只在 {@link #PRESENT} 为 true 时使用
+ *
+ * @author agent
+ * @since 3.5.3
+ */
+final class SpringTransactionSync {
+
+    /**
+     * classpath 中是否存在 spring-tx
+     */
+    static final boolean PRESENT = isPresent();
+
+    private SpringTransactionSync() {
+    }
+
+    /**
+     * 处于 spring 事务中时, 在事务结束后执行
+     *
+     * @param action 事务结束后执行的操作
+     */
+    static void afterCompletion(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        }
+    }
+
+    private static boolean isPresent() {
+        try {
+            Class.forName("org.springframework.transaction.support.TransactionSynchronizationManager", false,
+                SpringTransactionSync.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
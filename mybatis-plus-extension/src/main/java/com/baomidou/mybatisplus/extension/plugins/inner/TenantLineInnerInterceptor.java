@@ -19,6 +19,7 @@ import com.baomidou.mybatisplus.core.plugins.InterceptorIgnoreHelper;
 import com.baomidou.mybatisplus.core.toolkit.*;
 import com.baomidou.mybatisplus.extension.parser.JsqlParserSupport;
 import com.baomidou.mybatisplus.extension.plugins.handler.TenantLineHandler;
+import com.baomidou.mybatisplus.extension.toolkit.NamedParameterUtils;
 import com.baomidou.mybatisplus.extension.toolkit.PropertyMapper;
 import lombok.*;
 import net.sf.jsqlparser.expression.*;
@@ -56,11 +57,25 @@ import java.util.stream.Collectors;
 @SuppressWarnings({"rawtypes"})
 public class TenantLineInnerInterceptor extends JsqlParserSupport implements InnerInterceptor {
 
+    /**
+     * 租户 ID 以参数绑定时的参数名
+     */
+    public static final String TENANT_ID_PARAM_NAME = "mybatis_plus_tenant_id";
+
     private TenantLineHandler tenantLineHandler;
 
+    @Override
+    public boolean willIntercept(MappedStatement ms) {
+        return !InterceptorIgnoreHelper.willIgnoreTenantLine(ms.getId());
+    }
+
     @Override
     public void beforeQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler, BoundSql boundSql) throws SQLException {
         if (InterceptorIgnoreHelper.willIgnoreTenantLine(ms.getId())) return;
+        if (tenantLineHandler.bindTenantIdParameter()) {
+            bindTenantIdParameter(ms, boundSql, false);
+            return;
+        }
         PluginUtils.MPBoundSql mpBs = PluginUtils.mpBoundSql(boundSql);
         mpBs.sql(parserSingle(mpBs.sql(), null));
     }
@@ -74,11 +89,93 @@ public class TenantLineInnerInterceptor extends JsqlParserSupport implements Inn
             if (InterceptorIgnoreHelper.willIgnoreTenantLine(ms.getId())) {
                 return;
             }
+            if (tenantLineHandler.bindTenantIdParameter()) {
+                bindTenantIdParameter(ms, mpSh.boundSql(), true);
+                return;
+            }
             PluginUtils.MPBoundSql mpBs = mpSh.mPBoundSql();
             mpBs.sql(parserMulti(mpBs.sql(), null));
         }
     }
 
+    /**
+     * {@link org.apache.ibatis.executor.BatchExecutor} 与 {@link org.apache.ibatis.executor.ReuseExecutor}
+     * 会在 prepare 之前根据 SQL 判断是否复用 Statement, 参数绑定模式下需要在这里提前改写,
+     * 否则复用的 Statement 会缺少租户参数
+     */
+    @Override
+    public void beforeGetBoundSql(StatementHandler sh) {
+        if (!tenantLineHandler.bindTenantIdParameter()) {
+            return;
+        }
+        PluginUtils.MPStatementHandler mpSh = PluginUtils.mpStatementHandler(sh);
+        MappedStatement ms = mpSh.mappedStatement();
+        SqlCommandType sct = ms.getSqlCommandType();
+        if (sct == SqlCommandType.INSERT || sct == SqlCommandType.UPDATE || sct == SqlCommandType.DELETE) {
+            if (InterceptorIgnoreHelper.willIgnoreTenantLine(ms.getId())) {
+                return;
+            }
+            bindTenantIdParameter(ms, mpSh.boundSql(), true);
+        }
+    }
+
+    /**
+     * 以参数绑定的方式拼接租户条件
+     * <p>
+     * 改写后的 SQL 与租户无关, 租户 ID 以 {@link #TENANT_ID_PARAM_NAME} 追加到 additionalParameters,
+     * 并按 ? 出现的顺序重建 ParameterMapping
+     *
+     * @param ms       MappedStatement
+     * @param boundSql BoundSql
+     * @param multi    是否多语句
+     */
+    protected void bindTenantIdParameter(MappedStatement ms, BoundSql boundSql, boolean multi) {
+        if (boundSql.hasAdditionalParameter(TENANT_ID_PARAM_NAME)) {
+            // 已处理过
+            return;
+        }
+        PluginUtils.MPBoundSql mpBs = PluginUtils.mpBoundSql(boundSql);
+        String sql = multi ? parserMulti(mpBs.sql(), null) : parserSingle(mpBs.sql(), null);
+        String marker = StringPool.COLON + TENANT_ID_PARAM_NAME;
+        if (!sql.contains(marker)) {
+            mpBs.sql(sql);
+            return;
+        }
+        Object tenantId = tenantLineHandler.getTenantIdValue();
+        Assert.notNull(tenantId, "tenant id value can not be null");
+        NamedParameterUtils.bind(ms.getConfiguration(), boundSql, sql, Collections.singletonMap(TENANT_ID_PARAM_NAME, tenantId));
+    }
+
+    /**
+     * 参数绑定模式下改写结果与租户无关, 可以缓存
+     */
+    @Override
+    protected String getParserCacheKey(String sql, Object obj) {
+        return tenantLineHandler.bindTenantIdParameter() ? sql : null;
+    }
+
+    /**
+     * 参数绑定模式需要在改写后立即重建 ParameterMapping, 不能延迟回写
+     */
+    @Override
+    public boolean willShareStatement() {
+        return !tenantLineHandler.bindTenantIdParameter();
+    }
+
+    /**
+     * 租户 ID 值表达式
+     * <p>
+     * 参数绑定模式下为占位参数, 否则为 {@link TenantLineHandler#getTenantId()}
+     *
+     * @return 租户 ID 值表达式
+     */
+    protected Expression getTenantIdExpression() {
+        if (tenantLineHandler.bindTenantIdParameter()) {
+            return new JdbcNamedParameter(TENANT_ID_PARAM_NAME);
+        }
+        return tenantLineHandler.getTenantId();
+    }
+
     @Override
     protected void processSelect(Select select, int index, String sql, Object obj) {
         processSelectBody(select.getSelectBody());
@@ -123,13 +220,14 @@ public class TenantLineInnerInterceptor extends JsqlParserSupport implements Inn
             return;
         }
         columns.add(new Column(tenantIdColumn));
+        markStatementChanged();
 
         // fixed gitee pulls/141 duplicate update
         List<Expression> duplicateUpdateColumns = insert.getDuplicateUpdateExpressionList();
         if (CollectionUtils.isNotEmpty(duplicateUpdateColumns)) {
             EqualsTo equalsTo = new EqualsTo();
             equalsTo.setLeftExpression(new StringValue(tenantIdColumn));
-            equalsTo.setRightExpression(tenantLineHandler.getTenantId());
+            equalsTo.setRightExpression(getTenantIdExpression());
             duplicateUpdateColumns.add(equalsTo);
         }
 
@@ -140,9 +238,9 @@ public class TenantLineInnerInterceptor extends JsqlParserSupport implements Inn
             // fixed github pull/295
             ItemsList itemsList = insert.getItemsList();
             if (itemsList instanceof MultiExpressionList) {
-                ((MultiExpressionList) itemsList).getExpressionLists().forEach(el -> el.getExpressions().add(tenantLineHandler.getTenantId()));
+                ((MultiExpressionList) itemsList).getExpressionLists().forEach(el -> el.getExpressions().add(getTenantIdExpression()));
             } else {
-                ((ExpressionList) itemsList).getExpressions().add(tenantLineHandler.getTenantId());
+                ((ExpressionList) itemsList).getExpressions().add(getTenantIdExpression());
             }
         } else {
             throw ExceptionUtils.mpe("Failed to process multiple-table update, please exclude the tableName or statementId");
@@ -178,10 +276,11 @@ public class TenantLineInnerInterceptor extends JsqlParserSupport implements Inn
      * delete update 语句 where 处理
      */
     protected BinaryExpression andExpression(Table table, Expression where) {
+        markStatementChanged();
         //获得where条件表达式
         EqualsTo equalsTo = new EqualsTo();
         equalsTo.setLeftExpression(this.getAliasColumn(table));
-        equalsTo.setRightExpression(tenantLineHandler.getTenantId());
+        equalsTo.setRightExpression(getTenantIdExpression());
         if (null != where) {
             if (where instanceof OrExpression) {
                 return new AndExpression(equalsTo, new Parenthesis(where));
@@ -537,8 +636,9 @@ public class TenantLineInnerInterceptor extends JsqlParserSupport implements Inn
         if (CollectionUtils.isEmpty(tempTables)) {
             return currentExpression;
         }
+        markStatementChanged();
 
-        Expression tenantId = tenantLineHandler.getTenantId();
+        Expression tenantId = getTenantIdExpression();
         List<EqualsTo> equalsTos = tempTables.stream()
             .map(item -> new EqualsTo(getAliasColumn(item), tenantId))
             .collect(Collectors.toList());
@@ -0,0 +1,306 @@
+/*
+ * Copyright (c) 2011-2022, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.extension.plugins.pagination;
+
+import com.baomidou.mybatisplus.core.metadata.OrderItem;
+import com.baomidou.mybatisplus.core.toolkit.Assert;
+import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
+import com.baomidou.mybatisplus.core.toolkit.ExceptionUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 游标(keyset/seek)分页模型
+ * <p>
+ * 不使用 offset 与 count, 而是以上一页最后一行的排序键作为起点, 由分页插件改写为
+ * {@code WHERE (k1, k2) > (?, ?) ORDER BY k1, k2 LIMIT n}, 返回不透明的续页令牌代替总数
+ * <pre>
+ * KeysetPage&lt;User&gt; page = new KeysetPage&lt;User&gt;(20)
+ *     .addKey("create_time", false, User::getCreateTime)
+ *     .addKey("id", false, User::getId)
+ *     .after(token);
+ * mapper.selectPage(page, wrapper);
+ * String next = page.getNextToken();
+ * </pre>
+ * 默认多查询一条数据来判断是否存在下一页, 见 {@link #searchNext()}
+ * <p>
+ * 排序键的组合必须唯一(通常以主键收尾), 否则会漏掉或重复数据; 排序键列名会直接拼接进 SQL, 切勿使用前端传入的值
+ *
+ * @author agent
+ * @since 3.5.3
+ */
+public class KeysetPage<T> extends Page<T> {
+
+    private static final long serialVersionUID = -2409612875135547063L;
+
+    /**
+     * 排序键取值函数, 与 {@link #orders} 一一对应
+     */
+    private transient List<Function<T, ?>> extractors = new ArrayList<>();
+    /**
+     * 起点排序键的值, 为空表示第一页
+     */
+    private Object[] afterValues;
+    /**
+     * 下一页的续页令牌, 为空表示没有下一页
+     */
+    private String nextToken;
+
+    public KeysetPage(long size) {
+        super(1, size, false);
+        this.searchNext = true;
+    }
+
+    /**
+     * 添加排序键
+     *
+     * @param column    列名
+     * @param asc       是否正序
+     * @param extractor 从记录中获取该列值的函数
+     * @return this
+     */
+    public KeysetPage<T> addKey(String column, boolean asc, Function<T, ?> extractor) {
+        Assert.notEmpty(column, "keyset column can not be empty");
+        Assert.notNull(extractor, "keyset extractor can not be null");
+        this.orders.add(new OrderItem(column, asc));
+        this.extractors.add(extractor);
+        return this;
+    }
+
+    /**
+     * 从续页令牌处开始查询
+     *
+     * @param token 上一页的 {@link #getNextToken()}, 为空表示第一页
+     * @return this
+     */
+    public KeysetPage<T> after(String token) {
+        this.afterValues = token == null || token.isEmpty() ? null : decode(token);
+        return this;
+    }
+
+    /**
+     * 从指定的排序键值处开始查询
+     *
+     * @param values 排序键值, 顺序与 {@link #addKey} 一致
+     * @return this
+     */
+    public KeysetPage<T> afterValues(Object... values) {
+        this.afterValues = values == null || values.length == 0 ? null : values;
+        return this;
+    }
+
+    public Object[] getAfterValues() {
+        return this.afterValues;
+    }
+
+    public String getNextToken() {
+        return this.nextToken;
+    }
+
+    @Override
+    public KeysetPage<T> setRecords(List<T> records) {
+        super.setRecords(records);
+        this.nextToken = null;
+        boolean more = CollectionUtils.isNotEmpty(this.records)
+            && (searchNext ? super.hasNext() : size > 0 && this.records.size() >= size);
+        if (more && CollectionUtils.isNotEmpty(extractors)) {
+            T last = this.records.get(this.records.size() - 1);
+            Object[] values = new Object[extractors.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = extractors.get(i).apply(last);
+            }
+            this.nextToken = encode(values);
+        }
+        return this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> KeysetPage<R> convert(Function<? super T, ? extends R> mapper) {
+        String token = this.nextToken;
+        List<R> collect = this.records.stream().map(mapper).collect(Collectors.toList());
+        KeysetPage<R> page = (KeysetPage<R>) this;
+        // 排序键取值函数只适用于转换前的记录, 续页令牌保持不变
+        page.extractors = new ArrayList<>();
+        page.setRecords(collect);
+        page.nextToken = token;
+        return page;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return this.nextToken != null;
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return this.afterValues != null;
+    }
+
+    @Override
+    public long offset() {
+        return 0;
+    }
+
+    @Override
+    public boolean searchCount() {
+        return false;
+    }
+
+    /**
+     * 编码排序键值为续页令牌
+     * <p>
+     * 只写入值类型与值本身, 不使用 java 序列化, 令牌被篡改也只会得到错误的起点
+     *
+     * @param values 排序键值
+     * @return 令牌
+     */
+    public static String encode(Object... values) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(values.length);
+            for (Object value : values) {
+                writeValue(out, value);
+            }
+        } catch (IOException e) {
+            throw ExceptionUtils.mpe(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * 解码续页令牌
+     *
+     * @param token 令牌
+     * @return 排序键值
+     */
+    public static Object[] decode(String token) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            Object[] values = new Object[in.readUnsignedByte()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = readValue(in);
+            }
+            Assert.isTrue(in.read() == -1, "invalid keyset token: %s", token);
+            return values;
+        } catch (IOException | IllegalArgumentException | DateTimeException e) {
+            throw ExceptionUtils.mpe("invalid keyset token: %s", e, token);
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte('N');
+        } else if (value instanceof Long) {
+            out.writeByte('J');
+            out.writeLong((Long) value);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.writeByte('I');
+            out.writeInt(((Number) value).intValue());
+        } else if (value instanceof String) {
+            out.writeByte('S');
+            out.writeUTF((String) value);
+        } else if (value instanceof BigDecimal) {
+            out.writeByte('D');
+            out.writeUTF(value.toString());
+        } else if (value instanceof BigInteger) {
+            out.writeByte('G');
+            out.writeUTF(value.toString());
+        } else if (value instanceof Double || value instanceof Float) {
+            out.writeByte('F');
+            out.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            out.writeByte('Z');
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Timestamp) {
+            out.writeByte('T');
+            out.writeLong(((Timestamp) value).getTime());
+            out.writeInt(((Timestamp) value).getNanos());
+        } else if (value instanceof Date) {
+            out.writeByte('d');
+            out.writeLong(((Date) value).getTime());
+        } else if (value instanceof LocalDateTime) {
+            out.writeByte('t');
+            out.writeUTF(value.toString());
+        } else if (value instanceof LocalDate) {
+            out.writeByte('l');
+            out.writeUTF(value.toString());
+        } else if (value instanceof LocalTime) {
+            out.writeByte('h');
+            out.writeUTF(value.toString());
+        } else if (value instanceof Instant) {
+            out.writeByte('i');
+            out.writeUTF(value.toString());
+        } else {
+            throw ExceptionUtils.mpe("unsupported keyset value type: %s", value.getClass().getName());
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        int type = in.readUnsignedByte();
+        switch (type) {
+            case 'N':
+                return null;
+            case 'J':
+                return in.readLong();
+            case 'I':
+                return in.readInt();
+            case 'S':
+                return in.readUTF();
+            case 'D':
+                return new BigDecimal(in.readUTF());
+            case 'G':
+                return new BigInteger(in.readUTF());
+            case 'F':
+                return in.readDouble();
+            case 'Z':
+                return in.readBoolean();
+            case 'T':
+                Timestamp timestamp = new Timestamp(in.readLong());
+                timestamp.setNanos(in.readInt());
+                return timestamp;
+            case 'd':
+                return new Date(in.readLong());
+            case 't':
+                return LocalDateTime.parse(in.readUTF());
+            case 'l':
+                return LocalDate.parse(in.readUTF());
+            case 'h':
+                return LocalTime.parse(in.readUTF());
+            case 'i':
+                return Instant.parse(in.readUTF());
+            default:
+                throw new IOException("unknown keyset value type: " + type);
+        }
+    }
+}
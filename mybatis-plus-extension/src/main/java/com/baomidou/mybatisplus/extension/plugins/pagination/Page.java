@@ -15,6 +15,7 @@
  */
 package com.baomidou.mybatisplus.extension.plugins.pagination;
 
+import com.baomidou.mybatisplus.core.metadata.CountStrategy;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.core.metadata.OrderItem;
 import lombok.Setter;
@@ -23,6 +24,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 /**
@@ -68,6 +70,43 @@ public class Page<T> implements IPage<T> {
      * 是否进行 count 查询
      */
     protected boolean searchCount = true;
+    /**
+     * 是否多查询一条数据来判断是否存在下一页, 开启后不再进行 count 查询
+     *
+     * @since 3.5.3
+     */
+    protected boolean searchNext = false;
+    /**
+     * {@link #searchNext} 模式下是否存在下一页
+     */
+    private boolean existNext;
+    /**
+     * 总数的计算方式
+     *
+     * @since 3.5.3
+     */
+    @Setter
+    protected CountStrategy countStrategy = CountStrategy.EXACT;
+    /**
+     * {@link CountStrategy#CAPPED} 时最多数到的条数
+     *
+     * @since 3.5.3
+     */
+    @Setter
+    protected Long countCap;
+    /**
+     * count 是否与分页查询并行执行
+     *
+     * @since 3.5.3
+     */
+    @Setter
+    protected boolean asyncCount = false;
+    /**
+     * 实际得到总数的计算方式
+     *
+     * @since 3.5.3
+     */
+    protected CountStrategy totalStrategy;
     /**
      * {@link #optimizeJoinOfCountSql()}
      */
@@ -129,6 +168,9 @@ public class Page<T> implements IPage<T> {
      * @return true / false
      */
     public boolean hasNext() {
+        if (searchNext) {
+            return this.existNext;
+        }
         return this.current < this.getPages();
     }
 
@@ -139,10 +181,28 @@ public class Page<T> implements IPage<T> {
 
     @Override
     public Page<T> setRecords(List<T> records) {
+        if (searchNext) {
+            this.existNext = size > 0 && records != null && records.size() > size;
+            if (this.existNext) {
+                // 去掉用于判断下一页而多查询的数据
+                this.records = new ArrayList<>(records.subList(0, (int) size));
+                return this;
+            }
+        }
         this.records = records;
         return this;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> Page<R> convert(Function<? super T, ? extends R> mapper) {
+        // 转换后的记录数不再多出一条, 是否存在下一页沿用转换前的结果
+        boolean next = this.existNext;
+        Page<R> page = (Page<R>) IPage.super.convert(mapper);
+        page.existNext = next;
+        return page;
+    }
+
     @Override
     public long getTotal() {
         return this.total;
@@ -176,6 +236,32 @@ public class Page<T> implements IPage<T> {
         return this;
     }
 
+    @Override
+    public CountStrategy countStrategy() {
+        return this.countStrategy;
+    }
+
+    @Override
+    public Long countCap() {
+        return this.countCap;
+    }
+
+    @Override
+    public boolean asyncCount() {
+        return this.asyncCount;
+    }
+
+    @Override
+    public CountStrategy getTotalStrategy() {
+        return this.totalStrategy;
+    }
+
+    @Override
+    public Page<T> setTotalStrategy(CountStrategy totalStrategy) {
+        this.totalStrategy = totalStrategy;
+        return this;
+    }
+
     @Override
     public String countId() {
         return this.countId;
@@ -261,6 +347,16 @@ public class Page<T> implements IPage<T> {
         return this;
     }
 
+    public Page<T> setSearchNext(boolean searchNext) {
+        this.searchNext = searchNext;
+        return this;
+    }
+
+    @Override
+    public boolean searchNext() {
+        return searchNext;
+    }
+
     public Page<T> setOptimizeCountSql(boolean optimizeCountSql) {
         this.optimizeCountSql = optimizeCountSql;
         return this;
@@ -287,7 +383,7 @@ public class Page<T> implements IPage<T> {
 
     @Override
     public boolean searchCount() {
-        if (total < 0) {
+        if (total < 0 || searchNext) {
             return false;
         }
         return searchCount;
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2011-2022, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.extension.plugins.pagination;
+
+import com.baomidou.mybatisplus.core.toolkit.Assert;
+import com.baomidou.mybatisplus.core.toolkit.TableNameParser;
+import com.baomidou.mybatisplus.extension.parser.cache.BoundedCache;
+import org.apache.ibatis.cache.CacheKey;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 分页总数缓存
+ * <p>
+ * key 为 count 查询的 {@link CacheKey} (包含 SQL 与参数值), 超过存活时间后失效;
+ * 每张表维护一个版本号, 写操作涉及的表版本号加一, 缓存时记录的版本号不一致即失效.
+ * 只能感知经过 MybatisPlusInterceptor 的写操作, 其他途径的修改只能等待过期
+ *
+ * @author agent
+ * @since 3.5.3
+ */
+public class PageTotalCache {
+
+    /**
+     * 存活时间(毫秒)
+     */
+    private final long ttl;
+    private final BoundedCache<CacheKey, Entry> cache;
+    /**
+     * 表名 - 版本号
+     */
+    private final Map<String, AtomicLong> tableVersions = new ConcurrentHashMap<>();
+
+    public PageTotalCache(long ttl, TimeUnit unit) {
+        this(ttl, unit, 1024);
+    }
+
+    public PageTotalCache(long ttl, TimeUnit unit, int maximumSize) {
+        Assert.isTrue(ttl > 0, "ttl must be greater than 0");
+        this.ttl = unit.toMillis(ttl);
+        this.cache = new BoundedCache<>(maximumSize);
+    }
+
+    /**
+     * 获取未失效的总数
+     *
+     * @param key count 查询的 CacheKey
+     * @return 总数, 不存在或已失效时为 null
+     */
+    public Long get(CacheKey key) {
+        Entry entry = cache.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expireAt < System.currentTimeMillis() || !entry.stamp.isValid()) {
+            cache.remove(key);
+            return null;
+        }
+        return entry.total;
+    }
+
+    /**
+     * 记录 count SQL 涉及的表的当前版本号, 需要在执行 count 之前调用
+     *
+     * @param countSql count SQL
+     * @return 版本戳
+     */
+    public Stamp stamp(String countSql) {
+        Collection<String> tables = new TableNameParser(countSql).tables();
+        AtomicLong[] counters = new AtomicLong[tables.size()];
+        long[] versions = new long[counters.length];
+        int i = 0;
+        for (String table : tables) {
+            counters[i] = tableVersions.computeIfAbsent(normalize(table), k -> new AtomicLong());
+            versions[i] = counters[i].get();
+            i++;
+        }
+        return new Stamp(counters, versions);
+    }
+
+    /**
+     * 缓存总数
+     *
+     * @param key   count 查询的 CacheKey
+     * @param stamp 执行 count 之前获取的版本戳
+     * @param total 总数
+     */
+    public void put(CacheKey key, Stamp stamp, long total) {
+        if (stamp.isValid()) {
+            cache.put(key, new Entry(total, System.currentTimeMillis() + ttl, stamp));
+        }
+    }
+
+    /**
+     * 使写操作涉及的表的缓存失效
+     *
+     * @param sql 写操作 SQL
+     */
+    public void invalidate(String sql) {
+        invalidateTables(new TableNameParser(sql).tables());
+    }
+
+    /**
+     * 使多个表的缓存失效
+     *
+     * @param tables 表名
+     */
+    public void invalidateTables(Collection<String> tables) {
+        for (String table : tables) {
+            invalidateTable(table);
+        }
+    }
+
+    /**
+     * 使指定表的缓存失效
+     *
+     * @param table 表名
+     */
+    public void invalidateTable(String table) {
+        AtomicLong version = tableVersions.get(normalize(table));
+        if (version != null) {
+            version.incrementAndGet();
+        }
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * 统一表名: 去掉 schema 与引号并转为小写, 宁可多失效也不能漏掉
+     */
+    private static String normalize(String table) {
+        String name = table.substring(table.lastIndexOf('.') + 1);
+        int start = 0;
+        int end = name.length();
+        while (start < end && isQuote(name.charAt(start))) {
+            start++;
+        }
+        while (end > start && isQuote(name.charAt(end - 1))) {
+            end--;
+        }
+        return name.substring(start, end).toLowerCase(Locale.ENGLISH);
+    }
+
+    private static boolean isQuote(char c) {
+        return c == '`' || c == '"' || c == '[' || c == ']';
+    }
+
+    /**
+     * 表版本戳
+     */
+    public static final class Stamp {
+
+        private final AtomicLong[] counters;
+        private final long[] versions;
+
+        private Stamp(AtomicLong[] counters, long[] versions) {
+            this.counters = counters;
+            this.versions = versions;
+        }
+
+        boolean isValid() {
+            for (int i = 0; i < counters.length; i++) {
+                if (counters[i].get() != versions[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    static final class Entry {
+
+        private final long total;
+        private final long expireAt;
+        private final Stamp stamp;
+
+        private Entry(long total, long expireAt, Stamp stamp) {
+            this.total = total;
+            this.expireAt = expireAt;
+            this.stamp = stamp;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2011-2022, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.extension.plugins.pagination.estimators;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 数据库 总数估算接口
+ * <p>
+ * 估算 SQL 与原查询使用相同的参数, 结果每行映射为 Map
+ *
+ * @author agent
+ * @since 3.5.3
+ */
+public interface ICountEstimator {
+
+    /**
+     * 组装估算语句
+     *
+     * @param originalSql 原始语句
+     * @return 估算语句
+     */
+    String buildEstimateSql(String originalSql);
+
+    /**
+     * 解析估算结果
+     *
+     * @param rows 估算语句的结果
+     * @return 估算的总数, 无法解析时返回 null
+     */
+    Long parseEstimate(List<Map<String, Object>> rows);
+
+    /**
+     * 忽略大小写获取列值
+     *
+     * @param row    行
+     * @param column 列名
+     * @return 列值
+     */
+    static Object getColumn(Map<String, Object> row, String column) {
+        for (Map.Entry<String, Object> entry : row.entrySet()) {
+            if (column.equalsIgnoreCase(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+}
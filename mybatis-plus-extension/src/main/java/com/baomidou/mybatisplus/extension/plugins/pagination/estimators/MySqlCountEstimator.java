@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2011-2022, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.extension.plugins.pagination.estimators;
+
+import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MYSQL 总数估算: EXPLAIN 中驱动表的 rows * filtered
+ * <p>
+ * 只有单表查询(执行计划只有一行)时估算, 连表或子查询的结果行数无法从单行得出, 返回 null 退回精确 count
+ *
+ * @author agent
+ * @since 3.5.3
+ */
+public class MySqlCountEstimator implements ICountEstimator {
+
+    @Override
+    public String buildEstimateSql(String originalSql) {
+        return "EXPLAIN " + originalSql;
+    }
+
+    @Override
+    public Long parseEstimate(List<Map<String, Object>> rows) {
+        if (CollectionUtils.isEmpty(rows) || rows.size() > 1) {
+            return null;
+        }
+        Map<String, Object> row = rows.get(0);
+        Object estimate = ICountEstimator.getColumn(row, "rows");
+        if (estimate == null) {
+            return null;
+        }
+        double total = Double.parseDouble(estimate.toString());
+        Object filtered = ICountEstimator.getColumn(row, "filtered");
+        if (filtered != null) {
+            total = total * Double.parseDouble(filtered.toString()) / 100;
+        }
+        return Math.round(total);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2011-2022, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.extension.plugins.pagination.estimators;
+
+import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * POSTGRESQL 总数估算: EXPLAIN 中根节点的 rows
+ * <p>
+ * 无条件的单表查询时即为 pg_class.reltuples 的估算值
+ *
+ * @author agent
+ * @since 3.5.3
+ */
+public class PostgreCountEstimator implements ICountEstimator {
+
+    private static final Pattern ROWS = Pattern.compile("rows=(\\d+)");
+
+    @Override
+    public String buildEstimateSql(String originalSql) {
+        return "EXPLAIN " + originalSql;
+    }
+
+    @Override
+    public Long parseEstimate(List<Map<String, Object>> rows) {
+        if (CollectionUtils.isEmpty(rows)) {
+            return null;
+        }
+        for (Object plan : rows.get(0).values()) {
+            if (plan != null) {
+                Matcher matcher = ROWS.matcher(plan.toString());
+                if (matcher.find()) {
+                    return Long.parseLong(matcher.group(1));
+                }
+            }
+        }
+        return null;
+    }
+}
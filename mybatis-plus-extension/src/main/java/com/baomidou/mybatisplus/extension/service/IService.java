@@ -29,6 +29,8 @@ import com.baomidou.mybatisplus.extension.conditions.update.LambdaUpdateChainWra
 import com.baomidou.mybatisplus.extension.conditions.update.UpdateChainWrapper;
 import com.baomidou.mybatisplus.extension.kotlin.KtQueryChainWrapper;
 import com.baomidou.mybatisplus.extension.kotlin.KtUpdateChainWrapper;
+import com.baomidou.mybatisplus.extension.toolkit.BatchExecuteException;
+import com.baomidou.mybatisplus.extension.toolkit.BatchExecuteResult;
 import com.baomidou.mybatisplus.extension.toolkit.ChainWrappers;
 import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
 import org.springframework.transaction.annotation.Transactional;
@@ -81,6 +83,52 @@ public interface IService<T> {
      */
     boolean saveBatch(Collection<T> entityList, int batchSize);
 
+    /**
+     * 插入（批量），返回每条数据的影响行数
+     * <p>执行失败时抛出 {@link BatchExecuteException} 并回滚, 失败的数据下标见 {@link BatchExecuteException#getResult()}</p>
+     *
+     * @param entityList 实体对象集合
+     * @since 3.5.3
+     */
+    @Transactional(rollbackFor = Exception.class)
+    default BatchExecuteResult saveBatchResult(Collection<T> entityList) {
+        return saveBatchResult(entityList, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * 插入（批量），返回每条数据的影响行数
+     *
+     * @param entityList 实体对象集合
+     * @param batchSize  插入批次数量
+     * @since 3.5.3
+     */
+    default BatchExecuteResult saveBatchResult(Collection<T> entityList, int batchSize) {
+        throw new UnsupportedOperationException("不支持的方法!");
+    }
+
+    /**
+     * 插入（批量，多行 VALUES）
+     * <p>一条 insert 语句插入多行, 每条语句的行数受数据库绑定参数上限限制, 数据库不支持时退回 {@link #saveBatch(Collection, int)}</p>
+     *
+     * @param entityList 实体对象集合
+     * @since 3.5.3
+     */
+    @Transactional(rollbackFor = Exception.class)
+    default boolean saveBatchMultiRow(Collection<T> entityList) {
+        return saveBatchMultiRow(entityList, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * 插入（批量，多行 VALUES）
+     *
+     * @param entityList 实体对象集合
+     * @param batchSize  每条 insert 语句的最大行数
+     * @since 3.5.3
+     */
+    default boolean saveBatchMultiRow(Collection<T> entityList, int batchSize) {
+        return saveBatch(entityList, batchSize);
+    }
+
     /**
      * 批量修改插入
      *
@@ -276,6 +324,53 @@ public interface IService<T> {
      */
     boolean updateBatchById(Collection<T> entityList, int batchSize);
 
+    /**
+     * 根据ID 批量更新，返回每条数据的影响行数
+     * <p>影响行数为 0 的数据(不存在或乐观锁版本不匹配)见 {@link BatchExecuteResult#getUnmatchedIndexes()}</p>
+     * <p>执行失败时抛出 {@link BatchExecuteException} 并回滚, 失败的数据下标见 {@link BatchExecuteException#getResult()}</p>
+     *
+     * @param entityList 实体对象集合
+     * @since 3.5.3
+     */
+    @Transactional(rollbackFor = Exception.class)
+    default BatchExecuteResult updateBatchByIdResult(Collection<T> entityList) {
+        return updateBatchByIdResult(entityList, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * 根据ID 批量更新，返回每条数据的影响行数
+     *
+     * @param entityList 实体对象集合
+     * @param batchSize  更新批次数量
+     * @since 3.5.3
+     */
+    default BatchExecuteResult updateBatchByIdResult(Collection<T> entityList, int batchSize) {
+        throw new UnsupportedOperationException("不支持的方法!");
+    }
+
+    /**
+     * 根据ID 批量更新（一条 update 语句更新多行）
+     * <p>每个字段生成 CASE 语句, 每条语句的行数受数据库绑定参数上限限制, 数据库不支持时退回 {@link #updateBatchById(Collection, int)}</p>
+     *
+     * @param entityList 实体对象集合
+     * @since 3.5.3
+     */
+    @Transactional(rollbackFor = Exception.class)
+    default boolean updateBatchByIdMultiRow(Collection<T> entityList) {
+        return updateBatchByIdMultiRow(entityList, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * 根据ID 批量更新（一条 update 语句更新多行）
+     *
+     * @param entityList 实体对象集合
+     * @param batchSize  每条 update 语句的最大行数
+     * @since 3.5.3
+     */
+    default boolean updateBatchByIdMultiRow(Collection<T> entityList, int batchSize) {
+        return updateBatchById(entityList, batchSize);
+    }
+
     /**
      * TableId 注解存在更新记录，否插入一条记录
      *
@@ -361,6 +456,16 @@ public interface IService<T> {
         return SqlHelper.retCount(getBaseMapper().selectCount(queryWrapper));
     }
 
+    /**
+     * 根据 Wrapper 条件，判断是否存在记录(找到第一条匹配记录即返回, 不统计总数)
+     *
+     * @param queryWrapper 实体对象封装操作类 {@link com.baomidou.mybatisplus.core.conditions.query.QueryWrapper}
+     * @since 3.5.3
+     */
+    default boolean exists(Wrapper<T> queryWrapper) {
+        return getBaseMapper().exists(queryWrapper);
+    }
+
     /**
      * 查询列表
      *
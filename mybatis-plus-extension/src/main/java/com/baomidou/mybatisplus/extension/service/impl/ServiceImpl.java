@@ -22,10 +22,12 @@ import com.baomidou.mybatisplus.core.metadata.TableInfo;
 import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
 import com.baomidou.mybatisplus.core.toolkit.*;
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.baomidou.mybatisplus.extension.toolkit.BatchExecuteResult;
 import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
 import org.apache.ibatis.binding.MapperMethod;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.session.SqlSession;
 import org.mybatis.spring.SqlSessionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -136,6 +138,35 @@ public class ServiceImpl<M extends BaseMapper<T>, T> implements IService<T> {
         return executeBatch(entityList, batchSize, (sqlSession, entity) -> sqlSession.insert(sqlStatement, entity));
     }
 
+    /**
+     * 批量插入, 返回每条数据的影响行数
+     *
+     * @param entityList ignore
+     * @param batchSize  ignore
+     * @return ignore
+     * @since 3.5.3
+     */
+    @Transactional(rollbackFor = Exception.class)
+    @Override
+    public BatchExecuteResult saveBatchResult(Collection<T> entityList, int batchSize) {
+        String sqlStatement = getSqlStatement(SqlMethod.INSERT_ONE);
+        return SqlHelper.executeBatchResult(this.entityClass, this.log, entityList, batchSize, (sqlSession, entity) -> sqlSession.insert(sqlStatement, entity));
+    }
+
+    /**
+     * 多行 VALUES 批量插入
+     *
+     * @param entityList ignore
+     * @param batchSize  ignore
+     * @return ignore
+     * @since 3.5.3
+     */
+    @Transactional(rollbackFor = Exception.class)
+    @Override
+    public boolean saveBatchMultiRow(Collection<T> entityList, int batchSize) {
+        return SqlHelper.saveBatchMultiRow(this.entityClass, this.mapperClass, this.log, entityList, batchSize);
+    }
+
     /**
      * 获取mapperStatementId
      *
@@ -172,24 +203,39 @@ public class ServiceImpl<M extends BaseMapper<T>, T> implements IService<T> {
     public boolean saveOrUpdateBatch(Collection<T> entityList, int batchSize) {
         TableInfo tableInfo = TableInfoHelper.getTableInfo(entityClass);
         Assert.notNull(tableInfo, "error: can not execute. because can not find cache of TableInfo for entity!");
-        String keyProperty = tableInfo.getKeyProperty();
-        Assert.notEmpty(keyProperty, "error: can not execute. because can not find column for id from entity!");
-        return SqlHelper.saveOrUpdateBatch(this.entityClass, this.mapperClass, this.log, entityList, batchSize, (sqlSession, entity) -> {
-            Object idVal = tableInfo.getPropertyValue(entity, keyProperty);
-            return StringUtils.checkValNull(idVal)
-                || CollectionUtils.isEmpty(sqlSession.selectList(getSqlStatement(SqlMethod.SELECT_BY_ID), entity));
-        }, (sqlSession, entity) -> {
+        return SqlHelper.saveOrUpdateBatch(this.entityClass, this.mapperClass, this.log, entityList, batchSize);
+    }
+
+    @Transactional(rollbackFor = Exception.class)
+    @Override
+    public boolean updateBatchById(Collection<T> entityList, int batchSize) {
+        String sqlStatement = getSqlStatement(SqlMethod.UPDATE_BY_ID);
+        return executeBatch(entityList, batchSize, (sqlSession, entity) -> {
             MapperMethod.ParamMap<T> param = new MapperMethod.ParamMap<>();
             param.put(Constants.ENTITY, entity);
-            sqlSession.update(getSqlStatement(SqlMethod.UPDATE_BY_ID), param);
+            sqlSession.update(sqlStatement, param);
         });
     }
 
+    /**
+     * 根据 ID 批量更新, 每批数据只执行一条 CASE 语句
+     *
+     * @param entityList ignore
+     * @param batchSize  ignore
+     * @return ignore
+     * @since 3.5.3
+     */
+    @Transactional(rollbackFor = Exception.class)
+    @Override
+    public boolean updateBatchByIdMultiRow(Collection<T> entityList, int batchSize) {
+        return SqlHelper.updateBatchByIdMultiRow(this.entityClass, this.mapperClass, this.log, entityList, batchSize);
+    }
+
     @Transactional(rollbackFor = Exception.class)
     @Override
-    public boolean updateBatchById(Collection<T> entityList, int batchSize) {
+    public BatchExecuteResult updateBatchByIdResult(Collection<T> entityList, int batchSize) {
         String sqlStatement = getSqlStatement(SqlMethod.UPDATE_BY_ID);
-        return executeBatch(entityList, batchSize, (sqlSession, entity) -> {
+        return SqlHelper.executeBatchResult(this.entityClass, this.log, entityList, batchSize, (sqlSession, entity) -> {
             MapperMethod.ParamMap<T> param = new MapperMethod.ParamMap<>();
             param.put(Constants.ENTITY, entity);
             sqlSession.update(sqlStatement, param);
@@ -201,7 +247,8 @@ public class ServiceImpl<M extends BaseMapper<T>, T> implements IService<T> {
         if (throwEx) {
             return baseMapper.selectOne(queryWrapper);
         }
-        return SqlHelper.getObject(log, baseMapper.selectList(queryWrapper));
+        // 与 selectOne 一致读取 2 行, 有多条结果时 getObject 可以打印警告
+        return SqlHelper.getObject(log, baseMapper.selectList(queryWrapper, new RowBounds(0, 2)));
     }
 
     @Override
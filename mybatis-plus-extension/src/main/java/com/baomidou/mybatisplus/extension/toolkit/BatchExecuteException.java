@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2011-2022, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.extension.toolkit;
+
+import com.baomidou.mybatisplus.core.exceptions.MybatisPlusException;
+import lombok.Getter;
+
+import java.sql.BatchUpdateException;
+
+/**
+ * 批量操作执行失败, 抛出时已执行的数据随事务回滚
+ * <p>
+ * 通过 {@link #getResult()} 获取失败时每个元素的影响行数, 用于定位失败的数据
+ * </p>
+ *
+ * @author agent
+ * @since 3.5.3
+ */
+@Getter
+public class BatchExecuteException extends MybatisPlusException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 失败时的批量操作结果
+     */
+    private final transient BatchExecuteResult result;
+
+    public BatchExecuteException(BatchExecuteResult result, BatchUpdateException cause) {
+        super("batch execute failed, failed indexes: " + result.getFailedIndexes(), cause);
+        this.result = result;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2011-2022, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.extension.toolkit;
+
+import lombok.Getter;
+
+import java.sql.BatchUpdateException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 批量操作结果, 按入参集合的顺序记录每个元素的影响行数
+ * <p>
+ * 影响行数取自驱动返回的 {@link Statement#executeBatch()} 结果:
+ * <li> {@link Statement#SUCCESS_NO_INFO}: 执行成功但驱动未返回影响行数(如 MySQL 开启 rewriteBatchedStatements, Oracle) </li>
+ * <li> {@link Statement#EXECUTE_FAILED}: 执行失败, 或因前面的元素失败而未执行 </li>
+ * </p>
+ *
+ * @author agent
+ * @since 3.5.3
+ */
+@Getter
+public class BatchExecuteResult {
+
+    /**
+     * 每个元素的影响行数
+     */
+    private final int[] updateCounts;
+
+    /**
+     * 批量执行失败时驱动抛出的异常, 成功时为 null
+     */
+    private BatchUpdateException exception;
+
+    public BatchExecuteResult(int size) {
+        this.updateCounts = new int[size];
+        Arrays.fill(this.updateCounts, Statement.EXECUTE_FAILED);
+    }
+
+    /**
+     * 记录失败, 未写入影响行数的元素保持 {@link Statement#EXECUTE_FAILED}
+     *
+     * @param exception 驱动抛出的异常
+     */
+    void failed(BatchUpdateException exception) {
+        this.exception = exception;
+    }
+
+    /**
+     * 是否全部执行成功
+     */
+    public boolean isSuccess() {
+        return exception == null;
+    }
+
+    /**
+     * 获取单个元素的影响行数
+     *
+     * @param index 元素下标
+     */
+    public int getUpdateCount(int index) {
+        return updateCounts[index];
+    }
+
+    /**
+     * 影响行数合计, 不包含 {@link Statement#SUCCESS_NO_INFO} 与 {@link Statement#EXECUTE_FAILED}
+     */
+    public long getTotal() {
+        return Arrays.stream(updateCounts).filter(i -> i > 0).asLongStream().sum();
+    }
+
+    /**
+     * 执行失败(含未执行)的元素下标
+     */
+    public List<Integer> getFailedIndexes() {
+        return indexesOf(Statement.EXECUTE_FAILED);
+    }
+
+    /**
+     * 执行成功但未影响任何行的元素下标, 如 updateById 时数据不存在或乐观锁版本不匹配
+     */
+    public List<Integer> getUnmatchedIndexes() {
+        return indexesOf(0);
+    }
+
+    private List<Integer> indexesOf(int updateCount) {
+        List<Integer> indexes = null;
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] == updateCount) {
+                if (indexes == null) {
+                    indexes = new ArrayList<>();
+                }
+                indexes.add(i);
+            }
+        }
+        return indexes == null ? Collections.emptyList() : indexes;
+    }
+}
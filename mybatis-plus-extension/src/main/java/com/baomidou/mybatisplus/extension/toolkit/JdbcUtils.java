@@ -22,12 +22,24 @@ import com.baomidou.mybatisplus.core.toolkit.StringUtils;
 import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 /**
  * JDBC 工具类
@@ -39,6 +51,29 @@ public class JdbcUtils {
 
     private static final Log logger = LogFactory.getLog(JdbcUtils.class);
     private static final Map<String, DbType> JDBC_DB_TYPE_CACHE = new ConcurrentHashMap<>();
+    /**
+     * DataSource - 数据库类型, 弱引用 DataSource 避免阻止其回收
+     */
+    private static final Map<DataSource, DbType> DATA_SOURCE_DB_TYPE_CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+    /**
+     * DataSource - 是否为路由数据源, 弱引用 DataSource 避免阻止其回收
+     */
+    private static final Map<DataSource, Boolean> ROUTING_DATA_SOURCE_CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+    /**
+     * 路由数据源类型, 这些数据源的每个连接可能属于不同的数据库, 不缓存数据库类型
+     */
+    private static final Set<Class<?>> ROUTING_DATA_SOURCE_CLASSES = new CopyOnWriteArraySet<>();
+    /**
+     * Spring DelegatingDataSource 及其 getTargetDataSource 方法, 不存在时为 null
+     */
+    private static final Class<?> DELEGATING_DATA_SOURCE_CLASS = loadClass("org.springframework.jdbc.datasource.DelegatingDataSource");
+    private static final Method GET_TARGET_DATA_SOURCE_METHOD = getTargetDataSourceMethod();
+
+    static {
+        Stream.of("org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource",
+                "com.baomidou.dynamic.datasource.ds.AbstractRoutingDataSource")
+            .map(JdbcUtils::loadClass).filter(Objects::nonNull).forEach(ROUTING_DATA_SOURCE_CLASSES::add);
+    }
 
     /**
      * 不关闭 Connection,因为是从事务里获取的,sqlSession会负责关闭
@@ -48,13 +83,140 @@ public class JdbcUtils {
      */
     public static DbType getDbType(Executor executor) {
         try {
-            Connection conn = executor.getTransaction().getConnection();
-            return JDBC_DB_TYPE_CACHE.computeIfAbsent(conn.getMetaData().getURL(), JdbcUtils::getDbType);
+            return getDbType(executor.getTransaction().getConnection());
+        } catch (SQLException e) {
+            throw ExceptionUtils.mpe(e);
+        }
+    }
+
+    /**
+     * 不关闭 Connection,因为是从 sqlSession 里获取的,sqlSession会负责关闭
+     *
+     * @param connection Connection
+     * @return DbType
+     * @since 3.5.3
+     */
+    public static DbType getDbType(Connection connection) {
+        try {
+            return JDBC_DB_TYPE_CACHE.computeIfAbsent(connection.getMetaData().getURL(), JdbcUtils::getDbType);
         } catch (SQLException e) {
             throw ExceptionUtils.mpe(e);
         }
     }
 
+    /**
+     * 按 {@link Environment} 的 DataSource 缓存数据库类型, 同一个 DataSource 只在第一次读取连接信息
+     * <p>
+     * 路由数据源(Spring AbstractRoutingDataSource, dynamic-datasource 的 AbstractRoutingDataSource,
+     * 以及通过 {@link #registerRoutingDataSource(Class)} 注册的类型)的每个连接可能属于不同的数据库, 仍按连接判断;
+     * Spring DelegatingDataSource 按其目标数据源判断
+     *
+     * @param configuration Configuration
+     * @param executor      Executor
+     * @return DbType
+     * @since 3.5.3
+     */
+    public static DbType getDbType(Configuration configuration, Executor executor) {
+        return getDbType(configuration, () -> getDbType(executor));
+    }
+
+    /**
+     * 按 {@link Environment} 的 DataSource 缓存数据库类型, 未缓存时从 sqlSession 的连接读取
+     *
+     * @param sqlSession SqlSession
+     * @return DbType
+     * @see #getDbType(Configuration, Executor)
+     * @since 3.5.3
+     */
+    public static DbType getDbType(SqlSession sqlSession) {
+        return getDbType(sqlSession.getConfiguration(), () -> getDbType(sqlSession.getConnection()));
+    }
+
+    private static DbType getDbType(Configuration configuration, Supplier<DbType> supplier) {
+        Environment environment = configuration.getEnvironment();
+        DataSource dataSource = environment == null ? null : environment.getDataSource();
+        if (dataSource == null) {
+            return supplier.get();
+        }
+        // 只缓存非路由数据源, 命中时不再判断是否为路由数据源
+        DbType dbType = DATA_SOURCE_DB_TYPE_CACHE.get(dataSource);
+        if (dbType == null) {
+            dbType = supplier.get();
+            if (!isRoutingDataSource(dataSource)) {
+                DATA_SOURCE_DB_TYPE_CACHE.put(dataSource, dbType);
+            }
+        }
+        return dbType;
+    }
+
+    /**
+     * 注册路由数据源类型, 该类型(及其子类)的数据源不缓存数据库类型
+     *
+     * @param routingDataSourceClass 路由数据源类型
+     * @since 3.5.3
+     */
+    public static void registerRoutingDataSource(Class<? extends DataSource> routingDataSourceClass) {
+        Assert.notNull(routingDataSourceClass, "routingDataSourceClass must not be null");
+        ROUTING_DATA_SOURCE_CLASSES.add(routingDataSourceClass);
+        ROUTING_DATA_SOURCE_CACHE.clear();
+        DATA_SOURCE_DB_TYPE_CACHE.clear();
+    }
+
+    /**
+     * 是否为路由数据源, 路由数据源的每个连接可能属于不同的数据库, 判断结果按 DataSource 缓存
+     *
+     * @param dataSource 数据源
+     * @return 是否为路由数据源
+     * @see #registerRoutingDataSource(Class)
+     * @since 3.5.3
+     */
+    public static boolean isRoutingDataSource(DataSource dataSource) {
+        Boolean routing = ROUTING_DATA_SOURCE_CACHE.get(dataSource);
+        if (routing == null) {
+            routing = checkRoutingDataSource(dataSource);
+            ROUTING_DATA_SOURCE_CACHE.put(dataSource, routing);
+        }
+        return routing;
+    }
+
+    private static boolean checkRoutingDataSource(DataSource dataSource) {
+        for (DataSource ds = dataSource; ds != null; ds = getTargetDataSource(ds)) {
+            for (Class<?> clazz : ROUTING_DATA_SOURCE_CLASSES) {
+                if (clazz.isInstance(ds)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static DataSource getTargetDataSource(DataSource dataSource) {
+        if (GET_TARGET_DATA_SOURCE_METHOD == null || !DELEGATING_DATA_SOURCE_CLASS.isInstance(dataSource)) {
+            return null;
+        }
+        try {
+            return (DataSource) GET_TARGET_DATA_SOURCE_METHOD.invoke(dataSource);
+        } catch (ReflectiveOperationException e) {
+            throw ExceptionUtils.mpe(e);
+        }
+    }
+
+    private static Method getTargetDataSourceMethod() {
+        try {
+            return DELEGATING_DATA_SOURCE_CLASS == null ? null : DELEGATING_DATA_SOURCE_CLASS.getMethod("getTargetDataSource");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static Class<?> loadClass(String className) {
+        try {
+            return Class.forName(className, false, JdbcUtils.class.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+    }
+
     /**
      * 根据连接地址判断数据库类型
      *
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2011-2022, baomidou (jobob@qq.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.baomidou.mybatisplus.extension.toolkit;
+
+import com.baomidou.mybatisplus.core.toolkit.Assert;
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import com.baomidou.mybatisplus.core.toolkit.StringPool;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.session.Configuration;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 命名参数标记绑定工具类
+ * <p>
+ * 改写 SQL 时先以 jsqlparser 的命名参数(形如 {@code :name})作为占位标记,
+ * 反解析后再把标记替换为 {@code ?}, 并按出现顺序插入对应的 {@link ParameterMapping}
+ *
+ * @author agent
+ * @since 3.5.3
+ */
+public final class NamedParameterUtils {
+
+    private NamedParameterUtils() {
+    }
+
+    /**
+     * 绑定 SQL 中的命名参数标记, 并回写到 BoundSql
+     * <p>
+     * 原有的 {@code ?} 按顺序对应原有的 ParameterMapping, 标记对应的值设置为 BoundSql 的附加参数
+     *
+     * @param configuration Configuration
+     * @param boundSql      BoundSql
+     * @param sql           含有命名参数标记的 SQL
+     * @param parameters    标记名称与参数值
+     * @return SQL 中是否存在标记
+     */
+    public static boolean bind(Configuration configuration, BoundSql boundSql, String sql, Map<String, Object> parameters) {
+        PluginUtils.MPBoundSql mpBs = PluginUtils.mpBoundSql(boundSql);
+        List<ParameterMapping> mappings = mpBs.parameterMappings();
+        List<ParameterMapping> newMappings = new ArrayList<>(mappings.size() + parameters.size());
+        Map<String, ParameterMapping> markerMappings = new HashMap<>(parameters.size());
+        StringBuilder builder = new StringBuilder(sql.length());
+        int length = sql.length();
+        int index = 0;
+        boolean found = false;
+        char quote = 0;
+        for (int i = 0; i < length; i++) {
+            char c = sql.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            } else if (c == '?') {
+                Assert.isTrue(index < mappings.size(), "Failed to bind named parameter, Error SQL: %s", sql);
+                newMappings.add(mappings.get(index++));
+            } else if (c == ':') {
+                int end = i + 1;
+                while (end < length && isIdentifierPart(sql.charAt(end))) {
+                    end++;
+                }
+                String name = sql.substring(i + 1, end);
+                if (end > i + 1 && parameters.containsKey(name)) {
+                    Object value = parameters.get(name);
+                    Assert.notNull(value, "named parameter \"%s\" can not be null", name);
+                    newMappings.add(markerMappings.computeIfAbsent(name, k ->
+                        new ParameterMapping.Builder(configuration, k, value.getClass()).build()));
+                    builder.append(StringPool.QUESTION_MARK);
+                    i = end - 1;
+                    found = true;
+                    continue;
+                }
+            }
+            builder.append(c);
+        }
+        Assert.isTrue(index == mappings.size(), "Failed to bind named parameter, Error SQL: %s", sql);
+        if (found) {
+            markerMappings.keySet().forEach(name -> boundSql.setAdditionalParameter(name, parameters.get(name)));
+            mpBs.sql(builder.toString());
+            mpBs.parameterMappings(newMappings);
+        } else {
+            mpBs.sql(sql);
+        }
+        return found;
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+}
@@ -15,14 +15,20 @@
  */
 package com.baomidou.mybatisplus.extension.toolkit;
 
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.annotation.IdType;
 import com.baomidou.mybatisplus.core.enums.SqlMethod;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
 import com.baomidou.mybatisplus.core.metadata.TableInfo;
 import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
 import com.baomidou.mybatisplus.core.toolkit.*;
 import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
 import lombok.SneakyThrows;
+import org.apache.ibatis.binding.MapperMethod;
 import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.executor.BatchExecutorException;
+import org.apache.ibatis.executor.BatchResult;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.reflection.ExceptionUtil;
 import org.apache.ibatis.session.ExecutorType;
@@ -33,9 +39,15 @@ import org.mybatis.spring.SqlSessionHolder;
 import org.mybatis.spring.SqlSessionUtils;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.BatchUpdateException;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.BiPredicate;
 import java.util.function.Consumer;
@@ -54,6 +66,11 @@ public final class SqlHelper {
      */
     public static SqlSessionFactory FACTORY;
 
+    /**
+     * IN 查询每次的最大参数个数
+     */
+    private static final int IN_LIMIT = 1000;
+
     /**
      * 批量操作 SqlSession
      *
@@ -163,8 +180,22 @@ public final class SqlHelper {
      * @return 操作结果
      * @since 3.4.0
      */
-    @SneakyThrows
     public static boolean executeBatch(Class<?> entityClass, Log log, Consumer<SqlSession> consumer) {
+        return execute(entityClass, log, ExecutorType.BATCH, consumer);
+    }
+
+    /**
+     * 使用指定执行器的 SqlSession 执行操作, 事务处理与 {@link #executeBatch(Class, Log, Consumer)} 相同
+     *
+     * @param entityClass  实体
+     * @param log          日志对象
+     * @param executorType 执行器类型
+     * @param consumer     consumer
+     * @return 操作结果
+     * @since 3.5.3
+     */
+    @SneakyThrows
+    private static boolean execute(Class<?> entityClass, Log log, ExecutorType executorType, Consumer<SqlSession> consumer) {
         SqlSessionFactory sqlSessionFactory = sqlSessionFactory(entityClass);
         SqlSessionHolder sqlSessionHolder = (SqlSessionHolder) TransactionSynchronizationManager.getResource(sqlSessionFactory);
         boolean transaction = TransactionSynchronizationManager.isSynchronizationActive();
@@ -174,7 +205,7 @@ public final class SqlHelper {
             //按道理来说，这里的值应该一直为false。
             sqlSession.commit(!transaction);
         }
-        SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH);
+        SqlSession sqlSession = sqlSessionFactory.openSession(executorType);
         if (!transaction) {
             log.warn("SqlSession [" + sqlSession + "] Transaction not enabled");
         }
@@ -186,6 +217,9 @@ public final class SqlHelper {
         } catch (Throwable t) {
             sqlSession.rollback();
             Throwable unwrapped = ExceptionUtil.unwrapThrowable(t);
+            if (unwrapped instanceof BatchExecuteException) {
+                throw unwrapped;
+            }
             if (unwrapped instanceof PersistenceException) {
                 MyBatisExceptionTranslator myBatisExceptionTranslator
                     = new MyBatisExceptionTranslator(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(), true);
@@ -229,6 +263,303 @@ public final class SqlHelper {
         });
     }
 
+    /**
+     * 执行批量操作并返回每个元素的影响行数
+     * <p>
+     * consumer 对每个元素必须且只能执行一条 insert/update/delete 语句, 否则无法与 flush 返回的结果一一对应.
+     * 驱动抛出 {@link BatchUpdateException} 时停止执行后续批次, 回滚后抛出 {@link BatchExecuteException},
+     * 其中的 {@link BatchExecuteResult} 记录失败时每个元素的影响行数, 处于 spring 事务中时整个事务回滚
+     * </p>
+     *
+     * @param entityClass 实体类
+     * @param log         日志对象
+     * @param list        数据集合
+     * @param batchSize   批次大小
+     * @param consumer    consumer
+     * @param <E>         T
+     * @return 批量操作结果
+     * @throws BatchExecuteException 批量执行失败
+     * @since 3.5.3
+     */
+    public static <E> BatchExecuteResult executeBatchResult(Class<?> entityClass, Log log, Collection<E> list, int batchSize, BiConsumer<SqlSession, E> consumer) {
+        Assert.isFalse(batchSize < 1, "batchSize must not be less than one");
+        BatchExecuteResult result = new BatchExecuteResult(list == null ? 0 : list.size());
+        if (CollectionUtils.isEmpty(list)) {
+            return result;
+        }
+        executeBatch(entityClass, log, sqlSession -> {
+            int size = list.size();
+            int idxLimit = Math.min(batchSize, size);
+            int offset = 0;
+            int i = 1;
+            for (E element : list) {
+                consumer.accept(sqlSession, element);
+                if (i == idxLimit) {
+                    try {
+                        Assert.isTrue(fillUpdateCounts(result, offset, i, sqlSession.flushStatements()) == i,
+                            "the consumer of executeBatchResult must execute exactly one statement per element");
+                    } catch (PersistenceException e) {
+                        if (!(e.getCause() instanceof BatchExecutorException)) {
+                            throw e;
+                        }
+                        BatchExecutorException batchException = (BatchExecutorException) e.getCause();
+                        int failedOffset = fillUpdateCounts(result, offset, i, batchException.getSuccessfulBatchResults());
+                        int[] updateCounts = batchException.getBatchUpdateException().getUpdateCounts();
+                        System.arraycopy(updateCounts, 0, result.getUpdateCounts(), failedOffset, Math.min(updateCounts.length, i - failedOffset));
+                        result.failed(batchException.getBatchUpdateException());
+                        throw new BatchExecuteException(result, batchException.getBatchUpdateException());
+                    }
+                    offset = i;
+                    idxLimit = Math.min(idxLimit + batchSize, size);
+                }
+                i++;
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 按顺序写入 flush 返回的影响行数
+     *
+     * @param result       批量操作结果
+     * @param offset       本批次第一个元素的下标
+     * @param end          本批次最后一个元素的下标 + 1
+     * @param batchResults flush 结果
+     * @return 下一个待写入的下标
+     */
+    private static int fillUpdateCounts(BatchExecuteResult result, int offset, int end, List<BatchResult> batchResults) {
+        int index = offset;
+        for (BatchResult batchResult : batchResults) {
+            int[] updateCounts = batchResult.getUpdateCounts();
+            Assert.isTrue(index + updateCounts.length <= end, "the consumer of executeBatchResult must execute exactly one statement per element");
+            System.arraycopy(updateCounts, 0, result.getUpdateCounts(), index, updateCounts.length);
+            index += updateCounts.length;
+        }
+        return index;
+    }
+
+    /**
+     * 多行 VALUES 批量插入
+     * <p>
+     * 每条语句的行数取 batchSize 与数据库绑定参数上限 / 每行参数个数 中的较小值, 例如 PostgreSQL 32767, SQLServer 2100;
+     * 插入的字段按字段策略由每行的值决定, 插入字段不同的相邻行会拆分为不同的语句
+     * </p>
+     * <p>
+     * 数据库不支持多行 VALUES(或自增主键无法多行回写)、主键使用序列、或 mapper 未注入 {@link com.baomidou.mybatisplus.core.injector.methods.InsertBatch} 时,
+     * 退回 {@link #executeBatch(Class, Log, Collection, int, BiConsumer)} 逐条 JDBC 批量插入
+     * </p>
+     *
+     * @param entityClass 实体类
+     * @param mapper      mapper 类
+     * @param log         日志对象
+     * @param list        数据集合
+     * @param batchSize   每条语句的最大行数
+     * @param <E>         E
+     * @return 操作结果
+     * @since 3.5.3
+     */
+    public static <E> boolean saveBatchMultiRow(Class<?> entityClass, Class<?> mapper, Log log, Collection<E> list, int batchSize) {
+        Assert.isFalse(batchSize < 1, "batchSize must not be less than one");
+        if (CollectionUtils.isEmpty(list)) {
+            return false;
+        }
+        TableInfo tableInfo = table(entityClass);
+        String sqlStatement = getSqlStatement(mapper, SqlMethod.INSERT_BATCH);
+        DbType dbType = null;
+        int maxParameters = 0;
+        if (tableInfo.getKeySequence() == null && tableInfo.getConfiguration().hasStatement(sqlStatement, false)) {
+            dbType = getDbType(entityClass);
+            maxParameters = multiRowInsertMaxParameters(dbType, tableInfo.getIdType() == IdType.AUTO);
+        }
+        if (maxParameters <= 0) {
+            String insertOne = getSqlStatement(mapper, SqlMethod.INSERT_ONE);
+            return executeBatch(entityClass, log, list, batchSize, (sqlSession, entity) -> sqlSession.insert(insertOne, entity));
+        }
+        final int maxRows = Math.min(batchSize, dbType == DbType.SQL_SERVER ? 1000 : Integer.MAX_VALUE);
+        final int parameters = maxParameters;
+        return execute(entityClass, log, ExecutorType.SIMPLE, sqlSession -> {
+            List<E> rows = new ArrayList<>();
+            BitSet columns = null;
+            int limit = 0;
+            for (E entity : list) {
+                BitSet current = insertColumns(tableInfo, entity);
+                if (!rows.isEmpty() && (rows.size() >= limit || !current.equals(columns))) {
+                    insertRows(sqlSession, sqlStatement, rows);
+                    rows = new ArrayList<>();
+                }
+                if (rows.isEmpty()) {
+                    columns = current;
+                    limit = Math.max(1, Math.min(maxRows, parameters / Math.max(1, current.cardinality())));
+                }
+                rows.add(entity);
+            }
+            insertRows(sqlSession, sqlStatement, rows);
+        });
+    }
+
+    /**
+     * 单条多行 insert 语句的绑定参数上限, 0 表示不使用多行 VALUES
+     *
+     * @param dbType        数据库类型
+     * @param generatedKeys 是否需要回写自增主键
+     * @return 参数上限
+     */
+    private static int multiRowInsertMaxParameters(DbType dbType, boolean generatedKeys) {
+        switch (dbType) {
+            case MYSQL:
+            case MARIADB:
+            case H2:
+            case POSTGRE_SQL:
+                return maxParameters(dbType);
+            case SQL_SERVER:
+            case SQLITE:
+                // 多行 insert 只能返回最后一个自增主键
+                return generatedKeys ? 0 : maxParameters(dbType);
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * 单条语句的绑定参数上限, 0 表示未知
+     *
+     * @param dbType 数据库类型
+     * @return 参数上限
+     */
+    private static int maxParameters(DbType dbType) {
+        switch (dbType) {
+            case MYSQL:
+            case MARIADB:
+            case H2:
+            case ORACLE:
+            case ORACLE_12C:
+                return 65535;
+            case POSTGRE_SQL:
+                return 32767;
+            case SQL_SERVER:
+                return 2100;
+            case SQLITE:
+                return 999;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * 该行实际插入的字段, 与 {@link com.baomidou.mybatisplus.core.injector.methods.InsertBatch} 中首行的判断一致
+     */
+    private static BitSet insertColumns(TableInfo tableInfo, Object entity) {
+        BitSet columns = new BitSet();
+        List<TableFieldInfo> fieldList = tableInfo.getFieldList();
+        for (int i = 0; i < fieldList.size(); i++) {
+            TableFieldInfo fieldInfo = fieldList.get(i);
+            if (fieldInfo.isInsertValue(tableInfo.getPropertyValue(entity, fieldInfo.getProperty()))) {
+                columns.set(i);
+            }
+        }
+        if (tableInfo.havePK() && (tableInfo.getIdType() != IdType.AUTO
+            || tableInfo.getPropertyValue(entity, tableInfo.getKeyProperty()) != null)) {
+            columns.set(fieldList.size());
+        }
+        return columns;
+    }
+
+    private static <E> void insertRows(SqlSession sqlSession, String sqlStatement, List<E> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        MapperMethod.ParamMap<Object> param = new MapperMethod.ParamMap<>();
+        param.put(Constants.LIST, rows);
+        sqlSession.insert(sqlStatement, param);
+    }
+
+    /**
+     * 根据 ID 批量更新, 每批数据只执行一条 CASE 语句
+     * <p>
+     * 每条语句的行数受数据库绑定参数上限与 IN 列表上限限制,
+     * 数据库未知或未注入 {@link com.baomidou.mybatisplus.core.injector.methods.UpdateBatchById} 时退回逐条 updateById 批量执行
+     * </p>
+     *
+     * @param entityClass 实体类
+     * @param mapper      Mapper 类
+     * @param log         日志对象
+     * @param list        数据集合
+     * @param batchSize   每条 update 语句的最大行数
+     * @param <E>         T
+     * @return 操作结果
+     * @since 3.5.3
+     */
+    public static <E> boolean updateBatchByIdMultiRow(Class<?> entityClass, Class<?> mapper, Log log, Collection<E> list, int batchSize) {
+        Assert.isFalse(batchSize < 1, "batchSize must not be less than one");
+        if (CollectionUtils.isEmpty(list)) {
+            return false;
+        }
+        TableInfo tableInfo = table(entityClass);
+        String sqlStatement = getSqlStatement(mapper, SqlMethod.UPDATE_BATCH_BY_ID);
+        int maxParameters = 0;
+        if (tableInfo.getConfiguration().hasStatement(sqlStatement, false)) {
+            maxParameters = maxParameters(getDbType(entityClass));
+        }
+        if (maxParameters <= 0) {
+            String updateById = getSqlStatement(mapper, SqlMethod.UPDATE_BY_ID);
+            return executeBatch(entityClass, log, list, batchSize, (sqlSession, entity) -> {
+                MapperMethod.ParamMap<E> param = new MapperMethod.ParamMap<>();
+                param.put(Constants.ENTITY, entity);
+                sqlSession.update(updateById, param);
+            });
+        }
+        // 每行参数: 每个字段 WHEN 主键 THEN 值, WHERE 主键与乐观锁
+        final int rowParameters = 2 * tableInfo.getFieldList().size() + 2;
+        final int maxRows = Math.max(1, Math.min(Math.min(batchSize, IN_LIMIT), maxParameters / rowParameters));
+        return execute(entityClass, log, ExecutorType.SIMPLE, sqlSession -> {
+            // CASE 语句同一主键只会命中第一个 WHEN, 重复的主键放到下一条语句, 与逐条 updateById 的执行顺序一致
+            List<E> rows = new ArrayList<>(maxRows);
+            Set<Object> ids = new HashSet<>();
+            for (E entity : list) {
+                Object id = tableInfo.getPropertyValue(entity, tableInfo.getKeyProperty());
+                if (rows.size() >= maxRows || !ids.add(id)) {
+                    updateBatchByIdCase(sqlSession, sqlStatement, tableInfo, rows);
+                    rows = new ArrayList<>(maxRows);
+                    ids.clear();
+                    ids.add(id);
+                }
+                rows.add(entity);
+            }
+            updateBatchByIdCase(sqlSession, sqlStatement, tableInfo, rows);
+        });
+    }
+
+    private static <E> void updateBatchByIdCase(SqlSession sqlSession, String sqlStatement, TableInfo tableInfo, List<E> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        MapperMethod.ParamMap<Object> param = new MapperMethod.ParamMap<>();
+        param.put(Constants.LIST, rows);
+        int count = sqlSession.update(sqlStatement, param);
+        TableFieldInfo versionFieldInfo = tableInfo.getVersionFieldInfo();
+        // 与 OptimisticLockerInnerInterceptor 一致回写新的版本号, 有行未命中时无法确定是哪些行, 全部不回写
+        if (versionFieldInfo != null && count == rows.size()) {
+            for (E entity : rows) {
+                Object version = tableInfo.getPropertyValue(entity, versionFieldInfo.getProperty());
+                if (version instanceof Integer) {
+                    tableInfo.setPropertyValue(entity, versionFieldInfo.getProperty(), (Integer) version + 1);
+                } else if (version instanceof Long) {
+                    tableInfo.setPropertyValue(entity, versionFieldInfo.getProperty(), (Long) version + 1);
+                }
+            }
+        }
+    }
+
+    private static DbType getDbType(Class<?> entityClass) {
+        SqlSessionFactory sqlSessionFactory = sqlSessionFactory(entityClass);
+        SqlSession sqlSession = SqlSessionUtils.getSqlSession(sqlSessionFactory);
+        try {
+            return JdbcUtils.getDbType(sqlSession);
+        } finally {
+            SqlSessionUtils.closeSqlSession(sqlSession, sqlSessionFactory);
+        }
+    }
+
     /**
      * 批量更新或保存
      *
@@ -253,6 +584,84 @@ public final class SqlHelper {
         });
     }
 
+    /**
+     * 批量更新或保存, 按批次使用一条 IN 查询判断主键是否存在
+     * <p>
+     * 每个批次只查询一次已存在的主键({@code selectBatchIds}, 逻辑删除的数据视为不存在), 再分为 insert 与 updateById 两组提交,
+     * 代替逐条 {@code selectById}; 同一批次中重复的主键, 首次出现时新增, 之后更新
+     * </p>
+     *
+     * @param entityClass 实体
+     * @param mapper      mapper 类
+     * @param log         日志对象
+     * @param list        数据集合
+     * @param batchSize   批次大小
+     * @param <E>         E
+     * @return 操作结果
+     * @since 3.5.3
+     */
+    public static <E> boolean saveOrUpdateBatch(Class<?> entityClass, Class<?> mapper, Log log, Collection<E> list, int batchSize) {
+        Assert.isFalse(batchSize < 1, "batchSize must not be less than one");
+        TableInfo tableInfo = table(entityClass);
+        Assert.notEmpty(tableInfo.getKeyProperty(), "error: can not execute. because can not find column for id from entity!");
+        String insertStatement = getSqlStatement(mapper, SqlMethod.INSERT_ONE);
+        String updateStatement = getSqlStatement(mapper, SqlMethod.UPDATE_BY_ID);
+        String selectStatement = getSqlStatement(mapper, SqlMethod.SELECT_BATCH_BY_IDS);
+        return !CollectionUtils.isEmpty(list) && executeBatch(entityClass, log, sqlSession -> {
+            List<E> chunk = new ArrayList<>(Math.min(batchSize, list.size()));
+            for (E entity : list) {
+                chunk.add(entity);
+                if (chunk.size() == batchSize) {
+                    saveOrUpdateChunk(sqlSession, tableInfo, insertStatement, updateStatement, selectStatement, chunk);
+                    chunk.clear();
+                }
+            }
+            saveOrUpdateChunk(sqlSession, tableInfo, insertStatement, updateStatement, selectStatement, chunk);
+        });
+    }
+
+    private static <E> void saveOrUpdateChunk(SqlSession sqlSession, TableInfo tableInfo, String insertStatement,
+                                              String updateStatement, String selectStatement, List<E> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        String keyProperty = tableInfo.getKeyProperty();
+        Set<Object> ids = new LinkedHashSet<>();
+        for (E entity : chunk) {
+            Object idVal = tableInfo.getPropertyValue(entity, keyProperty);
+            if (!StringUtils.checkValNull(idVal)) {
+                ids.add(idVal);
+            }
+        }
+        Set<Object> existIds = new HashSet<>();
+        if (!ids.isEmpty()) {
+            // IN 列表每次最多 1000 个, 兼容 oracle 的限制
+            List<Object> idList = new ArrayList<>(ids);
+            for (int i = 0; i < idList.size(); i += IN_LIMIT) {
+                MapperMethod.ParamMap<Object> param = new MapperMethod.ParamMap<>();
+                param.put(Constants.COLL, idList.subList(i, Math.min(i + IN_LIMIT, idList.size())));
+                for (Object exist : sqlSession.selectList(selectStatement, param)) {
+                    existIds.add(tableInfo.getPropertyValue(exist, keyProperty));
+                }
+            }
+        }
+        List<E> updateList = new ArrayList<>();
+        for (E entity : chunk) {
+            Object idVal = tableInfo.getPropertyValue(entity, keyProperty);
+            if (StringUtils.checkValNull(idVal) || existIds.add(idVal)) {
+                sqlSession.insert(insertStatement, entity);
+            } else {
+                updateList.add(entity);
+            }
+        }
+        for (E entity : updateList) {
+            MapperMethod.ParamMap<E> param = new MapperMethod.ParamMap<>();
+            param.put(Constants.ENTITY, entity);
+            sqlSession.update(updateStatement, param);
+        }
+        sqlSession.flushStatements();
+    }
+
     /**
      * 获取mapperStatementId
      *
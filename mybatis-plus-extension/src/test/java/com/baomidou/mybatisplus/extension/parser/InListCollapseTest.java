@@ -0,0 +1,97 @@
+package com.baomidou.mybatisplus.extension.parser;
+
+import com.baomidou.mybatisplus.extension.parser.cache.BoundedCache;
+import com.baomidou.mybatisplus.extension.plugins.handler.TenantLineHandler;
+import com.baomidou.mybatisplus.extension.plugins.inner.TenantLineInnerInterceptor;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.LongValue;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.StringJoiner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent
+ */
+class InListCollapseTest {
+
+    @Test
+    void collapse() {
+        InListCollapse collapse = InListCollapse.of("select * from t where a in (?, ?,?) and b not IN(\n?,?\n) and c in (?)", 2);
+        assertThat(collapse).isNotNull();
+        assertThat(collapse.getSql()).isEqualTo("select * from t where a in (:mybatis_plus_in_list_0) and b not IN(:mybatis_plus_in_list_1) and c in (?)");
+        assertThat(collapse.expand("SELECT * FROM t WHERE a IN (:mybatis_plus_in_list_0) AND b NOT IN (:mybatis_plus_in_list_1)"))
+            .isEqualTo("SELECT * FROM t WHERE a IN (?, ?,?) AND b NOT IN (\n?,?\n)");
+
+        // 非 IN 列表、非纯占位符列表、字符串与注释中的内容不折叠
+        assertThat(InListCollapse.of("insert into t (a, b) values (?, ?)", 2)).isNull();
+        assertThat(InListCollapse.of("select coalesce(?, ?) from t where join_in (?, ?)", 2)).isNull();
+        assertThat(InListCollapse.of("select * from t where a in (?, 1) and b = 'in (?, ?)' /* in (?, ?) */", 2)).isNull();
+        assertThat(InListCollapse.of("select * from t where a in (?, ?)", 0)).isNull();
+    }
+
+    @Test
+    void tenantLine() {
+        TenantLineInnerInterceptor interceptor = new TenantLineInnerInterceptor(new TenantLineHandler() {
+            @Override
+            public Expression getTenantId() {
+                return new LongValue(1);
+            }
+        });
+        interceptor.setInListCollapseThreshold(8);
+
+        String small = inSql(3);
+        String large = inSql(1000);
+        String expected = interceptor.parserSingle(large, null);
+        assertThat(expected).startsWith("SELECT * FROM t_user WHERE id IN (?, ?, ?").endsWith("?) AND t_user.tenant_id = 1");
+        assertThat(expected.chars().filter(c -> c == '?').count()).isEqualTo(1000);
+        assertThat(interceptor.parserSingle(small, null)).isEqualTo("SELECT * FROM t_user WHERE id IN (?, ?, ?) AND t_user.tenant_id = 1");
+
+        // 共享上下文中同样折叠与还原
+        BoundSql boundSql = new BoundSql(new Configuration(), large, Collections.emptyList(), null);
+        JsqlParserContext context = JsqlParserContext.open(boundSql);
+        try {
+            interceptor.parserSingle(large, null);
+            context.flush();
+        } finally {
+            context.close();
+        }
+        assertThat(boundSql.getSql()).isEqualTo(expected);
+    }
+
+    @Test
+    void parserCacheKey() {
+        TenantLineInnerInterceptor interceptor = new TenantLineInnerInterceptor(new TenantLineHandler() {
+            @Override
+            public Expression getTenantId() {
+                return new LongValue(1);
+            }
+
+            @Override
+            public boolean bindTenantIdParameter() {
+                return true;
+            }
+        });
+        BoundedCache<String, String> cache = new BoundedCache<>(16);
+        interceptor.setParserCache(cache);
+        interceptor.setInListCollapseThreshold(8);
+        for (int size : new int[]{10, 100, 1000}) {
+            String result = interceptor.parserSingle(inSql(size), null);
+            assertThat(result.chars().filter(c -> c == '?').count()).isEqualTo(size);
+        }
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(2);
+    }
+
+    private static String inSql(int size) {
+        StringJoiner joiner = new StringJoiner(", ", "select * from t_user where id in (", ")");
+        for (int i = 0; i < size; i++) {
+            joiner.add("?");
+        }
+        return joiner.toString();
+    }
+}
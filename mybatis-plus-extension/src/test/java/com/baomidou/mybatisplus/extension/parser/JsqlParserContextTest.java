@@ -0,0 +1,195 @@
+package com.baomidou.mybatisplus.extension.parser;
+
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import com.baomidou.mybatisplus.extension.parser.cache.BoundedCache;
+import com.baomidou.mybatisplus.extension.plugins.handler.TenantLineHandler;
+import com.baomidou.mybatisplus.extension.plugins.inner.DataPermissionInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.TenantLineInnerInterceptor;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.LongValue;
+import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
+import net.sf.jsqlparser.expression.operators.relational.EqualsTo;
+import net.sf.jsqlparser.schema.Column;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent
+ */
+class JsqlParserContextTest {
+
+    private static final String SQL = "select u.id, u.name from sys_user u left join sys_dept d on u.dept_id = d.id where u.name like ? and u.age > ?";
+
+    private final List<JsqlParserSupport> chain = Arrays.asList(
+        tenant("tenant_id", 1),
+        tenant("org_id", 2),
+        new DataPermissionInterceptor((where, id) -> and(where, new EqualsTo(new Column("u.deleted"), new LongValue(0)))),
+        new DataPermissionInterceptor((where, id) -> and(where, new EqualsTo(new Column("u.status"), new LongValue(1))))
+    );
+
+    @Test
+    void shareStatement() {
+        BoundSql boundSql = boundSql();
+        JsqlParserContext context = JsqlParserContext.open(boundSql);
+        try {
+            runChain(boundSql);
+            assertThat(boundSql.getSql()).isEqualTo(SQL);
+            context.flush();
+        } finally {
+            context.close();
+        }
+        assertThat(JsqlParserContext.current()).isNull();
+        assertThat(context.getParseCount()).isEqualTo(1);
+        assertThat(context.getDeparseCount()).isEqualTo(1);
+
+        BoundSql expected = boundSql();
+        runChain(expected);
+        assertThat(boundSql.getSql()).isEqualTo(expected.getSql());
+    }
+
+    @Test
+    void nested() {
+        BoundSql outer = boundSql();
+        JsqlParserContext outerContext = JsqlParserContext.open(outer);
+        try {
+            JsqlParserContext innerContext = JsqlParserContext.open(boundSql());
+            innerContext.close();
+            assertThat(JsqlParserContext.current()).isSameAs(outerContext);
+        } finally {
+            outerContext.close();
+        }
+        assertThat(JsqlParserContext.current()).isNull();
+    }
+
+    @Test
+    void dirtyContextSkipsCache() {
+        TenantLineInnerInterceptor first = tenant("tenant_id", 1);
+        TenantLineInnerInterceptor second = tenant("org_id", 2);
+        // 开启缓存的拦截器不能拿到前面拦截器尚未回写的旧 SQL 的缓存结果
+        second.setParserCache(new BoundedCache<>(16));
+        second.parserSingle(SQL, null);
+
+        BoundSql boundSql = boundSql();
+        JsqlParserContext context = JsqlParserContext.open(boundSql);
+        try {
+            runChain(boundSql, first, second);
+            context.flush();
+        } finally {
+            context.close();
+        }
+        assertThat(boundSql.getSql()).contains("tenant_id = 1").contains("org_id = 2");
+    }
+
+    @Test
+    void unchangedStatementIsNotDeparsed() {
+        TenantLineInnerInterceptor ignoreAll = new TenantLineInnerInterceptor(new TenantLineHandler() {
+            @Override
+            public Expression getTenantId() {
+                return new LongValue(1);
+            }
+
+            @Override
+            public boolean ignoreTable(String tableName) {
+                return true;
+            }
+        });
+        BoundSql boundSql = boundSql();
+        JsqlParserContext context = JsqlParserContext.open(boundSql);
+        try {
+            runChain(boundSql, ignoreAll, new DataPermissionInterceptor((where, id) -> null));
+            assertThat(context.isDirty()).isFalse();
+            context.flush();
+        } finally {
+            context.close();
+        }
+        assertThat(context.getParseCount()).isEqualTo(1);
+        assertThat(context.getDeparseCount()).isZero();
+        assertThat(boundSql.getSql()).isEqualTo(SQL);
+    }
+
+    /**
+     * 4 个拦截器链路下每条 SQL 分别解析与共享解析的耗时
+     * <p>
+     * 去掉 {@link Disabled} 后执行: mvn test -Dtest=JsqlParserContextTest#benchmark
+     * </p>
+     */
+    @Test
+    @Disabled("不需要参与全局test")
+    void benchmark() {
+        int warmup = 20000, iterations = 20000;
+        for (int i = 0; i < warmup; i++) {
+            runShared();
+            runChain(boundSql());
+        }
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                runChain(boundSql());
+            }
+            long separate = (System.nanoTime() - start) / iterations;
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                runShared();
+            }
+            long shared = (System.nanoTime() - start) / iterations;
+            System.out.printf("4 interceptors per query: separate %d ns, shared %d ns%n", separate, shared);
+        }
+    }
+
+    private void runShared() {
+        BoundSql boundSql = boundSql();
+        JsqlParserContext context = JsqlParserContext.open(boundSql);
+        try {
+            runChain(boundSql);
+            context.flush();
+        } finally {
+            context.close();
+        }
+    }
+
+    private void runChain(BoundSql boundSql) {
+        runChain(boundSql, chain.toArray(new JsqlParserSupport[0]));
+    }
+
+    private void runChain(BoundSql boundSql, JsqlParserSupport... interceptors) {
+        PluginUtils.MPBoundSql mpBs = PluginUtils.mpBoundSql(boundSql);
+        for (JsqlParserSupport interceptor : interceptors) {
+            mpBs.sql(interceptor.parserSingle(mpBs.sql(), "test.selectList"));
+        }
+    }
+
+    private static BoundSql boundSql() {
+        return new BoundSql(new Configuration(), SQL, Collections.emptyList(), null);
+    }
+
+    private static Expression and(Expression where, Expression expression) {
+        return where == null ? expression : new AndExpression(where, expression);
+    }
+
+    private static TenantLineInnerInterceptor tenant(String column, long id) {
+        return new TenantLineInnerInterceptor(new TenantLineHandler() {
+            @Override
+            public Expression getTenantId() {
+                return new LongValue(id);
+            }
+
+            @Override
+            public String getTenantIdColumn() {
+                return column;
+            }
+
+            @Override
+            public boolean ignoreTable(String tableName) {
+                return "sys_dept".equals(tableName);
+            }
+        });
+    }
+}
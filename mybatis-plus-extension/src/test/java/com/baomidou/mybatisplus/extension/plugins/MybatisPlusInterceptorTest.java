@@ -1,10 +1,18 @@
 package com.baomidou.mybatisplus.extension.plugins;
 
 import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.extension.plugins.inner.BlockAttackInnerInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.IllegalSQLInnerInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.OptimisticLockerInnerInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
 
@@ -36,4 +44,36 @@ class MybatisPlusInterceptorTest {
         assertThat(pii.getMaxLimit()).isEqualTo(10);
         assertThat(pii.getDbType()).isEqualTo(DbType.H2);
     }
+
+    @Test
+    void plan() {
+        PaginationInnerInterceptor page = new PaginationInnerInterceptor();
+        BlockAttackInnerInterceptor blockAttack = new BlockAttackInnerInterceptor();
+        OptimisticLockerInnerInterceptor optimisticLocker = new OptimisticLockerInnerInterceptor();
+        IllegalSQLInnerInterceptor illegalSql = new IllegalSQLInnerInterceptor();
+        InterceptorPlan plan = InterceptorPlan.of(Arrays.asList(page, blockAttack, optimisticLocker, illegalSql));
+        assertThat(plan.query).containsExactly(page);
+        assertThat(plan.update).containsExactly(page, optimisticLocker);
+        assertThat(plan.prepare).containsExactly(blockAttack, illegalSql);
+        assertThat(plan.getBoundSql).isEmpty();
+
+        Configuration configuration = new Configuration();
+        InterceptorPlan select = plan.bind(mappedStatement(configuration, "com.test.UserMapper.selectList", SqlCommandType.SELECT));
+        assertThat(select.query).containsExactly(page);
+        // 绑定时只按 willIntercept 过滤, 不按 SqlCommandType 区分阶段; SELECT 执行时只会走 query 阶段, update 阶段不会被调用
+        assertThat(select.update).containsExactly(page);
+        assertThat(select.prepare).containsExactly(illegalSql);
+
+        InterceptorPlan update = plan.bind(mappedStatement(configuration, "com.test.UserMapper.update", SqlCommandType.UPDATE));
+        assertThat(update.update).containsExactly(page, optimisticLocker);
+        assertThat(update.prepare).containsExactly(blockAttack, illegalSql);
+
+        InterceptorPlan insert = plan.bind(mappedStatement(configuration, "com.test.UserMapper.insert", SqlCommandType.INSERT));
+        assertThat(insert.update).containsExactly(page);
+        assertThat(insert.prepare).isEmpty();
+    }
+
+    private MappedStatement mappedStatement(Configuration configuration, String id, SqlCommandType sqlCommandType) {
+        return new MappedStatement.Builder(configuration, id, new StaticSqlSource(configuration, "sql"), sqlCommandType).build();
+    }
 }
@@ -1,9 +1,19 @@
 package com.baomidou.mybatisplus.extension.plugins.inner;
 
 import com.baomidou.mybatisplus.core.exceptions.MybatisPlusException;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.statement.RoutingStatementHandler;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
 
 /**
  * @author miemie
@@ -38,6 +48,50 @@ class BlockAttackInnerInterceptorTest {
         checkEx("delete from user where 1=1 and 2=3 or 1=1", "1=1 and 2=3 or 1=1");
     }
 
+    @Test
+    void verdictCache() {
+        BlockAttackInnerInterceptor cacheInterceptor = new BlockAttackInnerInterceptor(16);
+        Configuration configuration = new Configuration();
+        StatementHandler allowed = statementHandler(configuration, "com.test.UserMapper.update", "update user set name = null where id = ?");
+        StatementHandler blocked = statementHandler(configuration, "com.test.UserMapper.delete", "delete from user");
+
+        for (int i = 0; i < 3; i++) {
+            cacheInterceptor.beforePrepare(allowed, null, null);
+            assertThatThrownBy(() -> cacheInterceptor.beforePrepare(blocked, null, null))
+                .isInstanceOf(MybatisPlusException.class)
+                .hasMessage("Prohibition of full table deletion");
+        }
+        assertThat(cacheInterceptor.getCheckCount()).isEqualTo(6);
+        assertThat(cacheInterceptor.getCacheHitCount()).isEqualTo(4);
+        assertThat(cacheInterceptor.getBlockedCount()).isEqualTo(3);
+        assertThat(cacheInterceptor.getVerdictCache().size()).isEqualTo(2);
+
+        cacheInterceptor.clearCache();
+        assertThat(cacheInterceptor.getVerdictCache().size()).isZero();
+    }
+
+    @Test
+    void parseFailureNotCached() {
+        BlockAttackInnerInterceptor cacheInterceptor = new BlockAttackInnerInterceptor(16);
+        StatementHandler invalid = statementHandler(new Configuration(), "com.test.UserMapper.update", "update user set where");
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> cacheInterceptor.beforePrepare(invalid, null, null))
+                .isInstanceOf(MybatisPlusException.class)
+                .hasMessageStartingWith("Failed to process");
+        }
+        assertThat(cacheInterceptor.getCacheHitCount()).isZero();
+        assertThat(cacheInterceptor.getBlockedCount()).isZero();
+        assertThat(cacheInterceptor.getVerdictCache().size()).isZero();
+    }
+
+    private StatementHandler statementHandler(Configuration configuration, String id, String sql) {
+        SqlCommandType sct = sql.startsWith("delete") ? SqlCommandType.DELETE : SqlCommandType.UPDATE;
+        MappedStatement ms = new MappedStatement.Builder(configuration, id,
+            new StaticSqlSource(configuration, sql), sct).build();
+        return new RoutingStatementHandler(mock(Executor.class), ms, null, RowBounds.DEFAULT, null, ms.getBoundSql(null));
+    }
+
     void checkEx(String sql, String as) {
         Exception e = null;
         try {
@@ -6,10 +6,18 @@ import net.sf.jsqlparser.expression.Expression;
 import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
 import net.sf.jsqlparser.expression.operators.conditional.OrExpression;
 import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
 import org.junit.jupiter.api.Test;
 
+import java.sql.SQLException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -101,4 +109,46 @@ public class DataPermissionInterceptorTest {
     void assertSql(String mappedStatementId, String sql, String targetSql) {
         assertThat(interceptor.parserSingle(sql, mappedStatementId)).isEqualTo(targetSql);
     }
+
+    @Test
+    void permissionScope() throws SQLException {
+        Map<String, String> roleSegment = new HashMap<>();
+        roleSegment.put("admin", "1 = 1");
+        roleSegment.put("user", "dept_id = 10");
+        String[] role = {"admin"};
+        AtomicInteger segmentCount = new AtomicInteger();
+        DataPermissionInterceptor scopeInterceptor = new DataPermissionInterceptor(new DataPermissionHandler() {
+            @Override
+            public Expression getSqlSegment(Expression where, String mappedStatementId) {
+                segmentCount.incrementAndGet();
+                try {
+                    return new AndExpression(where, CCJSqlParserUtil.parseCondExpression(roleSegment.get(role[0])));
+                } catch (JSQLParserException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+
+            @Override
+            public Object getPermissionScope(String mappedStatementId) {
+                return role[0];
+            }
+        });
+        Configuration configuration = new Configuration();
+        MappedStatement ms = new MappedStatement.Builder(configuration, TEST_2,
+            new StaticSqlSource(configuration, "select * from sys_user where id = ?"), SqlCommandType.SELECT).build();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(scopeSql(scopeInterceptor, ms)).isEqualTo("SELECT * FROM sys_user WHERE id = ? AND 1 = 1");
+        }
+        role[0] = "user";
+        assertThat(scopeSql(scopeInterceptor, ms)).isEqualTo("SELECT * FROM sys_user WHERE id = ? AND dept_id = 10");
+        assertThat(segmentCount.get()).isEqualTo(2);
+        assertThat(scopeInterceptor.getRewriteCache().size()).isEqualTo(2);
+    }
+
+    private String scopeSql(DataPermissionInterceptor scopeInterceptor, MappedStatement ms) throws SQLException {
+        BoundSql boundSql = new BoundSql(ms.getConfiguration(), "select * from sys_user where id = ?", Collections.emptyList(), null);
+        scopeInterceptor.beforeQuery(null, ms, null, null, null, boundSql);
+        return boundSql.getSql();
+    }
 }
@@ -3,6 +3,8 @@ package com.baomidou.mybatisplus.extension.plugins.inner;
 import org.intellij.lang.annotations.Language;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 /**
@@ -43,4 +45,26 @@ class DynamicTableNameInnerInterceptorTest {
         origin = "SELECT t_user.* FROM t_user_real t_user";
         assertEquals("SELECT t_user.* FROM t_user_real_r t_user", interceptor.changeTable(origin));
     }
+
+    /**
+     * 测试缓存替换计划后, 每次执行仍使用最新的动态表名
+     */
+    @Test
+    @SuppressWarnings({"SqlDialectInspection", "SqlNoDataSourceInspection"})
+    void rewritePlan() {
+        AtomicInteger month = new AtomicInteger(1);
+        DynamicTableNameInnerInterceptor interceptor = new DynamicTableNameInnerInterceptor();
+        interceptor.setTableNameHandler((sql, tableName) -> tableName + "_" + month.get());
+
+        @Language("SQL")
+        String origin = "SELECT * FROM t_order o LEFT JOIN t_user u ON o.user_id = u.id WHERE o.id = ?";
+        assertEquals("SELECT * FROM t_order_1 o LEFT JOIN t_user_1 u ON o.user_id = u.id WHERE o.id = ?", interceptor.changeTable(origin));
+        month.set(2);
+        assertEquals("SELECT * FROM t_order_2 o LEFT JOIN t_user_2 u ON o.user_id = u.id WHERE o.id = ?", interceptor.changeTable(origin));
+
+        origin = "UPDATE t_order SET status = ?";
+        assertEquals("UPDATE t_order_2 SET status = ?", interceptor.changeTable(origin));
+        interceptor.clearRewritePlanCache();
+        assertEquals("UPDATE t_order_2 SET status = ?", interceptor.changeTable(origin));
+    }
 }
@@ -1,7 +1,30 @@
 package com.baomidou.mybatisplus.extension.plugins.inner;
 
+import com.baomidou.mybatisplus.core.exceptions.MybatisPlusException;
+import com.baomidou.mybatisplus.extension.toolkit.JdbcUtils;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.statement.RoutingStatementHandler;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.transaction.managed.ManagedTransactionFactory;
 import org.junit.jupiter.api.Test;
 
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
 /**
  * @author miemie
  * @since 2022-04-11
@@ -13,4 +36,86 @@ class IllegalSQLInnerInterceptorTest {
     void test() {
         interceptor.parserSingle("SELECT COUNT(*) AS total FROM t_user WHERE (client_id = ?)", null);
     }
+
+    @Test
+    void indexInfoCache() throws SQLException {
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        Connection connection = mockConnection(metaData);
+
+        interceptor.parserSingle("SELECT * FROM t_user WHERE id = ?", connection);
+        interceptor.parserSingle("SELECT * FROM t_user WHERE id = ? AND name = ?", connection);
+        verify(metaData, times(1)).getIndexInfo(any(), any(), eq("t_user"), eq(false), eq(true));
+        assertThatThrownBy(() -> interceptor.parserSingle("SELECT * FROM t_user WHERE name = ?", connection))
+            .isInstanceOf(MybatisPlusException.class);
+
+        // 过期后无 DataSource 时同步刷新
+        interceptor.setIndexInfoTtl(-1);
+        interceptor.parserSingle("SELECT * FROM t_user WHERE id = ?", connection);
+        verify(metaData, times(2)).getIndexInfo(any(), any(), eq("t_user"), eq(false), eq(true));
+
+        interceptor.clearCache();
+        assertThat(interceptor.getValidResultCache().size()).isZero();
+    }
+
+    @Test
+    void dataSourceUrlCache() throws SQLException {
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        Connection connection = mockConnection(metaData);
+        Configuration configuration = new Configuration(new Environment("test", new ManagedTransactionFactory(), mock(DataSource.class)));
+        try (IllegalSQLInnerInterceptor dsInterceptor = new IllegalSQLInnerInterceptor()) {
+            dsInterceptor.beforePrepare(statementHandler(configuration, "SELECT * FROM t_user WHERE id = ?"), connection, null);
+            dsInterceptor.beforePrepare(statementHandler(configuration, "SELECT * FROM t_user WHERE id = ? AND name = ?"), connection, null);
+            verify(metaData, times(1)).getURL();
+            verify(metaData, times(1)).getIndexInfo(any(), any(), eq("t_user"), eq(false), eq(true));
+
+            // 关闭后过期的索引信息同步刷新
+            dsInterceptor.close();
+            dsInterceptor.setIndexInfoTtl(-1);
+            dsInterceptor.beforePrepare(statementHandler(configuration, "SELECT * FROM t_user WHERE id = ? AND age = ?"), connection, null);
+            verify(metaData, times(1)).getURL();
+            verify(metaData, times(2)).getIndexInfo(any(), any(), eq("t_user"), eq(false), eq(true));
+        }
+    }
+
+    @Test
+    void routingDataSourceRefreshSync() throws SQLException {
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        Connection connection = mockConnection(metaData);
+        JdbcUtils.registerRoutingDataSource(TestRoutingDataSource.class);
+        DataSource dataSource = mock(TestRoutingDataSource.class);
+        Configuration configuration = new Configuration(new Environment("test", new ManagedTransactionFactory(), dataSource));
+        try (IllegalSQLInnerInterceptor dsInterceptor = new IllegalSQLInnerInterceptor()) {
+            dsInterceptor.setIndexInfoTtl(-1);
+            dsInterceptor.beforePrepare(statementHandler(configuration, "SELECT * FROM t_user WHERE id = ?"), connection, null);
+            dsInterceptor.beforePrepare(statementHandler(configuration, "SELECT * FROM t_user WHERE id = ? AND name = ?"), connection, null);
+            // 路由数据源过期后使用当前连接同步刷新, 不从数据源获取新连接
+            verify(metaData, times(2)).getIndexInfo(any(), any(), eq("t_user"), eq(false), eq(true));
+            verify(dataSource, never()).getConnection();
+        }
+    }
+
+    private StatementHandler statementHandler(Configuration configuration, String sql) {
+        MappedStatement ms = new MappedStatement.Builder(configuration, "com.test.UserMapper.select",
+            new StaticSqlSource(configuration, sql), SqlCommandType.SELECT).build();
+        return new RoutingStatementHandler(mock(Executor.class), ms, null, RowBounds.DEFAULT, null, ms.getBoundSql(null));
+    }
+
+    private Connection mockConnection(DatabaseMetaData metaData) throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getURL()).thenReturn("jdbc:h2:mem:test");
+        when(metaData.getIndexInfo(any(), any(), eq("t_user"), eq(false), eq(true))).thenAnswer(invocation -> {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.next()).thenReturn(true, false);
+            when(rs.getString(1)).thenReturn("test");
+            when(rs.getString(3)).thenReturn("t_user");
+            when(rs.getString(8)).thenReturn("1");
+            when(rs.getString(9)).thenReturn("ID");
+            return rs;
+        });
+        return connection;
+    }
+
+    abstract static class TestRoutingDataSource implements DataSource {
+    }
 }
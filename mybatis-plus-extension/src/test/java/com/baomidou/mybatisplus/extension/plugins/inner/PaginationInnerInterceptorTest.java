@@ -1,12 +1,29 @@
 package com.baomidou.mybatisplus.extension.plugins.inner;
 
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.exceptions.MybatisPlusException;
 import com.baomidou.mybatisplus.core.metadata.OrderItem;
+import com.baomidou.mybatisplus.extension.plugins.pagination.KeysetPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.baomidou.mybatisplus.extension.plugins.pagination.dialects.IDialect;
+import com.baomidou.mybatisplus.extension.plugins.pagination.dialects.PostgreDialect;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
 import org.junit.jupiter.api.Test;
 
-import java.util.Arrays;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
 
 /**
  * @author miemie
@@ -57,6 +74,22 @@ class PaginationInnerInterceptorTest {
             "SELECT COUNT(*) AS total FROM comment ORDER BY (CASE WHEN creator = ? THEN 0 ELSE 1 END)");
     }
 
+    @Test
+    void cappedCountOrderBy() {
+        Configuration configuration = new Configuration();
+        PaginationInnerInterceptor mysql = new PaginationInnerInterceptor(DbType.MYSQL);
+        Page<?> page = new Page<>(1, 10);
+        page.setCountCap(100L);
+        BoundSql boundSql = new BoundSql(configuration, "SELECT * FROM comment WHERE id > 1 ORDER BY name", new ArrayList<>(), null);
+        assertThat(mysql.buildCappedCountSql(mock(Executor.class), configuration, null, boundSql, page).getSql())
+            .isEqualTo("SELECT COUNT(*) FROM (SELECT * FROM comment WHERE id > 1 LIMIT ?) TOTAL");
+
+        /* order by 里带参数,不去除order by */
+        boundSql = new BoundSql(configuration, "SELECT * FROM comment ORDER BY (CASE WHEN creator = ? THEN 0 ELSE 1 END)", new ArrayList<>(), null);
+        assertThat(mysql.buildCappedCountSql(mock(Executor.class), configuration, null, boundSql, page).getSql())
+            .isEqualTo("SELECT COUNT(*) FROM (SELECT * FROM comment ORDER BY (CASE WHEN creator = ? THEN 0 ELSE 1 END) LIMIT ?) TOTAL");
+    }
+
     @Test
     void withAsCount() {
         assertsCountSql("with A as (select * from class) select * from A",
@@ -94,6 +127,129 @@ class PaginationInnerInterceptorTest {
             "SELECT COUNT(*) AS total FROM order_info LEFT JOIN (SELECT count(1) FROM order_info WHERE create_time BETWEEN ? AND ?) tt ON 1 = 1 WHERE equipment_id = ?");
     }
 
+    @Test
+    void sqlCache() {
+        PaginationInnerInterceptor cacheInterceptor = new PaginationInnerInterceptor();
+        String sql = "select * from user u LEFT JOIN role r ON r.id = u.role_id WHERE u.xx = ?";
+        for (int i = 0; i < 3; i++) {
+            assertThat(cacheInterceptor.autoCountSql(new Page<>(), sql)).isEqualTo("SELECT COUNT(*) AS total FROM user u WHERE u.xx = ?");
+        }
+        Page<?> page = new Page<>();
+        page.setOptimizeJoinOfCountSql(false);
+        assertThat(cacheInterceptor.autoCountSql(page, sql))
+            .isEqualTo("SELECT COUNT(*) AS total FROM user u LEFT JOIN role r ON r.id = u.role_id WHERE u.xx = ?");
+        assertThat(cacheInterceptor.getCountSqlCache().size()).isEqualTo(2);
+        assertThat(cacheInterceptor.getCountSqlCache().getHitCount()).isEqualTo(2);
+
+        sql = "select * from user where id = ?";
+        assertThat(cacheInterceptor.concatOrderBy(sql, Arrays.asList(OrderItem.desc("id"), OrderItem.asc(""))))
+            .isEqualTo("SELECT * FROM user WHERE id = ? ORDER BY id DESC");
+        assertThat(cacheInterceptor.concatOrderBy(sql, Arrays.asList(OrderItem.desc("id"))))
+            .isEqualTo("SELECT * FROM user WHERE id = ? ORDER BY id DESC");
+        assertThat(cacheInterceptor.concatOrderBy(sql, Arrays.asList(OrderItem.asc("id"))))
+            .isEqualTo("SELECT * FROM user WHERE id = ? ORDER BY id ASC");
+        assertThat(cacheInterceptor.getOrderBySqlCache().size()).isEqualTo(2);
+        assertThat(cacheInterceptor.getOrderBySqlCache().getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findIDialectOverride() {
+        PaginationInnerInterceptor overridden = new PaginationInnerInterceptor() {
+            @Override
+            protected IDialect findIDialect(Executor executor) {
+                return new PostgreDialect();
+            }
+        };
+        assertThat(overridden.findIDialect(mock(Executor.class), new Configuration())).isInstanceOf(PostgreDialect.class);
+    }
+
+    @Test
+    void keyset() throws SQLException {
+        KeysetPage<Map<String, Object>> page = new KeysetPage<Map<String, Object>>(2)
+            .addKey("create_time", false, m -> m.get("create_time"))
+            .addKey("id", false, m -> m.get("id"));
+        LocalDateTime time = LocalDateTime.of(2022, 6, 1, 12, 30);
+        Map<String, Object> first = new HashMap<>();
+        first.put("create_time", time);
+        first.put("id", 10L);
+        Map<String, Object> last = new HashMap<>();
+        last.put("create_time", time);
+        last.put("id", 9L);
+        page.setRecords(Arrays.asList(first, last, new HashMap<>()));
+        assertThat(page.getRecords()).containsExactly(first, last);
+        assertThat(page.hasNext()).isTrue();
+        assertThat(KeysetPage.decode(page.getNextToken())).containsExactly(time, 9L);
+        page.setRecords(Collections.singletonList(first));
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.getNextToken()).isNull();
+        assertThatThrownBy(() -> page.after("!!")).isInstanceOf(MybatisPlusException.class);
+
+        page.afterValues(time, 9L);
+        String sql = "select * from user u where u.xx = ? or u.yy = ?";
+        assertsKeyset(new PaginationInnerInterceptor(DbType.MYSQL), page, sql,
+            "SELECT * FROM user u WHERE (u.xx = ? OR u.yy = ?) AND (create_time, id) < (?, ?) ORDER BY create_time DESC, id DESC LIMIT ?");
+        page.orders().get(1).setAsc(true);
+        assertsKeyset(new PaginationInnerInterceptor(DbType.MYSQL), page, sql,
+            "SELECT * FROM user u WHERE (u.xx = ? OR u.yy = ?) AND (create_time < ? OR (create_time = ? AND id > ?)) ORDER BY create_time DESC, id ASC LIMIT ?");
+        page.orders().get(1).setAsc(false);
+        assertsKeyset(new PaginationInnerInterceptor(DbType.SQL_SERVER), page, sql,
+            "SELECT * FROM user u WHERE (u.xx = ? OR u.yy = ?) AND (create_time < ? OR (create_time = ? AND id < ?)) ORDER BY create_time DESC, id DESC OFFSET ? ROWS FETCH NEXT ? ROWS ONLY");
+
+        // 起点条件依赖排序键的顺序, 不支持原 SQL 自带排序
+        assertThatThrownBy(() -> assertsKeyset(new PaginationInnerInterceptor(DbType.MYSQL), page, sql + " order by name", ""))
+            .isInstanceOf(MybatisPlusException.class).hasMessageContaining("ORDER BY");
+        page.afterValues(time, null);
+        assertThatThrownBy(() -> assertsKeyset(new PaginationInnerInterceptor(DbType.MYSQL), page, sql, ""))
+            .isInstanceOf(MybatisPlusException.class).hasMessageContaining("\"id\" must not be null");
+
+        // 首页同样只按排序键排序
+        KeysetPage<Map<String, Object>> firstPage = new KeysetPage<Map<String, Object>>(2)
+            .addKey("create_time", false, m -> m.get("create_time"))
+            .addKey("id", false, m -> m.get("id"));
+        assertsKeyset(new PaginationInnerInterceptor(DbType.MYSQL), firstPage, sql,
+            "SELECT * FROM user u WHERE u.xx = ? OR u.yy = ? ORDER BY create_time DESC, id DESC LIMIT ?");
+    }
+
+    @Test
+    void searchNext() throws SQLException {
+        Page<Integer> page = new Page<Integer>(2, 3).setSearchNext(true);
+        assertThat(page.searchCount()).isFalse();
+        Configuration configuration = new Configuration();
+        MappedStatement ms = new MappedStatement.Builder(configuration, "com.test.UserMapper.selectPage",
+            new StaticSqlSource(configuration, "select * from user"), SqlCommandType.SELECT).build();
+        BoundSql boundSql = ms.getBoundSql(page);
+        new PaginationInnerInterceptor(DbType.MYSQL).beforeQuery(mock(Executor.class), ms, page, RowBounds.DEFAULT, null, boundSql);
+        assertThat(boundSql.getSql()).isEqualTo("select * from user LIMIT ?,?");
+        assertThat(boundSql.getAdditionalParameter("mybatis_plus_second")).isEqualTo(4L);
+
+        page.setRecords(Arrays.asList(1, 2, 3, 4));
+        assertThat(page.getRecords()).containsExactly(1, 2, 3);
+        assertThat(page.hasNext()).isTrue();
+        assertThat(page.convert(String::valueOf).getRecords()).containsExactly("1", "2", "3");
+        assertThat(page.hasNext()).isTrue();
+        page.setRecords(Arrays.asList(1, 2));
+        assertThat(page.hasNext()).isFalse();
+
+        // 复用分页对象时, 刚好 size 条说明没有下一页
+        page.setRecords(Arrays.asList(1, 2, 3, 4));
+        assertThat(page.hasNext()).isTrue();
+        page.setRecords(Arrays.asList(1, 2, 3));
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    void assertsKeyset(PaginationInnerInterceptor keysetInterceptor, KeysetPage<?> page, String sql, String targetSql) throws SQLException {
+        Configuration configuration = new Configuration();
+        List<ParameterMapping> mappings = Arrays.asList(new ParameterMapping.Builder(configuration, "xx", Object.class).build(),
+            new ParameterMapping.Builder(configuration, "yy", Object.class).build());
+        MappedStatement ms = new MappedStatement.Builder(configuration, "com.test.UserMapper.selectPage",
+            new StaticSqlSource(configuration, sql, mappings), SqlCommandType.SELECT).build();
+        BoundSql boundSql = ms.getBoundSql(page);
+        keysetInterceptor.beforeQuery(mock(Executor.class), ms, page, RowBounds.DEFAULT, null, boundSql);
+        assertThat(boundSql.getSql()).isEqualTo(targetSql);
+        assertThat(boundSql.getParameterMappings()).hasSize((int) targetSql.chars().filter(c -> c == '?').count());
+        assertThat(boundSql.getParameterMappings().subList(0, 2)).isEqualTo(mappings);
+    }
+
     void assertsCountSql(String sql, String targetSql) {
         assertThat(interceptor.autoCountSql(new Page<>(), sql)).isEqualTo(targetSql);
     }
@@ -3,8 +3,16 @@ package com.baomidou.mybatisplus.extension.plugins.inner;
 import com.baomidou.mybatisplus.extension.plugins.handler.TenantLineHandler;
 import net.sf.jsqlparser.expression.Expression;
 import net.sf.jsqlparser.expression.LongValue;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -425,6 +433,40 @@ class TenantLineInnerInterceptorTest {
             "SELECT dict.dict_code, item.item_text AS \"text\", item.item_value AS \"value\" FROM sys_dict_item item INNER JOIN sys_dict dict ON dict.id = item.dict_id AND item.tenant_id = 1 WHERE dict.dict_code IN (1, 2, 3) AND item.item_value IN (1, 2, 3)");
     }
 
+    @Test
+    void bindTenantIdParameter() throws Exception {
+        TenantLineInnerInterceptor bindInterceptor = new TenantLineInnerInterceptor(new TenantLineHandler() {
+            @Override
+            public Expression getTenantId() {
+                return new LongValue(9);
+            }
+
+            @Override
+            public boolean bindTenantIdParameter() {
+                return true;
+            }
+        });
+        Configuration configuration = new Configuration();
+        MappedStatement ms = new MappedStatement.Builder(configuration, "test.selectList",
+            new StaticSqlSource(configuration, ""), SqlCommandType.SELECT).build();
+        List<ParameterMapping> mappings = Arrays.asList(
+            new ParameterMapping.Builder(configuration, "name", String.class).build(),
+            new ParameterMapping.Builder(configuration, "size", Long.class).build());
+        BoundSql boundSql = new BoundSql(configuration,
+            "select * from entity e left join entity1 e1 on e1.id = e.id where e.name = '?' or e.name = ? limit ?", mappings, null);
+
+        bindInterceptor.beforeQuery(null, ms, null, null, null, boundSql);
+        assertThat(boundSql.getSql()).isEqualTo("SELECT * FROM entity e LEFT JOIN entity1 e1 ON e1.id = e.id AND e1.tenant_id = ? " +
+            "WHERE (e.name = '?' OR e.name = ?) AND e.tenant_id = ? LIMIT ?");
+        assertThat(boundSql.getParameterMappings()).extracting(ParameterMapping::getProperty)
+            .containsExactly(TenantLineInnerInterceptor.TENANT_ID_PARAM_NAME, "name", TenantLineInnerInterceptor.TENANT_ID_PARAM_NAME, "size");
+        assertThat(boundSql.getAdditionalParameter(TenantLineInnerInterceptor.TENANT_ID_PARAM_NAME)).isEqualTo(9L);
+
+        // 已处理过的不会重复处理
+        bindInterceptor.beforeQuery(null, ms, null, null, null, boundSql);
+        assertThat(boundSql.getParameterMappings()).hasSize(4);
+    }
+
     void assertSql(String sql, String targetSql) {
         assertThat(interceptor.parserSingle(sql, null)).isEqualTo(targetSql);
     }
@@ -0,0 +1,40 @@
+package com.baomidou.mybatisplus.extension.plugins.pagination.estimators;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent
+ */
+class ICountEstimatorTest {
+
+    @Test
+    void mysql() {
+        MySqlCountEstimator estimator = new MySqlCountEstimator();
+        assertThat(estimator.buildEstimateSql("SELECT * FROM user WHERE age > ?")).isEqualTo("EXPLAIN SELECT * FROM user WHERE age > ?");
+        Map<String, Object> row = new HashMap<>();
+        row.put("ROWS", 3200000L);
+        row.put("filtered", 33.33);
+        assertThat(estimator.parseEstimate(Collections.singletonList(row))).isEqualTo(1066560L);
+        row.remove("filtered");
+        assertThat(estimator.parseEstimate(Collections.singletonList(row))).isEqualTo(3200000L);
+        assertThat(estimator.parseEstimate(Collections.emptyList())).isNull();
+        // 连表时执行计划有多行, 退回精确 count
+        assertThat(estimator.parseEstimate(Arrays.asList(row, row))).isNull();
+    }
+
+    @Test
+    void postgre() {
+        PostgreCountEstimator estimator = new PostgreCountEstimator();
+        Map<String, Object> row = Collections.singletonMap("QUERY PLAN", "Seq Scan on \"user\"  (cost=0.00..58414.00 rows=3200123 width=45)");
+        assertThat(estimator.parseEstimate(Collections.singletonList(row))).isEqualTo(3200123L);
+        row = Collections.singletonMap("QUERY PLAN", "Result  (cost=0.00..0.01 width=4)");
+        assertThat(estimator.parseEstimate(Collections.singletonList(row))).isNull();
+    }
+}
@@ -0,0 +1,61 @@
+package com.baomidou.mybatisplus.test;
+
+import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 只有 id, name 两列的单表测试, 预置 id 为 1~5, name 为 a~e 的 5 行数据
+ *
+ * @author agent
+ */
+public abstract class BaseSimpleTableTest<T> extends BaseDbTest<T> {
+
+    /**
+     * 最后一次查询的 SQL, 需要将 {@link #lastSqlInterceptor()} 加到其他内置拦截器之后
+     */
+    protected String lastSql;
+    /**
+     * 最后一次查询的 RowBounds
+     */
+    protected RowBounds lastRowBounds;
+
+    /**
+     * @return 表名
+     */
+    protected abstract String tableName();
+
+    /**
+     * @return 记录最后一次查询的拦截器
+     */
+    protected InnerInterceptor lastSqlInterceptor() {
+        return new InnerInterceptor() {
+            @Override
+            public void beforeQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler, BoundSql boundSql) {
+                lastSql = boundSql.getSql();
+                lastRowBounds = rowBounds;
+            }
+        };
+    }
+
+    @Override
+    protected List<String> tableSql() {
+        return Arrays.asList("drop table if exists " + tableName(),
+            "CREATE TABLE IF NOT EXISTS " + tableName() + " (\n" +
+                "id BIGINT(20) NOT NULL,\n" +
+                "name VARCHAR(30) NULL DEFAULT NULL,\n" +
+                "PRIMARY KEY (id)" +
+                ")");
+    }
+
+    @Override
+    protected String tableDataSql() {
+        return "insert into " + tableName() + "(id, name) values(1, 'a'), (2, 'b'), (3, 'c'), (4, 'd'), (5, 'e')";
+    }
+}
@@ -0,0 +1,26 @@
+package com.baomidou.mybatisplus.test.batch;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * @author agent
+ */
+@Data
+@NoArgsConstructor
+public class AutoEntity implements Serializable {
+    private static final long serialVersionUID = -1254326709587457380L;
+
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    private String name;
+
+    public AutoEntity(String name) {
+        this.name = name;
+    }
+}
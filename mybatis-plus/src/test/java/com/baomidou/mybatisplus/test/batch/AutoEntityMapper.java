@@ -0,0 +1,16 @@
+package com.baomidou.mybatisplus.test.batch;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Insert;
+
+/**
+ * @author agent
+ */
+public interface AutoEntityMapper extends BaseMapper<AutoEntity> {
+
+    /**
+     * 与注入的多行 insert 同名的自定义方法, 多行批量插入不能使用它
+     */
+    @Insert("insert into auto_entity(name) values('custom')")
+    int insertBatch();
+}
@@ -0,0 +1,82 @@
+package com.baomidou.mybatisplus.test.batch;
+
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.baomidou.mybatisplus.extension.toolkit.BatchExecuteException;
+import com.baomidou.mybatisplus.extension.toolkit.BatchExecuteResult;
+import com.baomidou.mybatisplus.test.BaseDbTest;
+import org.junit.jupiter.api.Test;
+
+import java.sql.BatchUpdateException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 返回每条数据影响行数的批量操作
+ *
+ * @author agent
+ */
+class BatchExecuteResultTest extends BaseDbTest<EntityMapper> {
+
+    @Test
+    void updateBatchByIdResult() {
+        BatchExecuteResult result = new EntityService().updateBatchByIdResult(Arrays.asList(entity(1L, "a1"),
+            entity(99L, "none"), entity(2L, "b1")), 2);
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getUpdateCounts()).containsExactly(1, 0, 1);
+        assertThat(result.getTotal()).isEqualTo(2);
+        assertThat(result.getUnmatchedIndexes()).containsExactly(1);
+        assertThat(result.getFailedIndexes()).isEmpty();
+        assertThat(jdbcTemplate.queryForList("select name from entity order by id", String.class))
+            .containsExactly("a1", "b1");
+    }
+
+    @Test
+    void saveBatchResultFailed() {
+        assertThatThrownBy(() -> new EntityService().saveBatchResult(Arrays.asList(entity(3L, "c"),
+            entity(4L, "d"), entity(1L, "duplicate"), entity(5L, "e")), 10))
+            .isInstanceOfSatisfying(BatchExecuteException.class, e -> {
+                BatchExecuteResult result = e.getResult();
+                assertThat(e).hasCauseInstanceOf(BatchUpdateException.class);
+                assertThat(result.isSuccess()).isFalse();
+                assertThat(result.getFailedIndexes()).contains(2).doesNotContain(0, 1);
+                assertThat(result.getUpdateCount(0)).isEqualTo(1);
+                // 测试使用自动提交的 ManagedTransaction, 无法回滚, 已写入的数据与结果一致
+                List<String> names = jdbcTemplate.queryForList("select name from entity order by id", String.class);
+                assertThat(names).contains("a", "b", "c", "d").doesNotContain("duplicate");
+                assertThat(names).hasSize(2 + (int) result.getTotal());
+            });
+    }
+
+    @Test
+    void empty() {
+        BatchExecuteResult result = new EntityService().saveBatchResult(Collections.emptyList());
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getUpdateCounts()).isEmpty();
+    }
+
+    private Entity entity(Long id, String name) {
+        Entity entity = new Entity(name);
+        entity.setId(id);
+        return entity;
+    }
+
+    static class EntityService extends ServiceImpl<EntityMapper, Entity> {
+    }
+
+    @Override
+    protected String tableDataSql() {
+        return "insert into entity(id, name) values(1, 'a'), (2, 'b')";
+    }
+
+    @Override
+    protected List<String> tableSql() {
+        return Arrays.asList("drop table if exists entity", "CREATE TABLE IF NOT EXISTS entity (" +
+            "id BIGINT NOT NULL," +
+            "name VARCHAR(30) NULL DEFAULT NULL," +
+            "PRIMARY KEY (id))");
+    }
+}
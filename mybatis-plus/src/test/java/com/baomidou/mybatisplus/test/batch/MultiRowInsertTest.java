@@ -0,0 +1,98 @@
+package com.baomidou.mybatisplus.test.batch;
+
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.baomidou.mybatisplus.test.BaseDbTest;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 多行 VALUES 批量插入
+ *
+ * @author agent
+ */
+class MultiRowInsertTest extends BaseDbTest<EntityMapper> {
+
+    private static final List<String> SQL_LIST = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void clear() {
+        SQL_LIST.clear();
+    }
+
+    @Test
+    void saveBatchMultiRow() {
+        List<Entity> list = Arrays.asList(new Entity("a"), new Entity("b"), new Entity("c"), new Entity("d"), new Entity("e"));
+        assertThat(new EntityService().saveBatchMultiRow(list, 2)).isTrue();
+        assertThat(SQL_LIST).hasSize(3);
+        assertThat(SQL_LIST.get(0)).isEqualToIgnoringWhitespace("INSERT INTO entity (id, name) VALUES (?, ?), (?, ?)");
+        assertThat(list).allMatch(i -> i.getId() != null);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from entity", Long.class)).isEqualTo(5);
+    }
+
+    @Test
+    void splitByColumns() {
+        // 字段为 null 时与单条 insert 一样不插入该字段, 使用数据库默认值
+        List<Entity> list = Arrays.asList(new Entity("a"), new Entity("b"), new Entity(), new Entity(), new Entity("e"));
+        new EntityService().saveBatchMultiRow(list);
+        assertThat(SQL_LIST).hasSize(3);
+        assertThat(SQL_LIST.get(1)).isEqualToIgnoringWhitespace("INSERT INTO entity (id) VALUES (?), (?)");
+        assertThat(jdbcTemplate.queryForList("select name from entity order by id", String.class))
+            .containsExactly("a", "b", "def", "def", "e");
+    }
+
+    @Test
+    void autoIncrement() {
+        List<AutoEntity> list = Arrays.asList(new AutoEntity("a"), new AutoEntity("b"), new AutoEntity("c"));
+        new AutoEntityService().saveBatchMultiRow(list);
+        assertThat(SQL_LIST).hasSize(1);
+        assertThat(SQL_LIST.get(0)).isEqualToIgnoringWhitespace("INSERT INTO auto_entity (name) VALUES (?), (?), (?)");
+        assertThat(list).extracting(AutoEntity::getId).containsExactly(1L, 2L, 3L);
+    }
+
+    static class EntityService extends ServiceImpl<EntityMapper, Entity> {
+    }
+
+    static class AutoEntityService extends ServiceImpl<AutoEntityMapper, AutoEntity> {
+    }
+
+    @Override
+    protected List<Interceptor> interceptors() {
+        MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+        interceptor.addInnerInterceptor(new InnerInterceptor() {
+            @Override
+            public void beforePrepare(StatementHandler sh, Connection connection, Integer transactionTimeout) {
+                SQL_LIST.add(sh.getBoundSql().getSql());
+            }
+        });
+        return Collections.singletonList(interceptor);
+    }
+
+    @Override
+    protected List<Class<?>> otherMapper() {
+        return Collections.singletonList(AutoEntityMapper.class);
+    }
+
+    @Override
+    protected List<String> tableSql() {
+        return Arrays.asList("drop table if exists entity", "CREATE TABLE IF NOT EXISTS entity (" +
+                "id BIGINT NOT NULL," +
+                "name VARCHAR(30) DEFAULT 'def'," +
+                "PRIMARY KEY (id))",
+            "drop table if exists auto_entity", "CREATE TABLE IF NOT EXISTS auto_entity (" +
+                "id BIGINT AUTO_INCREMENT," +
+                "name VARCHAR(30) NULL DEFAULT NULL," +
+                "PRIMARY KEY (id))");
+    }
+}
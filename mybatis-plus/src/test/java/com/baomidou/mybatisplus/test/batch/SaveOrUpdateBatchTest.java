@@ -0,0 +1,99 @@
+package com.baomidou.mybatisplus.test.batch;
+
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.baomidou.mybatisplus.test.BaseDbTest;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 按批次判断主键是否存在的 saveOrUpdateBatch
+ *
+ * @author agent
+ */
+class SaveOrUpdateBatchTest extends BaseDbTest<EntityMapper> {
+
+    private static final List<String> QUERY_LIST = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void clear() {
+        QUERY_LIST.clear();
+    }
+
+    @Test
+    void saveOrUpdateBatch() {
+        Entity update1 = new Entity("a1");
+        update1.setId(1L);
+        Entity update2 = new Entity("b1");
+        update2.setId(2L);
+        Entity insert = new Entity("c");
+        insert.setId(9L);
+        Entity repeat = new Entity("c1");
+        repeat.setId(9L);
+        List<Entity> list = Arrays.asList(update1, new Entity("new"), update2, insert, repeat);
+
+        assertThat(new EntityService().saveOrUpdateBatch(list, 10)).isTrue();
+        assertThat(QUERY_LIST).containsExactly("selectBatchIds");
+        assertThat(list).allMatch(i -> i.getId() != null);
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("select id, name from entity order by id");
+        assertThat(rows).hasSize(4);
+        assertThat(rows).extracting(i -> i.get("NAME")).containsExactly("a1", "b1", "c1", "new");
+    }
+
+    @Test
+    void chunk() {
+        List<Entity> list = new ArrayList<>();
+        for (long i = 1; i <= 5; i++) {
+            Entity entity = new Entity("n" + i);
+            entity.setId(i);
+            list.add(entity);
+        }
+        assertThat(new EntityService().saveOrUpdateBatch(list, 2)).isTrue();
+        assertThat(QUERY_LIST).hasSize(3);
+        assertThat(jdbcTemplate.queryForList("select name from entity order by id", String.class))
+            .containsExactly("n1", "n2", "n3", "n4", "n5");
+    }
+
+    static class EntityService extends ServiceImpl<EntityMapper, Entity> {
+    }
+
+    @Override
+    protected List<Interceptor> interceptors() {
+        MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+        interceptor.addInnerInterceptor(new InnerInterceptor() {
+            @Override
+            public void beforeQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler, BoundSql boundSql) {
+                QUERY_LIST.add(ms.getId().substring(ms.getId().lastIndexOf('.') + 1));
+            }
+        });
+        return Collections.singletonList(interceptor);
+    }
+
+    @Override
+    protected String tableDataSql() {
+        return "insert into entity(id, name) values(1, 'a'), (2, 'b')";
+    }
+
+    @Override
+    protected List<String> tableSql() {
+        return Arrays.asList("drop table if exists entity", "CREATE TABLE IF NOT EXISTS entity (" +
+            "id BIGINT NOT NULL," +
+            "name VARCHAR(30) NULL DEFAULT NULL," +
+            "PRIMARY KEY (id))");
+    }
+}
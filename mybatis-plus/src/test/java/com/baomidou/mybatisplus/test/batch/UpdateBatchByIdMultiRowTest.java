@@ -0,0 +1,123 @@
+package com.baomidou.mybatisplus.test.batch;
+
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.OptimisticLockerInnerInterceptor;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.baomidou.mybatisplus.test.BaseDbTest;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 一条 CASE 语句批量更新
+ *
+ * @author agent
+ */
+class UpdateBatchByIdMultiRowTest extends BaseDbTest<VersionEntityMapper> {
+
+    private static final List<String> UPDATE_LIST = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void clear() {
+        UPDATE_LIST.clear();
+    }
+
+    @Test
+    void updateBatchByIdMultiRow() {
+        VersionEntity update = new VersionEntity(1L, "a1", 11, 1);
+        VersionEntity keepName = new VersionEntity(2L, null, 12, 1);
+        VersionEntity stale = new VersionEntity(3L, "c1", 13, 0);
+        VersionEntity absent = new VersionEntity(9L, "none", 19, 1);
+        VersionEntity deleted = new VersionEntity(4L, "d1", 14, 1);
+        List<VersionEntity> list = Arrays.asList(update, keepName, stale, absent, deleted);
+
+        assertThat(new VersionEntityService().updateBatchByIdMultiRow(list)).isTrue();
+        assertThat(UPDATE_LIST).containsExactly("mpUpdateBatchByIdCase");
+        // 有行未命中, 无法确定哪些行更新成功, 实体上的版本号都不回写
+        assertThat(list).extracting(VersionEntity::getVersion).containsExactly(1, 1, 0, 1, 1);
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("select * from version_entity order by id");
+        assertThat(rows).extracting(i -> i.get("NAME")).containsExactly("a1", "b", "c", "d");
+        assertThat(rows).extracting(i -> i.get("AGE")).containsExactly(11, 12, 3, 4);
+        assertThat(rows).extracting(i -> i.get("VERSION")).containsExactly(2, 2, 1, 1);
+    }
+
+    @Test
+    void chunk() {
+        List<VersionEntity> list = new ArrayList<>();
+        for (long i = 1; i <= 3; i++) {
+            list.add(new VersionEntity(i, "n" + i, null, null));
+        }
+        assertThat(new VersionEntityService().updateBatchByIdMultiRow(list, 2)).isTrue();
+        assertThat(UPDATE_LIST).hasSize(2);
+        assertThat(jdbcTemplate.queryForList("select name from version_entity order by id", String.class))
+            .containsExactly("n1", "n2", "n3", "d");
+        assertThat(jdbcTemplate.queryForList("select version from version_entity order by id", Integer.class))
+            .containsExactly(1, 1, 1, 1);
+    }
+
+    @Test
+    void versionAllMatched() {
+        VersionEntity first = new VersionEntity(1L, "a1", null, 1);
+        VersionEntity second = new VersionEntity(2L, "b1", null, 1);
+        assertThat(new VersionEntityService().updateBatchByIdMultiRow(Arrays.asList(first, second))).isTrue();
+        assertThat(first.getVersion()).isEqualTo(2);
+        assertThat(second.getVersion()).isEqualTo(2);
+    }
+
+    @Test
+    void duplicateId() {
+        List<VersionEntity> list = Arrays.asList(new VersionEntity(1L, "a1", 11, null),
+            new VersionEntity(2L, "b1", null, null), new VersionEntity(1L, "a2", null, null));
+        assertThat(new VersionEntityService().updateBatchByIdMultiRow(list)).isTrue();
+        // 重复的主键放到下一条语句, 与逐条更新一样后写的生效
+        assertThat(UPDATE_LIST).hasSize(2);
+        assertThat(jdbcTemplate.queryForList("select name from version_entity order by id", String.class))
+            .containsExactly("a2", "b1", "c", "d");
+        assertThat(jdbcTemplate.queryForList("select age from version_entity order by id", Integer.class))
+            .containsExactly(11, 2, 3, 4);
+    }
+
+    static class VersionEntityService extends ServiceImpl<VersionEntityMapper, VersionEntity> {
+    }
+
+    @Override
+    protected List<Interceptor> interceptors() {
+        MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+        interceptor.addInnerInterceptor(new InnerInterceptor() {
+            @Override
+            public void beforeUpdate(Executor executor, MappedStatement ms, Object parameter) {
+                UPDATE_LIST.add(ms.getId().substring(ms.getId().lastIndexOf('.') + 1));
+            }
+        });
+        interceptor.addInnerInterceptor(new OptimisticLockerInnerInterceptor());
+        return Collections.singletonList(interceptor);
+    }
+
+    @Override
+    protected String tableDataSql() {
+        return "insert into version_entity(id, name, age, version, deleted) values" +
+            "(1, 'a', 1, 1, 0), (2, 'b', 2, 1, 0), (3, 'c', 3, 1, 0), (4, 'd', 4, 1, 1)";
+    }
+
+    @Override
+    protected List<String> tableSql() {
+        return Arrays.asList("drop table if exists version_entity", "CREATE TABLE IF NOT EXISTS version_entity (" +
+            "id BIGINT NOT NULL," +
+            "name VARCHAR(30) NULL DEFAULT NULL," +
+            "age INT NULL DEFAULT NULL," +
+            "version INT NOT NULL DEFAULT 1," +
+            "deleted INT NOT NULL DEFAULT 0," +
+            "PRIMARY KEY (id))");
+    }
+}
@@ -0,0 +1,36 @@
+package com.baomidou.mybatisplus.test.batch;
+
+import com.baomidou.mybatisplus.annotation.TableLogic;
+import com.baomidou.mybatisplus.annotation.Version;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * @author agent
+ */
+@Data
+@NoArgsConstructor
+public class VersionEntity implements Serializable {
+    private static final long serialVersionUID = -4395302364788651262L;
+
+    private Long id;
+
+    private String name;
+
+    private Integer age;
+
+    @Version
+    private Integer version;
+
+    @TableLogic
+    private Integer deleted;
+
+    public VersionEntity(Long id, String name, Integer age, Integer version) {
+        this.id = id;
+        this.name = name;
+        this.age = age;
+        this.version = version;
+    }
+}
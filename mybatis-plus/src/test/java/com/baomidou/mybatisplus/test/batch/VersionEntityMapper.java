@@ -0,0 +1,16 @@
+package com.baomidou.mybatisplus.test.batch;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Update;
+
+/**
+ * @author agent
+ */
+public interface VersionEntityMapper extends BaseMapper<VersionEntity> {
+
+    /**
+     * 与注入的 CASE 批量更新同名的自定义方法, 批量更新不能使用它
+     */
+    @Update("update version_entity set name = 'custom'")
+    int updateBatchByIdCase();
+}
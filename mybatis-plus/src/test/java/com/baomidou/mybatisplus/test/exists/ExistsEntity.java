@@ -0,0 +1,19 @@
+package com.baomidou.mybatisplus.test.exists;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+
+/**
+ * @author agent
+ */
+@Data
+@Accessors(chain = true)
+public class ExistsEntity implements Serializable {
+    private static final long serialVersionUID = 5317893532215873417L;
+
+    private Long id;
+
+    private String name;
+}
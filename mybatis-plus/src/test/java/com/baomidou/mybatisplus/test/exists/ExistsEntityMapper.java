@@ -0,0 +1,16 @@
+package com.baomidou.mybatisplus.test.exists;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.session.RowBounds;
+
+import java.util.List;
+
+/**
+ * @author agent
+ */
+public interface ExistsEntityMapper extends BaseMapper<ExistsEntity> {
+
+    @Select("select id, name from exists_entity")
+    List<ExistsEntity> selectAllRows(RowBounds rowBounds);
+}
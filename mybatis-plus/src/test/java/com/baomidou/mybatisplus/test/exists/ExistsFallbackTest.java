@@ -0,0 +1,98 @@
+package com.baomidou.mybatisplus.test.exists;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.config.GlobalConfig;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.injector.AbstractMethod;
+import com.baomidou.mybatisplus.core.injector.DefaultSqlInjector;
+import com.baomidou.mybatisplus.core.injector.methods.SelectExists;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.baomidou.mybatisplus.test.BaseSimpleTableTest;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.session.SqlSession;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 无法识别数据库或没有注入 selectExists 时的 exists
+ *
+ * @author agent
+ */
+class ExistsFallbackTest extends BaseSimpleTableTest<ExistsEntityMapper> {
+
+    @Test
+    void rowBounds() {
+        doTest(m -> {
+            assertThat(m.exists(new QueryWrapper<ExistsEntity>().gt("id", 1))).isTrue();
+            assertThat(lastSql).isEqualToNormalizingWhitespace("SELECT 1 FROM exists_entity WHERE (id > ?) LIMIT ?");
+
+            assertThat(m.selectExists(null, new RowBounds(0, 2))).hasSize(2);
+            assertThat(lastSql).isEqualToNormalizingWhitespace("SELECT 1 FROM exists_entity LIMIT ?");
+
+            // offset 不为 0 时交给 mybatis 处理
+            assertThat(m.selectExists(null, new RowBounds(4, 2))).hasSize(1);
+            assertThat(lastSql).isEqualToNormalizingWhitespace("SELECT 1 FROM exists_entity");
+
+            // 已有行数限制的 SQL 不再追加
+            assertThat(m.exists(new QueryWrapper<ExistsEntity>().last("limit 1"))).isTrue();
+            assertThat(lastSql).isEqualToNormalizingWhitespace("SELECT 1 FROM exists_entity limit 1");
+        });
+    }
+
+    @Test
+    void notInjected() {
+        try (SqlSession sqlSession = sqlSession(null)) {
+            NoExistsEntityMapper mapper = sqlSession.getMapper(NoExistsEntityMapper.class);
+            assertThat(mapper.exists(new QueryWrapper<ExistsEntity>().gt("id", 1))).isTrue();
+            assertThat(lastSql).isEqualToNormalizingWhitespace("SELECT COUNT( * ) FROM exists_entity WHERE (id > ?)");
+            assertThat(mapper.exists(new QueryWrapper<ExistsEntity>().gt("id", 5))).isFalse();
+        }
+    }
+
+    @Override
+    protected List<Interceptor> interceptors() {
+        MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+        interceptor.addInnerInterceptor(new PaginationInnerInterceptor(DbType.MYSQL));
+        interceptor.addInnerInterceptor(lastSqlInterceptor());
+        return Collections.singletonList(interceptor);
+    }
+
+    @Override
+    protected GlobalConfig globalConfig() {
+        GlobalConfig globalConfig = super.globalConfig();
+        globalConfig.setSqlInjector(new DefaultSqlInjector() {
+            @Override
+            public List<AbstractMethod> getMethodList(Class<?> mapperClass, TableInfo tableInfo) {
+                List<AbstractMethod> methodList = super.getMethodList(mapperClass, tableInfo);
+                methodList.removeIf(i -> i instanceof SelectExists);
+                if (mapperClass == ExistsEntityMapper.class) {
+                    methodList.add(new SelectExists() {
+                        @Override
+                        protected String getDualFrom() {
+                            return null;
+                        }
+                    });
+                }
+                return methodList;
+            }
+        });
+        return globalConfig;
+    }
+
+    @Override
+    protected List<Class<?>> otherMapper() {
+        return Collections.singletonList(NoExistsEntityMapper.class);
+    }
+
+    @Override
+    protected String tableName() {
+        return "exists_entity";
+    }
+}
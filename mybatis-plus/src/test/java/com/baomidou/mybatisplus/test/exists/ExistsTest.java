@@ -0,0 +1,60 @@
+package com.baomidou.mybatisplus.test.exists;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.test.BaseSimpleTableTest;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * exists 只取首行
+ *
+ * @author agent
+ */
+class ExistsTest extends BaseSimpleTableTest<ExistsEntityMapper> {
+
+    @Test
+    void exists() {
+        doTest(m -> {
+            assertThat(m.exists(new QueryWrapper<ExistsEntity>().gt("id", 1))).isTrue();
+            assertThat(lastSql).isEqualToNormalizingWhitespace("SELECT 1 FROM DUAL WHERE EXISTS (SELECT 1 FROM exists_entity WHERE (id > ?) )");
+
+            assertThat(m.exists(new QueryWrapper<ExistsEntity>().eq("name", "z"))).isFalse();
+            assertThat(m.exists(Wrappers.emptyWrapper())).isTrue();
+            assertThat(m.exists(new QueryWrapper<ExistsEntity>().groupBy("name").having("count(*) > 1"))).isFalse();
+            assertThat(m.exists(new QueryWrapper<ExistsEntity>().last("limit 1"))).isTrue();
+        });
+    }
+
+    @Test
+    void rowBounds() {
+        doTest(m -> {
+            // 注入的 SQL 最多返回一行, 不需要分页插件
+            assertThat(m.selectExists(null, new RowBounds(0, 2))).hasSize(1);
+            assertThat(lastSql).isEqualToNormalizingWhitespace("SELECT 1 FROM DUAL WHERE EXISTS (SELECT 1 FROM exists_entity )");
+
+            // 默认不处理其他查询的 rowBounds
+            assertThat(m.selectAllRows(new RowBounds(0, 2))).hasSize(2);
+            assertThat(lastSql).isEqualToNormalizingWhitespace("select id, name from exists_entity");
+        });
+    }
+
+    @Override
+    protected List<Interceptor> interceptors() {
+        MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+        interceptor.addInnerInterceptor(lastSqlInterceptor());
+        return Collections.singletonList(interceptor);
+    }
+
+    @Override
+    protected String tableName() {
+        return "exists_entity";
+    }
+}
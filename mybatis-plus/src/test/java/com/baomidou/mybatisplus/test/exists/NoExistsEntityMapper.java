@@ -0,0 +1,11 @@
+package com.baomidou.mybatisplus.test.exists;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+
+/**
+ * 没有注入 selectExists 的 Mapper
+ *
+ * @author agent
+ */
+public interface NoExistsEntityMapper extends BaseMapper<ExistsEntity> {
+}
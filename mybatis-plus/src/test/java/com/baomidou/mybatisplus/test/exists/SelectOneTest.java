@@ -0,0 +1,70 @@
+package com.baomidou.mybatisplus.test.exists;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.exceptions.MybatisPlusException;
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.baomidou.mybatisplus.test.BaseSimpleTableTest;
+import org.apache.ibatis.plugin.Interceptor;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * selectOne / getOne 限制读取的行数
+ *
+ * @author agent
+ */
+class SelectOneTest extends BaseSimpleTableTest<ExistsEntityMapper> {
+
+    @Test
+    void selectOne() {
+        doTest(m -> {
+            assertThatThrownBy(() -> m.selectOne(new QueryWrapper<ExistsEntity>().gt("id", 1)))
+                .isInstanceOf(MybatisPlusException.class);
+            assertThat(lastRowBounds.getLimit()).isEqualTo(2);
+            assertThat(lastSql).isEqualToNormalizingWhitespace("SELECT id,name FROM exists_entity WHERE (id > ?) LIMIT ?");
+
+            assertThat(m.selectOne(new QueryWrapper<ExistsEntity>().eq("id", 3))).extracting(ExistsEntity::getName).isEqualTo("c");
+
+            // 已有行数限制的 SQL 不再追加
+            assertThat(m.selectOne(new QueryWrapper<ExistsEntity>().orderByDesc("id").last("limit 1")))
+                .extracting(ExistsEntity::getId).isEqualTo(5L);
+            assertThat(lastSql).isEqualToNormalizingWhitespace("SELECT id,name FROM exists_entity ORDER BY id DESC limit 1");
+        });
+    }
+
+    @Test
+    void getOne() {
+        doTest(m -> {
+            ServiceImpl<ExistsEntityMapper, ExistsEntity> service = new ServiceImpl<ExistsEntityMapper, ExistsEntity>() {
+                {
+                    baseMapper = m;
+                }
+            };
+            assertThat(service.getOne(new QueryWrapper<ExistsEntity>().gt("id", 1).orderByAsc("id"), false))
+                .extracting(ExistsEntity::getId).isEqualTo(2L);
+            assertThat(lastRowBounds.getLimit()).isEqualTo(2);
+            assertThat(lastSql).isEqualToNormalizingWhitespace("SELECT id,name FROM exists_entity WHERE (id > ?) ORDER BY id ASC LIMIT ?");
+        });
+    }
+
+    @Override
+    protected List<Interceptor> interceptors() {
+        MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+        interceptor.addInnerInterceptor(new PaginationInnerInterceptor(DbType.MYSQL));
+        interceptor.addInnerInterceptor(lastSqlInterceptor());
+        return Collections.singletonList(interceptor);
+    }
+
+    @Override
+    protected String tableName() {
+        return "exists_entity";
+    }
+}
@@ -0,0 +1,104 @@
+package com.baomidou.mybatisplus.test.pagination;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.baomidou.mybatisplus.test.BaseSimpleTableTest;
+import org.apache.ibatis.plugin.Interceptor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * count 与分页查询并行执行
+ *
+ * @author agent
+ */
+class AsyncCountTest extends BaseSimpleTableTest<PageEntityMapper> {
+
+    private static final AtomicInteger asyncCount = new AtomicInteger();
+    private static final AtomicReference<Future<?>> lastCount = new AtomicReference<>();
+    private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()) {
+        @Override
+        public void execute(Runnable command) {
+            asyncCount.incrementAndGet();
+            lastCount.set((Future<?>) command);
+            super.execute(command);
+        }
+    };
+
+    @AfterAll
+    static void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void test() {
+        asyncCount.set(0);
+        doTest(m -> {
+            Page<PageEntity> page = m.selectPage(asyncPage(1), new QueryWrapper<PageEntity>().orderByAsc("id"));
+            assertThat(page.getTotal()).isEqualTo(5);
+            assertThat(page.getRecords()).extracting(PageEntity::getId).containsExactly(1L, 2L);
+            assertThat(asyncCount.get()).isEqualTo(1);
+
+            page = m.selectPage(asyncPage(3), new QueryWrapper<PageEntity>().gt("id", 1).orderByAsc("id"));
+            assertThat(page.getTotal()).isEqualTo(4);
+            assertThat(page.getRecords()).isEmpty();
+
+            page = m.selectPage(asyncPage(1), new QueryWrapper<PageEntity>().gt("id", 5));
+            assertThat(page.getTotal()).isEqualTo(0);
+            assertThat(page.getRecords()).isEmpty();
+            assertThat(asyncCount.get()).isEqualTo(3);
+
+            // 未开启的分页仍然同步 count
+            page = m.selectPage(new Page<>(1, 2), new QueryWrapper<PageEntity>().orderByAsc("id"));
+            assertThat(page.getTotal()).isEqualTo(5);
+            assertThat(asyncCount.get()).isEqualTo(3);
+        });
+    }
+
+    @Test
+    void queryFailed() {
+        asyncCount.set(0);
+        doTest(m -> {
+            // 优化 count 时会去掉 order by, count 本身可以执行, 分页查询失败
+            assertThatThrownBy(() -> m.selectPage(asyncPage(1), new QueryWrapper<PageEntity>().orderByAsc("no_such_column")))
+                .isInstanceOf(Exception.class);
+            assertThat(asyncCount.get()).isEqualTo(1);
+            assertThat(lastCount.get().isDone()).isTrue();
+        });
+    }
+
+    private Page<PageEntity> asyncPage(long current) {
+        Page<PageEntity> page = new Page<>(current, 2);
+        page.setAsyncCount(true);
+        return page;
+    }
+
+    @Override
+    protected List<Interceptor> interceptors() {
+        PaginationInnerInterceptor pagination = new PaginationInnerInterceptor(DbType.H2);
+        pagination.setAsyncCountExecutor(executor);
+        MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+        interceptor.addInnerInterceptor(pagination);
+        return Collections.singletonList(interceptor);
+    }
+
+    @Override
+    protected String tableName() {
+        return "page_entity";
+    }
+}
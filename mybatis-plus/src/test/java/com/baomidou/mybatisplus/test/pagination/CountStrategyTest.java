@@ -0,0 +1,84 @@
+package com.baomidou.mybatisplus.test.pagination;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.CountStrategy;
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.baomidou.mybatisplus.extension.plugins.pagination.estimators.ICountEstimator;
+import com.baomidou.mybatisplus.test.BaseSimpleTableTest;
+import org.apache.ibatis.plugin.Interceptor;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 总数的计算方式
+ *
+ * @author agent
+ */
+class CountStrategyTest extends BaseSimpleTableTest<PageEntityMapper> {
+
+    @Test
+    void test() {
+        doTest(m -> {
+            QueryWrapper<PageEntity> wrapper = new QueryWrapper<PageEntity>().gt("id", 1).orderByAsc("id");
+            Page<PageEntity> page = new Page<>(1, 2);
+            page.setCountStrategy(CountStrategy.CAPPED);
+            page.setCountCap(2L);
+            m.selectPage(page, wrapper);
+            assertThat(page.getTotal()).isEqualTo(3);
+            assertThat(page.getTotalStrategy()).isEqualTo(CountStrategy.CAPPED);
+            assertThat(page.getRecords()).extracting(PageEntity::getId).containsExactly(2L, 3L);
+
+            page = new Page<>(1, 2);
+            page.setCountStrategy(CountStrategy.CAPPED);
+            page.setCountCap(10L);
+            m.selectPage(page, wrapper);
+            assertThat(page.getTotal()).isEqualTo(4);
+            assertThat(page.getTotalStrategy()).isEqualTo(CountStrategy.EXACT);
+
+            page = new Page<>(1, 2);
+            page.setCountStrategy(CountStrategy.ESTIMATED);
+            m.selectPage(page, wrapper);
+            assertThat(page.getTotal()).isEqualTo(400);
+            assertThat(page.getTotalStrategy()).isEqualTo(CountStrategy.ESTIMATED);
+            assertThat(page.getRecords()).hasSize(2);
+
+            page = new Page<>(1, 2);
+            m.selectPage(page, wrapper);
+            assertThat(page.getTotal()).isEqualTo(4);
+            assertThat(page.getTotalStrategy()).isEqualTo(CountStrategy.EXACT);
+        });
+    }
+
+    @Override
+    protected List<Interceptor> interceptors() {
+        PaginationInnerInterceptor pagination = new PaginationInnerInterceptor(DbType.H2);
+        // H2 没有执行计划行数, 这里用 count * 100 模拟
+        pagination.setCountEstimator(new ICountEstimator() {
+            @Override
+            public String buildEstimateSql(String originalSql) {
+                return "SELECT COUNT(*) * 100 AS ROWS_ESTIMATE FROM (" + originalSql + ") TOTAL";
+            }
+
+            @Override
+            public Long parseEstimate(List<Map<String, Object>> rows) {
+                return ((Number) ICountEstimator.getColumn(rows.get(0), "rows_estimate")).longValue();
+            }
+        });
+        MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+        interceptor.addInnerInterceptor(pagination);
+        return Collections.singletonList(interceptor);
+    }
+
+    @Override
+    protected String tableName() {
+        return "page_entity";
+    }
+}
@@ -0,0 +1,61 @@
+package com.baomidou.mybatisplus.test.pagination;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.baomidou.mybatisplus.test.BaseSimpleTableTest;
+import org.apache.ibatis.plugin.Interceptor;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 深分页的延迟关联
+ *
+ * @author agent
+ */
+class DeferredJoinTest extends BaseSimpleTableTest<PageEntityMapper> {
+
+    @Test
+    void test() {
+        doTest(m -> {
+            QueryWrapper<PageEntity> wrapper = new QueryWrapper<PageEntity>().gt("id", 1).orderByDesc("name");
+            Page<PageEntity> page = m.selectPage(new Page<>(1, 2), wrapper);
+            assertThat(lastSql).doesNotContain("JOIN");
+            assertThat(page.getRecords()).extracting(PageEntity::getId).containsExactly(5L, 4L);
+
+            page = m.selectPage(new Page<>(2, 2), wrapper);
+            assertThat(lastSql).isEqualTo("SELECT id, name FROM page_entity JOIN (SELECT id AS mp_deferred_key FROM page_entity WHERE (id > ?) " +
+                "ORDER BY name DESC LIMIT ?,?) mp_deferred ON page_entity.id = mp_deferred.mp_deferred_key ORDER BY name DESC");
+            assertThat(page.getTotal()).isEqualTo(4);
+            assertThat(page.getRecords()).extracting(PageEntity::getId).containsExactly(3L, 2L);
+            assertThat(page.getRecords()).extracting(PageEntity::getName).containsExactly("c", "b");
+
+            // SELECT * 只返回原表的列
+            Page<Map<String, Object>> mapsPage = m.selectMapsPage(new Page<>(2, 2), wrapper.clone().select("*"));
+            assertThat(lastSql).startsWith("SELECT page_entity.* FROM page_entity JOIN (");
+            assertThat(mapsPage.getRecords()).hasSize(2).allSatisfy(i -> assertThat(i).containsOnlyKeys("ID", "NAME"));
+        });
+    }
+
+    @Override
+    protected List<Interceptor> interceptors() {
+        PaginationInnerInterceptor pagination = new PaginationInnerInterceptor(DbType.MYSQL);
+        pagination.setDeferredJoinOffset(2);
+        MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+        interceptor.addInnerInterceptor(pagination);
+        interceptor.addInnerInterceptor(lastSqlInterceptor());
+        return Collections.singletonList(interceptor);
+    }
+
+    @Override
+    protected String tableName() {
+        return "page_entity";
+    }
+}
@@ -0,0 +1,19 @@
+package com.baomidou.mybatisplus.test.pagination;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+
+/**
+ * @author agent
+ */
+@Data
+@Accessors(chain = true)
+public class PageEntity implements Serializable {
+    private static final long serialVersionUID = -2956204389327632714L;
+
+    private Long id;
+
+    private String name;
+}
@@ -0,0 +1,9 @@
+package com.baomidou.mybatisplus.test.pagination;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+
+/**
+ * @author agent
+ */
+public interface PageEntityMapper extends BaseMapper<PageEntity> {
+}
@@ -0,0 +1,103 @@
+package com.baomidou.mybatisplus.test.pagination;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.baomidou.mybatisplus.extension.plugins.pagination.PageTotalCache;
+import com.baomidou.mybatisplus.test.BaseSimpleTableTest;
+import org.apache.ibatis.plugin.Interceptor;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 分页总数缓存
+ *
+ * @author agent
+ */
+class PageTotalCacheTest extends BaseSimpleTableTest<PageEntityMapper> {
+
+    private static final PageTotalCache totalCache = new PageTotalCache(1, TimeUnit.MINUTES);
+    private static final PaginationInnerInterceptor pagination = new PaginationInnerInterceptor(DbType.H2);
+
+    @Test
+    void test() {
+        totalCache.clear();
+        doTestAutoCommit(m -> {
+            QueryWrapper<PageEntity> wrapper = new QueryWrapper<PageEntity>().gt("id", 1);
+            assertThat(m.selectPage(new Page<>(1, 2), wrapper).getTotal()).isEqualTo(4);
+            assertThat(totalCache.size()).isEqualTo(1);
+
+            // 绕过拦截器的写操作感知不到, 翻页直接使用缓存的总数
+            jdbcTemplate.execute("insert into page_entity(id, name) values(6, 'f')");
+            assertThat(m.selectPage(new Page<>(2, 2), wrapper).getTotal()).isEqualTo(4);
+            assertThat(m.selectPage(new Page<>(1, 2), new QueryWrapper<PageEntity>().gt("id", 2)).getTotal())
+                .as("参数不同").isEqualTo(4);
+
+            m.insert(new PageEntity().setId(7L).setName("g"));
+            assertThat(m.selectPage(new Page<>(3, 2), wrapper).getTotal()).isEqualTo(6);
+            m.deleteById(7L);
+            assertThat(m.selectPage(new Page<>(3, 2), wrapper).getTotal()).isEqualTo(5);
+        });
+    }
+
+    @Test
+    void setTotalCacheAfterPlanCached() {
+        doTestAutoCommit(m -> {
+            pagination.setTotalCache(null);
+            try {
+                // 执行计划按 MappedStatement 缓存, 之后再开启缓存也要能感知写操作
+                m.insert(new PageEntity().setId(8L).setName("h"));
+                pagination.setTotalCache(totalCache);
+                QueryWrapper<PageEntity> wrapper = new QueryWrapper<PageEntity>().ge("id", 8);
+                assertThat(m.selectPage(new Page<>(1, 2), wrapper).getTotal()).isEqualTo(1);
+                m.insert(new PageEntity().setId(9L).setName("i"));
+                assertThat(m.selectPage(new Page<>(1, 2), wrapper).getTotal()).isEqualTo(2);
+            } finally {
+                pagination.setTotalCache(totalCache);
+            }
+        });
+    }
+
+    @Test
+    void invalidateAfterTransactionCompletion() {
+        doTestAutoCommit(m -> {
+            QueryWrapper<PageEntity> wrapper = new QueryWrapper<PageEntity>().ge("id", 10);
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                m.insert(new PageEntity().setId(10L).setName("j"));
+                // 事务提交前缓存的总数
+                assertThat(m.selectPage(new Page<>(1, 2), wrapper).getTotal()).isEqualTo(1);
+                jdbcTemplate.execute("insert into page_entity(id, name) values(11, 'k')");
+                assertThat(m.selectPage(new Page<>(1, 2), wrapper).getTotal()).isEqualTo(1);
+                TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        });
+        doTestAutoCommit(m -> assertThat(m.selectPage(new Page<>(1, 2), new QueryWrapper<PageEntity>().ge("id", 10))
+            .getTotal()).isEqualTo(2));
+    }
+
+    @Override
+    protected List<Interceptor> interceptors() {
+        pagination.setTotalCache(totalCache);
+        MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+        interceptor.addInnerInterceptor(pagination);
+        return Collections.singletonList(interceptor);
+    }
+
+    @Override
+    protected String tableName() {
+        return "page_entity";
+    }
+}
@@ -0,0 +1,95 @@
+package com.baomidou.mybatisplus.test.tenant;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.handler.TenantLineHandler;
+import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.TenantLineInnerInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.baomidou.mybatisplus.test.BaseDbTest;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.LongValue;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 租户 ID 以参数绑定
+ *
+ * @author agent
+ */
+public class TenantParameterTest extends BaseDbTest<EntityMapper> {
+
+    private static long tenantId = 1;
+
+    @Test
+    void test() {
+        for (long tenant = 1; tenant <= 2; tenant++) {
+            tenantId = tenant;
+            try (SqlSession sqlSession = sqlSession(ExecutorType.BATCH)) {
+                EntityMapper mapper = sqlSession.getMapper(EntityMapper.class);
+                for (long i = 1; i <= 3; i++) {
+                    mapper.insert(new Entity().setId(tenant * 10 + i).setName("name" + i));
+                }
+                sqlSession.flushStatements();
+                sqlSession.commit();
+            }
+        }
+
+        tenantId = 1;
+        doTest(m -> {
+            List<Entity> list = m.selectList(new QueryWrapper<Entity>().in("id", 11, 12, 21));
+            assertThat(list).as("只能查到当前租户的数据").extracting(Entity::getId).containsExactlyInAnyOrder(11L, 12L);
+            assertThat(list).extracting(Entity::getTenantId).containsOnly(1);
+
+            Page<Entity> page = m.selectPage(new Page<>(1, 2), new QueryWrapper<Entity>().likeRight("name", "name"));
+            assertThat(page.getTotal()).isEqualTo(3);
+            assertThat(page.getRecords()).hasSize(2);
+        });
+
+        tenantId = 2;
+        doTestAutoCommit(m -> {
+            assertThat(m.updateById(new Entity().setId(11L).setName("x"))).as("不能修改其他租户的数据").isEqualTo(0);
+            assertThat(m.updateById(new Entity().setId(21L).setName("x"))).isEqualTo(1);
+            assertThat(m.deleteById(12L)).as("不能删除其他租户的数据").isEqualTo(0);
+            assertThat(m.selectCount(null)).isEqualTo(3);
+        });
+    }
+
+    @Override
+    protected List<Interceptor> interceptors() {
+        MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+        interceptor.addInnerInterceptor(new TenantLineInnerInterceptor(new TenantLineHandler() {
+            @Override
+            public Expression getTenantId() {
+                return new LongValue(tenantId);
+            }
+
+            @Override
+            public boolean bindTenantIdParameter() {
+                return true;
+            }
+        }));
+        interceptor.addInnerInterceptor(new PaginationInnerInterceptor(DbType.H2));
+        return Collections.singletonList(interceptor);
+    }
+
+    @Override
+    protected List<String> tableSql() {
+        return Arrays.asList("drop table if exists entity",
+            "CREATE TABLE IF NOT EXISTS entity (\n" +
+                "id BIGINT(20) NOT NULL,\n" +
+                "name VARCHAR(30) NULL DEFAULT NULL,\n" +
+                "tenant_id integer not NULL,\n" +
+                "PRIMARY KEY (id)" +
+                ")");
+    }
+}
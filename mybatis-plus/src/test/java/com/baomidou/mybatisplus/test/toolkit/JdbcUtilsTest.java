@@ -1,8 +1,24 @@
 package com.baomidou.mybatisplus.test.toolkit;
 
+import com.baomidou.mybatisplus.annotation.DbType;
 import com.baomidou.mybatisplus.extension.toolkit.JdbcUtils;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.transaction.Transaction;
+import org.apache.ibatis.transaction.managed.ManagedTransactionFactory;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+
+import static org.mockito.Mockito.*;
 
 /**
  * Jdbc 工具类测试
@@ -22,4 +38,57 @@ public class JdbcUtilsTest {
         Assertions.assertTrue(JdbcUtils.regexFind(regex, "a12ds:dm71:"));
         Assertions.assertFalse(JdbcUtils.regexFind(regex, "a12ds:dmc1:abc"));
     }
+
+    @Test
+    void testDataSourceCache() throws SQLException {
+        Executor executor = executor("jdbc:mysql://localhost:3306/test");
+        Configuration configuration = new Configuration(new Environment("test", new ManagedTransactionFactory(), mock(DataSource.class)));
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals(DbType.MYSQL, JdbcUtils.getDbType(configuration, executor));
+        }
+        verify(executor.getTransaction(), times(1)).getConnection();
+
+    }
+
+    @Test
+    void testRoutingDataSource() throws SQLException {
+        // 注册的路由数据源每次按连接判断
+        JdbcUtils.registerRoutingDataSource(TestRoutingDataSource.class);
+        assertConnections(mock(TestRoutingDataSource.class), 3);
+
+        // Spring 的路由数据源及包装了路由数据源的代理每次按连接判断
+        AbstractRoutingDataSource routing = mock(AbstractRoutingDataSource.class);
+        assertConnections(routing, 3);
+        assertConnections(new TransactionAwareDataSourceProxy(routing), 3);
+
+        // 普通数据源的代理按数据源缓存
+        assertConnections(new TransactionAwareDataSourceProxy(mock(DataSource.class)), 1);
+        LazyConnectionDataSourceProxy lazy = new LazyConnectionDataSourceProxy();
+        lazy.setTargetDataSource(mock(DataSource.class));
+        assertConnections(lazy, 1);
+    }
+
+    private void assertConnections(DataSource dataSource, int connections) throws SQLException {
+        Executor executor = executor("jdbc:postgresql://localhost:5432/test");
+        Configuration configuration = new Configuration(new Environment("test", new ManagedTransactionFactory(), dataSource));
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals(DbType.POSTGRE_SQL, JdbcUtils.getDbType(configuration, executor));
+        }
+        verify(executor.getTransaction(), times(connections)).getConnection();
+    }
+
+    private Executor executor(String url) throws SQLException {
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(metaData.getURL()).thenReturn(url);
+        Connection connection = mock(Connection.class);
+        when(connection.getMetaData()).thenReturn(metaData);
+        Transaction transaction = mock(Transaction.class);
+        when(transaction.getConnection()).thenReturn(connection);
+        Executor executor = mock(Executor.class);
+        when(executor.getTransaction()).thenReturn(transaction);
+        return executor;
+    }
+
+    abstract static class TestRoutingDataSource implements DataSource {
+    }
 }
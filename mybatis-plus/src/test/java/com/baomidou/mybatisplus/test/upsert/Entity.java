@@ -0,0 +1,46 @@
+package com.baomidou.mybatisplus.test.upsert;
+
+import com.baomidou.mybatisplus.annotation.FieldStrategy;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableLogic;
+import com.baomidou.mybatisplus.annotation.Version;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * @author agent
+ */
+@Data
+@NoArgsConstructor
+public class Entity implements Serializable {
+    private static final long serialVersionUID = 2826426470612404236L;
+
+    private Long id;
+
+    private String name;
+
+    private Integer age;
+
+    @TableLogic
+    private Boolean deleted;
+
+    @Version
+    private Integer version;
+
+    /**
+     * 冲突更新的次数
+     */
+    @TableField(insertStrategy = FieldStrategy.NEVER, update = "%s+1")
+    private Integer times;
+
+    @TableField(updateStrategy = FieldStrategy.NEVER)
+    private String remark;
+
+    public Entity(Long id, String name, Integer age) {
+        this.id = id;
+        this.name = name;
+        this.age = age;
+    }
+}
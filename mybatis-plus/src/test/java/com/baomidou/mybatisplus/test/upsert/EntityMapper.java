@@ -0,0 +1,23 @@
+package com.baomidou.mybatisplus.test.upsert;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * @author agent
+ */
+public interface EntityMapper extends BaseMapper<Entity> {
+
+    int upsertBatch(@Param(Constants.LIST) List<Entity> entityList);
+
+    int upsertName(@Param(Constants.LIST) List<Entity> entityList);
+
+    int upsertMysql(@Param(Constants.LIST) List<Entity> entityList);
+
+    int upsertPostgre(@Param(Constants.LIST) List<Entity> entityList);
+
+    int upsertOracle(@Param(Constants.LIST) List<Entity> entityList);
+}
@@ -0,0 +1,114 @@
+package com.baomidou.mybatisplus.test.upsert;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.config.GlobalConfig;
+import com.baomidou.mybatisplus.core.injector.AbstractMethod;
+import com.baomidou.mybatisplus.core.injector.DefaultSqlInjector;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import com.baomidou.mybatisplus.extension.injector.methods.UpsertBatch;
+import com.baomidou.mybatisplus.test.BaseDbTest;
+import org.apache.ibatis.binding.MapperMethod;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent
+ */
+class UpsertBatchTest extends BaseDbTest<EntityMapper> {
+
+    @Test
+    void upsertBatch() {
+        doTestAutoCommit(m -> m.upsertBatch(Arrays.asList(new Entity(1L, "update", 11),
+            new Entity(3L, "insert", 13))));
+        assertThat(jdbcTemplate.queryForList("select id, name, age from entity where deleted = false order by id"))
+            .extracting(i -> i.get("ID") + ":" + i.get("NAME") + ":" + i.get("AGE"))
+            .containsExactly("1:update:11", "2:2:2", "3:insert:13");
+    }
+
+    @Test
+    void upsertSomeColumns() {
+        doTestAutoCommit(m -> m.upsertName(Arrays.asList(new Entity(1L, "update", 11),
+            new Entity(2L, "update", 12), new Entity(3L, "insert", 13))));
+        assertThat(jdbcTemplate.queryForList("select id, name, age from entity where deleted = false order by id"))
+            .extracting(i -> i.get("ID") + ":" + i.get("NAME") + ":" + i.get("AGE"))
+            .containsExactly("1:update:1", "2:update:2", "3:insert:13");
+    }
+
+    @Test
+    void updateRules() {
+        Entity keepName = new Entity(1L, null, 11);
+        keepName.setRemark("ignored");
+        doTestAutoCommit(m -> m.upsertBatch(Arrays.asList(keepName, new Entity(4L, "restore", 14))));
+        // 更新策略 NOT_NULL 保持原值, NEVER 不更新, update 表达式基于原值, 乐观锁加一, 逻辑删除的记录恢复
+        assertThat(jdbcTemplate.queryForList("select * from entity where id in (1, 4) order by id"))
+            .extracting(i -> i.get("NAME") + ":" + i.get("AGE") + ":" + i.get("VERSION") + ":" + i.get("TIMES")
+                + ":" + i.get("REMARK") + ":" + i.get("DELETED"))
+            .containsExactly("1:11:2:1:r1:false", "restore:14:2:1:r4:false");
+    }
+
+    @Test
+    void sql() {
+        List<Entity> list = Arrays.asList(new Entity(1L, "a", 1), new Entity(2L, "b", 2));
+        assertThat(sql("upsertMysql", list)).isEqualToIgnoringWhitespace("INSERT INTO entity (id,name,age,version,remark)" +
+            " VALUES (?,?,?,?,?),(?,?,?,?,?) ON DUPLICATE KEY UPDATE name=COALESCE(VALUES(name), name)," +
+            "age=COALESCE(VALUES(age), age),times=times+1,version=version + 1,deleted=0");
+        assertThat(sql("upsertPostgre", list)).isEqualToIgnoringWhitespace("INSERT INTO entity AS mp_target (id,name,age,version,remark)" +
+            " VALUES (?,?,?,?,?),(?,?,?,?,?) ON CONFLICT (name) DO UPDATE SET age=COALESCE(EXCLUDED.age, mp_target.age)," +
+            "times=mp_target.times+1,version=mp_target.version + 1,deleted=0");
+        assertThat(sql("upsertOracle", list)).isEqualToNormalizingWhitespace("MERGE INTO entity mp_target USING ( " +
+            "SELECT ? id,? name,? age,? version,? remark FROM DUAL UNION ALL SELECT ? id,? name,? age,? version,? remark FROM DUAL ) mp_source" +
+            " ON (mp_target.id=mp_source.id) WHEN MATCHED THEN UPDATE SET name=COALESCE(mp_source.name, mp_target.name)," +
+            "age=COALESCE(mp_source.age, mp_target.age),times=mp_target.times+1,version=mp_target.version + 1,deleted=0" +
+            " WHEN NOT MATCHED THEN INSERT (id,name,age,version,remark) VALUES (mp_source.id,mp_source.name,mp_source.age," +
+            "mp_source.version,mp_source.remark)");
+    }
+
+    private String sql(String method, List<Entity> list) {
+        MapperMethod.ParamMap<Object> param = new MapperMethod.ParamMap<>();
+        param.put(Constants.LIST, list);
+        return sqlSessionFactory.getConfiguration().getMappedStatement(EntityMapper.class.getName() + "." + method)
+            .getBoundSql(param).getSql();
+    }
+
+    @Override
+    protected GlobalConfig globalConfig() {
+        GlobalConfig globalConfig = super.globalConfig();
+        globalConfig.setSqlInjector(new DefaultSqlInjector() {
+            @Override
+            public List<AbstractMethod> getMethodList(Class<?> mapperClass, TableInfo tableInfo) {
+                List<AbstractMethod> methodList = super.getMethodList(mapperClass, tableInfo);
+                methodList.add(new UpsertBatch(DbType.H2));
+                methodList.add(new UpsertBatch("upsertName", DbType.H2).setUpdatePredicate(i -> "name".equals(i.getColumn())));
+                methodList.add(new UpsertBatch("upsertMysql", DbType.MYSQL));
+                methodList.add(new UpsertBatch("upsertPostgre", DbType.POSTGRE_SQL).setConflictColumns(Arrays.asList("name")));
+                methodList.add(new UpsertBatch("upsertOracle", DbType.ORACLE));
+                return methodList;
+            }
+        });
+        return globalConfig;
+    }
+
+    @Override
+    protected String tableDataSql() {
+        return "insert into entity(id,name,age,version,remark,deleted) values(1,'1',1,1,'r1',false),(2,'2',2,1,'r2',false)," +
+            "(4,'4',4,1,'r4',true);";
+    }
+
+    @Override
+    protected List<String> tableSql() {
+        return Arrays.asList("drop table if exists entity", "CREATE TABLE IF NOT EXISTS entity (" +
+            "id BIGINT NOT NULL," +
+            "name VARCHAR(30) NULL DEFAULT NULL," +
+            "age INT NULL DEFAULT NULL," +
+            "deleted BOOLEAN NOT NULL DEFAULT false," +
+            "version INT NULL DEFAULT NULL," +
+            "times INT NOT NULL DEFAULT 0," +
+            "remark VARCHAR(30) NULL DEFAULT NULL," +
+            "PRIMARY KEY (id))");
+    }
+}